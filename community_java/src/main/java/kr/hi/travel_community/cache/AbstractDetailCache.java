@@ -0,0 +1,85 @@
+package kr.hi.travel_community.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import kr.hi.travel_community.model.util.BoardType;
+
+/**
+ * 🚩 DetailCache 공통 처리: 적중/실패 집계, 반환 시 복사, 커밋 후 무효화
+ * 저장소 자체(보관/조회/제거)는 하위 클래스가 구현합니다.
+ */
+public abstract class AbstractDetailCache implements DetailCache {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    protected abstract Map<String, Object> lookup(String key);
+
+    protected abstract void store(String key, Map<String, Object> value);
+
+    protected abstract void remove(String key);
+
+    protected abstract int size();
+
+    protected abstract String type();
+
+    @Override
+    public Map<String, Object> getOrLoad(BoardType board, Integer poNum, Supplier<Map<String, Object>> loader) {
+        String key = key(board, poNum);
+        Map<String, Object> cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return new HashMap<>(cached);
+        }
+
+        misses.increment();
+        Map<String, Object> loaded = loader.get();
+        if (loaded == null) return null;
+
+        store(key, new HashMap<>(loaded));
+        return new HashMap<>(loaded);
+    }
+
+    @Override
+    public void evict(BoardType board, Integer poNum) {
+        if (poNum == null) return;
+        String key = key(board, poNum);
+        remove(key);
+        evictions.increment();
+
+        // 커밋 전에 다른 요청이 예전 데이터로 다시 채우는 경우를 막기 위해 커밋 후 한 번 더 제거
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(key);
+                }
+            });
+        }
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        long h = hits.sum();
+        long m = misses.sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("type", type());
+        stats.put("size", size());
+        stats.put("hits", h);
+        stats.put("misses", m);
+        stats.put("evictions", evictions.sum());
+        stats.put("hitRatio", (h + m) == 0 ? 0.0 : (double) h / (h + m));
+        return stats;
+    }
+
+    private static String key(BoardType board, Integer poNum) {
+        return board.name() + ":" + poNum;
+    }
+}
@@ -0,0 +1,32 @@
+package kr.hi.travel_community.cache;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import kr.hi.travel_community.model.util.BoardType;
+
+/**
+ * 🚩 게시글 상세 응답 캐시
+ * - 로그인 사용자와 무관한 부분(제목, 본문, 작성자, 이미지, 댓글)만 보관합니다.
+ * - isLikedByMe 같은 사용자별 값은 조회 시점에 서비스가 덧붙입니다.
+ * - 구현체: LocalDetailCache(기본, 프로세스 내 LRU+TTL), SharedDetailCache(분산 캐시 자리의 로컬 대체 구현)
+ *   cache.detail.type=local|shared 로 선택합니다.
+ */
+public interface DetailCache {
+
+    /**
+     * 캐시에 있으면 복사본을, 없으면 loader 결과를 저장한 뒤 복사본을 반환
+     * (loader 가 null 을 반환하면 저장하지 않고 null 반환)
+     */
+    Map<String, Object> getOrLoad(BoardType board, Integer poNum, Supplier<Map<String, Object>> loader);
+
+    /**
+     * 글 수정/삭제/추천/댓글 변경 시 호출. 트랜잭션 안이면 커밋 후 한 번 더 제거합니다.
+     */
+    void evict(BoardType board, Integer poNum);
+
+    /**
+     * 적중/실패 횟수 등 통계
+     */
+    Map<String, Object> stats();
+}
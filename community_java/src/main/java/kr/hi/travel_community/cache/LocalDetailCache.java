@@ -0,0 +1,64 @@
+package kr.hi.travel_community.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🚩 프로세스 내 상세 캐시 (기본값)
+ * - 접근 순서 LinkedHashMap 으로 LRU, 항목마다 만료 시각(TTL)을 둡니다.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.detail.type", havingValue = "local", matchIfMissing = true)
+public class LocalDetailCache extends AbstractDetailCache {
+
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+
+    public LocalDetailCache(@Value("${cache.detail.max-entries:1000}") int maxEntries,
+                            @Value("${cache.detail.ttl-seconds:60}") long ttlSeconds) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    protected synchronized Map<String, Object> lookup(String key) {
+        Entry e = entries.get(key);
+        if (e == null) return null;
+        if (e.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return e.value;
+    }
+
+    @Override
+    protected synchronized void store(String key, Map<String, Object> value) {
+        entries.put(key, new Entry(value, System.currentTimeMillis() + ttlMillis));
+    }
+
+    @Override
+    protected synchronized void remove(String key) {
+        entries.remove(key);
+    }
+
+    @Override
+    protected synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    protected String type() {
+        return "local";
+    }
+
+    private record Entry(Map<String, Object> value, long expiresAt) {}
+}
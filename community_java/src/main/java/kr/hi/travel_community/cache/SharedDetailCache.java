@@ -0,0 +1,70 @@
+package kr.hi.travel_community.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🚩 분산 캐시(Redis 등) 자리에 쓰는 로컬 대체 구현
+ * - 원격 저장소처럼 키 단위 TTL 만 두고 용량 제한(LRU)은 하지 않습니다.
+ * - 넣을 때/꺼낼 때 모두 복사하여, 원격 캐시처럼 저장된 값과 호출자 객체가 공유되지 않게 합니다.
+ * - 실제 분산 캐시를 붙일 때는 이 클래스를 같은 방식으로 교체하면 됩니다.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.detail.type", havingValue = "shared")
+public class SharedDetailCache extends AbstractDetailCache {
+
+    private final long ttlMillis;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public SharedDetailCache(@Value("${cache.detail.ttl-seconds:60}") long ttlSeconds) {
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    @Override
+    protected Map<String, Object> lookup(String key) {
+        Entry e = entries.get(key);
+        if (e == null) return null;
+        if (e.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key, e);
+            return null;
+        }
+        return new HashMap<>(e.value);
+    }
+
+    @Override
+    protected void store(String key, Map<String, Object> value) {
+        entries.put(key, new Entry(new HashMap<>(value), System.currentTimeMillis() + ttlMillis));
+    }
+
+    @Override
+    protected void remove(String key) {
+        entries.remove(key);
+    }
+
+    @Override
+    protected int size() {
+        return entries.size();
+    }
+
+    /**
+     * 한 번도 다시 조회되지 않은 만료 항목 정리 (원격 저장소의 자동 만료 역할)
+     */
+    @Scheduled(fixedDelayString = "${cache.detail.purge-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(e -> e.expiresAt <= now);
+    }
+
+    @Override
+    protected String type() {
+        return "shared";
+    }
+
+    private record Entry(Map<String, Object> value, long expiresAt) {}
+}
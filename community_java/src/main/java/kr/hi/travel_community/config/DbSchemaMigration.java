@@ -1,5 +1,6 @@
 package kr.hi.travel_community.config;
 
+import kr.hi.travel_community.model.util.BoardType;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
@@ -9,7 +10,8 @@ import org.springframework.stereotype.Component;
 
 /**
  * 앱 기동 시 inquiry_box, report_box에 필요한 컬럼이 없으면 추가.
- * 컬럼 존재 여부를 먼저 확인하여 불필요한 WARN 로그 방지.
+ * 게시판 테이블에는 조회 패턴에 맞는 인덱스가 없으면 추가.
+ * 컬럼/인덱스 존재 여부를 먼저 확인하여 불필요한 WARN 로그 방지.
  */
 @Component
 @Order(2)
@@ -25,6 +27,9 @@ public class DbSchemaMigration implements ApplicationRunner {
     @Override
     public void run(ApplicationArguments args) throws Exception {
         ensureColumns();
+        ensureMediaTables();
+        ensureAvatarTable();
+        ensureIndexes();
     }
 
     private void ensureColumns() {
@@ -35,6 +40,188 @@ public class DbSchemaMigration implements ApplicationRunner {
         ensureColumn("report_box", "rb_seen", "CHAR(1) NULL DEFAULT 'N'");
     }
 
+    /**
+     * 🚩 내용 주소(SHA-256) 이미지 저장소 (MediaStore)
+     * - media_blob: 저장된 파일 1건당 1행 / media_ref: 게시글 → 파일 참조 (참조 행 수 = 참조 수)
+     */
+    private void ensureMediaTables() {
+        try {
+            jdbcTemplate.execute(
+                "CREATE TABLE IF NOT EXISTS media_blob (" +
+                "bl_name VARCHAR(80) NOT NULL PRIMARY KEY, " +
+                "bl_bytes BIGINT NOT NULL, " +
+                "bl_width INT NOT NULL DEFAULT 0, " +
+                "bl_height INT NOT NULL DEFAULT 0, " +
+                "bl_date DATETIME NOT NULL)");
+            jdbcTemplate.execute(
+                "CREATE TABLE IF NOT EXISTS media_ref (" +
+                "mr_num INT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+                "mr_board VARCHAR(20) NOT NULL, " +
+                "mr_po_num INT NOT NULL, " +
+                "mr_name VARCHAR(80) NOT NULL, " +
+                "UNIQUE KEY uk_media_ref_post (mr_board, mr_po_num, mr_name), " +
+                "KEY idx_media_ref_name (mr_name))");
+        } catch (Exception e) {
+            log.error("이미지 저장소 테이블 생성 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 🚩 프로필 사진을 member 행(mb_photo_data)에서 member_avatar 테이블로 이전
+     * 옮긴 회원의 mb_photo_data 는 비워서 회원 조회가 LONGBLOB 을 끌고 다니지 않게 합니다.
+     */
+    private void ensureAvatarTable() {
+        try {
+            jdbcTemplate.execute(
+                "CREATE TABLE IF NOT EXISTS member_avatar (" +
+                "av_mb_num INT NOT NULL PRIMARY KEY, " +
+                "av_ver INT NOT NULL DEFAULT 0, " +
+                "av_type VARCHAR(100) NOT NULL, " +
+                "av_data LONGBLOB NOT NULL)");
+            // 업로드 때 만든 목록/댓글용 작은 사진 (정규화 이전 행은 NULL)
+            ensureColumn("member_avatar", "av_small", "MEDIUMBLOB NULL");
+
+            if (!columnExists("member", "mb_photo_data")) return;
+            int copied = jdbcTemplate.update(
+                "INSERT IGNORE INTO member_avatar (av_mb_num, av_ver, av_type, av_data) " +
+                "SELECT mb_num, COALESCE(mb_photo_ver, 0), COALESCE(mb_photo_type, 'image/jpeg'), mb_photo_data " +
+                "FROM member WHERE mb_photo_data IS NOT NULL");
+            if (copied > 0) {
+                log.info("DB 마이그레이션: 프로필 사진 {}건을 member_avatar 로 옮겼습니다.", copied);
+            }
+            jdbcTemplate.update(
+                "UPDATE member m JOIN member_avatar a ON a.av_mb_num = m.mb_num " +
+                "SET m.mb_photo_data = NULL WHERE m.mb_photo_data IS NOT NULL");
+        } catch (Exception e) {
+            log.error("프로필 사진 테이블 이전 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    private void ensureIndexes() {
+        // 🚩 작성자별 글 목록: WHERE mb_num = ? AND del = 'N' ORDER BY num DESC 를 인덱스 범위 조회로 처리
+        for (BoardType board : BoardType.values()) {
+            ensureIndex(board.getTable(), "idx_" + board.getTable() + "_author",
+                    board.getMbNumColumn() + ", " + board.getDelColumn() + ", " + board.getPkColumn());
+        }
+        // 🚩 마이페이지 즐겨찾기: WHERE bm_mb_num = ? ORDER BY bm_num DESC LIMIT N
+        ensureIndex("bookmark", "idx_bookmark_member", "bm_mb_num, bm_num");
+        // 🚩 댓글 스레드 페이징: WHERE co_po_type = ? AND co_po_num = ? AND co_del = 'N' ORDER BY co_date, co_num
+        ensureIndex("comment", "idx_comment_post_date", "co_po_type, co_po_num, co_del, co_date");
+        // 🚩 답글 트리: WHERE co_ori_num IN (...) AND co_del = 'N'
+        ensureIndex("comment", "idx_comment_parent", "co_ori_num, co_del");
+        ensureLikesLayout();
+        ensureCommentLikeLayout();
+    }
+
+    /**
+     * 🚩 likes: (회원, 게시판, 종류(post/scrap), 글 번호) 당 1행
+     * - li_board 가 없던 기존 행은 해당 글 번호가 있는 게시판으로 채웁니다. (여러 게시판에 같은 번호가 있으면 비워 두고 건수만 기록)
+     * - 추천 토글(DELETE → INSERT IGNORE)과 목록 일괄 확인이 이 유니크 키를 기준으로 동작하므로, 중복 행은 가장 먼저 생긴 행만 남깁니다.
+     */
+    private void ensureLikesLayout() {
+        String indexName = "uk_likes_member_board";
+        try {
+            ensureColumn("likes", "li_board", "VARCHAR(20) NOT NULL DEFAULT ''");
+            if (indexExists("likes", indexName)) return;
+
+            // 글 번호는 게시판 테이블마다 따로 증가하므로, 그 번호가 딱 한 게시판에만 있을 때만 채움
+            for (BoardType board : BoardType.values()) {
+                StringBuilder sql = new StringBuilder("UPDATE likes l SET l.li_board = ? WHERE l.li_board = '' AND ")
+                    .append(existsOn(board));
+                for (BoardType other : BoardType.values()) {
+                    if (other != board) sql.append(" AND NOT ").append(existsOn(other));
+                }
+                int filled = jdbcTemplate.update(sql.toString(), board.name());
+                if (filled > 0) {
+                    log.info("DB 마이그레이션: likes.li_board {}건을 {} 로 채웠습니다.", filled, board);
+                }
+            }
+            Integer ambiguous = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM likes WHERE li_board = ''", Integer.class);
+            if (ambiguous != null && ambiguous > 0) {
+                log.warn("DB 마이그레이션: 게시판을 특정할 수 없는 likes {}건은 li_board 를 비워 둡니다. (여러 게시판에 같은 글 번호 또는 없는 글)", ambiguous);
+            }
+
+            int removed = jdbcTemplate.update(
+                "DELETE l1 FROM likes l1 JOIN likes l2 " +
+                "ON l1.li_mb_num = l2.li_mb_num AND l1.li_board = l2.li_board " +
+                "AND l1.li_name = l2.li_name AND l1.li_id = l2.li_id " +
+                "AND l1.li_num > l2.li_num");
+            if (removed > 0) {
+                log.info("DB 마이그레이션: likes 중복 행 {}건 정리", removed);
+            }
+
+            if (indexExists("likes", "uk_likes_member_post")) {
+                jdbcTemplate.execute("DROP INDEX uk_likes_member_post ON likes");
+            }
+            jdbcTemplate.execute("CREATE UNIQUE INDEX " + indexName + " ON likes (li_mb_num, li_board, li_name, li_id)");
+            log.info("DB 마이그레이션: likes 유니크 인덱스 {}가 생성되었습니다.", indexName);
+        } catch (Exception e) {
+            log.error("likes 테이블 구조 변경 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    private static String existsOn(BoardType board) {
+        return "EXISTS (SELECT 1 FROM " + board.getTable() + " t WHERE t." + board.getPkColumn() + " = l.li_id)";
+    }
+
+    /**
+     * 🚩 comment_like: (회원, 댓글) 당 1행
+     * 댓글 좋아요 토글(DELETE → INSERT IGNORE)이 이 유니크 키를 기준으로 동작하므로, 중복 행은 가장 먼저 생긴 행만 남깁니다.
+     */
+    private void ensureCommentLikeLayout() {
+        String indexName = "uk_comment_like_member";
+        try {
+            if (indexExists("comment_like", indexName)) return;
+
+            int removed = jdbcTemplate.update(
+                "DELETE l1 FROM comment_like l1 JOIN comment_like l2 " +
+                "ON l1.mb_num = l2.mb_num AND l1.co_num = l2.co_num AND l1.cl_num > l2.cl_num");
+            if (removed > 0) {
+                log.info("DB 마이그레이션: comment_like 중복 행 {}건 정리", removed);
+            }
+
+            jdbcTemplate.execute("CREATE UNIQUE INDEX " + indexName + " ON comment_like (mb_num, co_num)");
+            log.info("DB 마이그레이션: comment_like 유니크 인덱스 {}가 생성되었습니다.", indexName);
+        } catch (Exception e) {
+            log.error("comment_like 테이블 구조 변경 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    private boolean indexExists(String table, String indexName) {
+        String checkSql = "SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS " +
+                          "WHERE TABLE_SCHEMA = DATABASE() " +
+                          "AND TABLE_NAME = ? " +
+                          "AND INDEX_NAME = ?";
+        Integer count = jdbcTemplate.queryForObject(checkSql, Integer.class, table, indexName);
+        return count != null && count > 0;
+    }
+
+    private void ensureIndex(String table, String indexName, String columns) {
+        try {
+            if (!indexExists(table, indexName)) {
+                jdbcTemplate.execute(String.format(
+                    "CREATE INDEX %s ON %s (%s)", indexName, table, columns
+                ));
+                log.info("DB 마이그레이션: {} 인덱스 {}({})가 생성되었습니다.", table, indexName, columns);
+            } else {
+                log.debug("DB 마이그레이션: {} 인덱스 {}가 이미 존재합니다.", table, indexName);
+            }
+
+        } catch (Exception e) {
+            log.error("인덱스 체크 또는 추가 중 알 수 없는 오류 발생 ({}.{}): {}", table, indexName, e.getMessage());
+        }
+    }
+
+    private boolean columnExists(String table, String column) {
+        String checkSql = "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS " +
+                          "WHERE TABLE_SCHEMA = DATABASE() " +
+                          "AND TABLE_NAME = ? " +
+                          "AND COLUMN_NAME = ?";
+        Integer count = jdbcTemplate.queryForObject(checkSql, Integer.class, table, column);
+        return count != null && count > 0;
+    }
+
     private void ensureColumn(String table, String column, String definition) {
         try {
             // 1. 해당 테이블에 해당 컬럼이 이미 존재하는지 쿼리 (INFORMATION_SCHEMA 활용)
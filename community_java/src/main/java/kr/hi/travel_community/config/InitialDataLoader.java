@@ -10,6 +10,7 @@ import org.springframework.stereotype.Component;
 import kr.hi.travel_community.dao.MemberDAO;
 import kr.hi.travel_community.model.dto.MemberSignUpDTO;
 import kr.hi.travel_community.model.vo.MemberVO;
+import kr.hi.travel_community.service.MemberDetailService;
 
 /**
  * 앱 기동 시 초기 계정(123/123, 456/456)을 보장.
@@ -22,6 +23,9 @@ public class InitialDataLoader implements ApplicationRunner {
     @Autowired
     private MemberDAO memberDAO;
 
+    @Autowired
+    private MemberDetailService memberDetailService;
+
     @Autowired
     private BCryptPasswordEncoder encoder;
 
@@ -40,6 +44,7 @@ public class InitialDataLoader implements ApplicationRunner {
                 ));
                 if ("ADMIN".equals(role)) {
                     memberDAO.updateRoleById(id, role);
+                    memberDetailService.evict(id);
                 }
                 return;
             }
@@ -50,6 +55,7 @@ public class InitialDataLoader implements ApplicationRunner {
                 return;
             }
             memberDAO.updatePasswordById(id, encoder.encode(plainPw));
+            memberDetailService.evict(id);
         } catch (Exception e) {
             e.printStackTrace();
         }
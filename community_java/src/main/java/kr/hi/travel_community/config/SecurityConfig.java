@@ -16,6 +16,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import kr.hi.travel_community.security.filter.JwtAuthenticationFilter;
 import kr.hi.travel_community.security.jwt.JwtTokenProvider;
+import kr.hi.travel_community.security.jwt.TokenEpochRegistry;
 import kr.hi.travel_community.service.MemberDetailService;
 
 @Configuration
@@ -24,10 +25,13 @@ public class SecurityConfig {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final MemberDetailService memberDetailService;
+    private final TokenEpochRegistry tokenEpochRegistry;
 
-    public SecurityConfig(JwtTokenProvider jwtTokenProvider, MemberDetailService memberDetailService) {
+    public SecurityConfig(JwtTokenProvider jwtTokenProvider, MemberDetailService memberDetailService,
+                          TokenEpochRegistry tokenEpochRegistry) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.memberDetailService = memberDetailService;
+        this.tokenEpochRegistry = tokenEpochRegistry;
     }
 
     @Bean
@@ -46,7 +50,7 @@ public class SecurityConfig {
                 .anyRequest().permitAll()
             )
             .addFilterBefore(
-                new JwtAuthenticationFilter(jwtTokenProvider, memberDetailService),
+                new JwtAuthenticationFilter(jwtTokenProvider, memberDetailService, tokenEpochRegistry),
                 UsernamePasswordAuthenticationFilter.class
             );
 
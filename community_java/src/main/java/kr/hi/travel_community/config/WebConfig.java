@@ -6,11 +6,20 @@ import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import kr.hi.travel_community.media.MediaIngestService;
+import kr.hi.travel_community.media.ThumbnailResourceResolver;
+import kr.hi.travel_community.media.ThumbnailService;
+import lombok.RequiredArgsConstructor;
+
 import java.io.File;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final ThumbnailService thumbnailService;
+    private final MediaIngestService mediaIngestService;
+
     // 1. 기존 업로드 경로 설정 유지
     @Value("${file.upload-dir:/home/uploads/}")
     private String uploadDir;
@@ -39,6 +48,15 @@ public class WebConfig implements WebMvcConfigurer {
                 .addResourceLocations(location)
                 .setCachePeriod(3600); 
 
+        // ✅ 1-1. 목록 카드용 폭별 사본 (/pic/320/파일명 등, 없으면 첫 요청 때 작업 스레드에서 생성 → 그동안/필요 없으면 원본)
+        for (int width : ThumbnailService.WIDTHS) {
+            registry.addResourceHandler("/pic/" + width + "/**")
+                    .addResourceLocations(location)
+                    .setCachePeriod(86400)
+                    .resourceChain(false)
+                    .addResolver(new ThumbnailResourceResolver(thumbnailService, mediaIngestService, width));
+        }
+
         // ✅ 2. 정적 리소스 및 리액트 빌드 파일 매핑
         // 기존 /static/ 외에 루트 경로의 자원들을 명확히 매핑하여 
         // 상세페이지 새로고침 시 발생하는 경로 인식 오류를 방지합니다.
@@ -1,5 +1,6 @@
 package kr.hi.travel_community.controller;
 
+import kr.hi.travel_community.cache.DetailCache;
 import kr.hi.travel_community.model.util.CustomUser;
 import kr.hi.travel_community.model.vo.MemberVO;
 import kr.hi.travel_community.service.AdminService;
@@ -18,6 +19,7 @@ import java.util.Map;
 public class AdminController {
 
     private final AdminService adminService;
+    private final DetailCache detailCache;
 
     private boolean isAdmin(Authentication auth) {
         if (auth == null || !auth.isAuthenticated() || !(auth.getPrincipal() instanceof CustomUser))
@@ -36,6 +38,18 @@ public class AdminController {
         return ResponseEntity.ok(list);
     }
 
+    /**
+     * 🚩 게시글 상세 캐시 통계 (적중/실패 횟수, 적중률, 보관 건수)
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<?> getCacheStats(Authentication auth) {
+        if (auth == null || !auth.isAuthenticated())
+            return ResponseEntity.status(401).body(Map.of("error", "로그인이 필요합니다."));
+        if (!isAdmin(auth))
+            return ResponseEntity.status(403).body(Map.of("error", "관리자 권한이 필요합니다."));
+        return ResponseEntity.ok(detailCache.stats());
+    }
+
     @GetMapping("/reports")
     public ResponseEntity<?> getReports(Authentication auth) {
         if (auth == null || !auth.isAuthenticated())
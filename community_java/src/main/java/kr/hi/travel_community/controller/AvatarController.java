@@ -0,0 +1,58 @@
+package kr.hi.travel_community.controller;
+
+import java.net.URI;
+import java.time.Duration;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import kr.hi.travel_community.service.AvatarService;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 🚩 공개 프로필 사진 (/avatar/{회원 번호}/{사진 버전})
+ * - 목록/댓글의 작성자 사진을 로그인 없이 img 태그로 바로 표시
+ * - 주소에 버전이 들어 있어 내용이 바뀌지 않으므로 브라우저/프록시가 1년간 재검증 없이 캐시
+ * - 예전 버전 주소로 오면 현재 버전 주소로 리다이렉트 (캐시된 목록 화면 대비)
+ */
+@RestController
+@RequiredArgsConstructor
+public class AvatarController {
+
+    private final AvatarService avatarService;
+
+    @GetMapping("/avatar/{mbNum}/{ver}")
+    public ResponseEntity<byte[]> getAvatar(@PathVariable("mbNum") int mbNum,
+                                            @PathVariable("ver") int ver,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = AvatarService.etag(mbNum, ver);
+        CacheControl forever = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+        if (ifNoneMatch != null && ifNoneMatch.contains(etag)) {
+            // 버전이 같으면 내용도 같으므로 DB 조회 없이 304
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(forever).build();
+        }
+
+        AvatarService.Avatar avatar = avatarService.loadSmall(mbNum, ver);
+        if (avatar == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (avatar.ver() != ver) {
+            return ResponseEntity.status(HttpStatus.FOUND)
+                    .location(URI.create("/avatar/" + mbNum + "/" + avatar.ver()))
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(forever)
+                .contentType(MediaType.parseMediaType(avatar.contentType()))
+                .body(avatar.data());
+    }
+}
@@ -1,20 +1,16 @@
 package kr.hi.travel_community.controller;
 
-import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import kr.hi.travel_community.entity.Comment;
-import kr.hi.travel_community.entity.CommentLike;
-import kr.hi.travel_community.entity.Member;
 import kr.hi.travel_community.entity.ReportBox;
 import kr.hi.travel_community.repository.CommentRepository;
-import kr.hi.travel_community.repository.MemberRepository;
-import kr.hi.travel_community.repository.CommentLikeRepository;
 import kr.hi.travel_community.repository.ReportRepository;
+import kr.hi.travel_community.service.CommentLikeService;
+import kr.hi.travel_community.service.CommentService;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -24,9 +20,9 @@ import lombok.RequiredArgsConstructor;
 public class CommentController {
 
     private final CommentRepository commentRepository;
-    private final MemberRepository memberRepository;
-    private final CommentLikeRepository commentLikeRepository;
+    private final CommentLikeService commentLikeService;
     private final ReportRepository reportRepository;
+    private final CommentService commentService;
 
     /**
      * 댓글 목록 조회
@@ -35,36 +31,38 @@ public class CommentController {
     public ResponseEntity<List<Map<String, Object>>> getComments(
             @PathVariable("postId") Integer postId,
             @RequestParam(value = "type", defaultValue = "RECOMMEND") String type){
-        
-        List<Comment> comments = commentRepository.findByCoPoNumAndCoPoTypeAndCoDelOrderByCoDateAsc(postId, type, "N");
-        
-        List<Map<String, Object>> result = comments.stream().map(c -> {
-            Map<String, Object> map = new HashMap<>();
-            map.put("coNum", c.getCoNum());
-            map.put("coContent", c.getCoContent());
-            map.put("coDate", c.getCoDate());
-            map.put("coLike", (c.getCoLike() == null) ? 0 : c.getCoLike());
-            map.put("coOriNum", c.getCoOriNum());
-            map.put("coPoNum", c.getCoPoNum());
-            map.put("coMbNum", c.getCoMbNum());
-
-            // 🚩 작성자 닉네임 조회 로직 보강
-            String nickname = "알 수 없는 사용자";
-            if (c.getCoMbNum() != null) {
-                nickname = memberRepository.findById(c.getCoMbNum())
-                        .map(Member::getMbNickname)
-                        .orElse("탈퇴한 사용자");
-            }
-            map.put("coNickname", nickname);
-            
-            return map;
-        }).collect(Collectors.toList());
+        // 🚩 닉네임 일괄 조회 + 로그인 사용자의 댓글 좋아요 여부(isLikedByMe) 포함
+        return ResponseEntity.ok(commentService.getCommentList(postId, type));
+    }
 
-        return ResponseEntity.ok(result);
+    /**
+     * 🚩 댓글 스레드(최상위 댓글) 커서 페이징: /api/comment/threads/{postId}?type=&cursor=&size=
+     * 응답: { threads, size, hasNext, nextCursor } (각 스레드에 replyCount 포함)
+     */
+    @GetMapping("/threads/{postId}")
+    public ResponseEntity<?> getThreads(
+            @PathVariable("postId") Integer postId,
+            @RequestParam(value = "type", defaultValue = "RECOMMEND") String type,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(commentService.getThreads(postId, type, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * 🚩 답글 트리 지연 로딩: /api/comment/replies/{coNum}
+     * 응답: 직속 답글 목록 (각 항목의 replies 에 하위 답글이 중첩됨)
+     */
+    @GetMapping("/replies/{coNum}")
+    public ResponseEntity<List<Map<String, Object>>> getReplies(@PathVariable("coNum") Integer coNum) {
+        return ResponseEntity.ok(commentService.getReplies(coNum));
     }
 
     /**
-     * 댓글 등록
+     * 댓글 등록 (저장/랭킹 반영/상세 캐시 무효화는 CommentService)
      */
     @PostMapping("/add/{postId}")
     public ResponseEntity<?> addComment(@PathVariable("postId") Integer postId,
@@ -74,9 +72,6 @@ public class CommentController {
         if (mbNumObj == null) return ResponseEntity.status(401).body(Map.of("error","로그인 정보가 없습니다."));
         
         Integer mbNum = Integer.parseInt(mbNumObj.toString());
-        Member member = memberRepository.findById(mbNum).orElse(null); 
-        if(member == null) return ResponseEntity.status(401).body(Map.of("error","사용자를 찾을 e수 없습니다."));
-
         String content = (String) payload.get("content");
         String type = (String) payload.getOrDefault("type", "RECOMMEND");
         
@@ -86,28 +81,14 @@ public class CommentController {
         if (parentIdObj != null && !parentIdObj.toString().isEmpty()) {
             try {
                 parentId = Integer.parseInt(parentIdObj.toString());
-                if (parentId == 0) parentId = null;
             } catch (NumberFormatException e) {
                 parentId = null;
             }
         }
         
-        Comment comment = Comment.builder()
-                .coContent(content)
-                .coDate(LocalDateTime.now())
-                .coLike(0)
-                .coDel("N")
-                .coOriNum(parentId) // 답글인 경우 부모 ID 저장
-                .coPoNum(postId)
-                .coPoType(type)
-                .coMbNum(member.getMbNum()) 
-                .build();
-                
-        commentRepository.save(comment);
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("coNum", comment.getCoNum());
-        response.put("coNickname", member.getMbNickname()); // 즉시 반영용
+        Map<String, Object> response = commentService.addComment(postId, content, type, parentId, mbNum);
+        if (response == null) return ResponseEntity.status(401).body(Map.of("error","사용자를 찾을 수 없습니다."));
+
         response.put("msg", "댓글 작성 완료");
         return ResponseEntity.ok(response);
     }
@@ -115,21 +96,17 @@ public class CommentController {
     @PutMapping("/update/{commentId}")
     public ResponseEntity<?> updateComment(@PathVariable("commentId") Integer commentId,
                                            @RequestBody Map<String, String> payload){
-        Comment comment = commentRepository.findById(commentId).orElse(null);
-        if(comment == null) return ResponseEntity.status(404).body(Map.of("error","댓글을 찾을 수 없습니다."));
-
-        comment.setCoContent(payload.get("content"));
-        commentRepository.save(comment);
+        if (!commentService.updateComment(commentId, payload.get("content"))) {
+            return ResponseEntity.status(404).body(Map.of("error","댓글을 찾을 수 없습니다."));
+        }
         return ResponseEntity.ok(Map.of("msg","수정 완료"));
     }
 
     @DeleteMapping("/delete/{commentId}")
     public ResponseEntity<?> deleteComment(@PathVariable("commentId") Integer commentId){
-        Comment comment = commentRepository.findById(commentId).orElse(null);
-        if(comment == null) return ResponseEntity.status(404).body(Map.of("error","댓글을 찾을 수 없습니다."));
-
-        comment.setCoDel("Y"); // 소프트 삭제
-        commentRepository.save(comment);
+        if (!commentService.deleteComment(commentId)) {
+            return ResponseEntity.status(404).body(Map.of("error","댓글을 찾을 수 없습니다."));
+        }
         return ResponseEntity.ok(Map.of("msg","삭제 완료"));
     }
 
@@ -141,32 +118,9 @@ public class CommentController {
             return ResponseEntity.status(401).body(Map.of("error", "로그인이 필요한 서비스 입니다"));
         }
 
-        Comment comment = commentRepository.findById(commentId).orElse(null);
-        Member member = memberRepository.findById(mbNum).orElse(null);
-        
-        if(comment == null || member == null) return ResponseEntity.status(404).build();
-
-        Optional<CommentLike> existingLike = commentLikeRepository.findByMemberAndComment(member, comment);
-        Map<String, Object> response = new HashMap<>();
-
-        int currentLikes = (comment.getCoLike() == null) ? 0 : comment.getCoLike();
-
-        if (existingLike.isPresent()) {
-            commentLikeRepository.delete(existingLike.get());
-            comment.setCoLike(Math.max(0, currentLikes - 1));
-            response.put("status", "unliked");
-        } else {
-            CommentLike newLike = CommentLike.builder()
-                    .member(member)
-                    .comment(comment)
-                    .build();
-            commentLikeRepository.save(newLike);
-            comment.setCoLike(currentLikes + 1);
-            response.put("status", "liked");
-        }
-        
-        commentRepository.save(comment);
-        response.put("count", comment.getCoLike());
+        // 🚩 번호만으로 토글 + 좋아요 수 상대 반영 (CommentLikeService)
+        Map<String, Object> response = commentLikeService.toggle(commentId, mbNum);
+        if (response == null) return ResponseEntity.status(404).build();
         return ResponseEntity.ok(response);
     }
 
@@ -200,4 +154,4 @@ public class CommentController {
         }
         return ResponseEntity.ok(Map.of("msg", "신고 접수 완료"));
     }
-}
\ No newline at end of file
+}
@@ -27,13 +27,23 @@ public class EventBoardController {
      * 🚩 이벤트 목록 조회 (유저/관리자 공용)
      */
     @GetMapping("/posts")
-    public ResponseEntity<List<Map<String, Object>>> getList(
+    public ResponseEntity<?> getList(
             @RequestParam(value = "type", required = false) String type,
-            @RequestParam(value = "keyword", required = false) String keyword) {
+            @RequestParam(value = "keyword", required = false) String keyword,
+            @RequestParam(value = "after", required = false) Integer after,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "page", required = false) Integer page) {
         
         List<Map<String, Object>> list;
         if (type != null && keyword != null && !keyword.trim().isEmpty()) {
+            // 🚩 page/size 가 있으면 관련도순 페이지 단위로 반환
+            if (page != null || size != null) {
+                return ResponseEntity.ok(eventBoardService.searchPostsPage(type, keyword, page, size));
+            }
             list = eventBoardService.searchPosts(type, keyword);
+        } else if (after != null || size != null) {
+            // 🚩 커서 페이징 요청
+            return ResponseEntity.ok(eventBoardService.getPostsAfter(after, size));
         } else {
             list = eventBoardService.getRealAllPosts();
         }
@@ -41,6 +51,16 @@ public class EventBoardController {
         return ResponseEntity.ok(list != null ? list : Collections.emptyList());
     }
 
+    /**
+     * 🚩 작성자별 글 목록 (커서 페이징): ?after=<마지막 글 번호>&size=N
+     */
+    @GetMapping("/posts/author/{mbNum}")
+    public ResponseEntity<?> getPostsByAuthor(@PathVariable("mbNum") Integer mbNum,
+                                              @RequestParam(value = "after", required = false) Integer after,
+                                              @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(eventBoardService.getPostsByAuthor(mbNum, after, size));
+    }
+
     /**
      * 🚩 이벤트 상세 조회 (유저/관리자 공용)
      */
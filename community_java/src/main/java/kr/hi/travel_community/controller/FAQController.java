@@ -23,10 +23,24 @@ public class FAQController {
 
     private final FAQService faqService;
 
-    // 🚩 FAQ 전체 목록 조회 (유저/관리자 공용)
+    // 🚩 FAQ 전체 목록 조회 (유저/관리자 공용, ?after=&size= 이면 커서 페이징)
     @GetMapping("/posts")
-    public List<Map<String, Object>> getAllPosts() {
-        return faqService.getRealAllPosts();
+    public ResponseEntity<?> getAllPosts(@RequestParam(value = "after", required = false) Integer after,
+                                         @RequestParam(value = "size", required = false) Integer size) {
+        if (after != null || size != null) {
+            return ResponseEntity.ok(faqService.getPostsAfter(after, size));
+        }
+        return ResponseEntity.ok(faqService.getRealAllPosts());
+    }
+
+    /**
+     * 🚩 작성자별 글 목록 (커서 페이징): ?after=<마지막 글 번호>&size=N
+     */
+    @GetMapping("/posts/author/{mbNum}")
+    public ResponseEntity<?> getPostsByAuthor(@PathVariable("mbNum") Integer mbNum,
+                                              @RequestParam(value = "after", required = false) Integer after,
+                                              @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(faqService.getPostsByAuthor(mbNum, after, size));
     }
 
     // 🚩 FAQ 상세 조회 (조회수 증가 포함)
@@ -28,9 +28,24 @@ public class FreeBoardController {
     private final BookMarkService bookMarkService; // 🚩 즐겨찾기 서비스 주입
 
     // 🚩 게시글 리스트 조회 (작성자 닉네임 포함 데이터)
+    // 🚩 ?after=<poNum>&size=N 이 있으면 커서 페이징 결과를 반환
     @GetMapping("/posts")
-    public List<Map<String, Object>> getList() {
-        return freePostService.getRealAllPosts();
+    public ResponseEntity<?> getList(@RequestParam(value = "after", required = false) Integer after,
+                                     @RequestParam(value = "size", required = false) Integer size) {
+        if (after != null || size != null) {
+            return ResponseEntity.ok(freePostService.getPostsAfter(after, size));
+        }
+        return ResponseEntity.ok(freePostService.getRealAllPosts());
+    }
+
+    /**
+     * 🚩 작성자별 글 목록 (커서 페이징): ?after=<마지막 글 번호>&size=N
+     */
+    @GetMapping("/posts/author/{mbNum}")
+    public ResponseEntity<?> getPostsByAuthor(@PathVariable("mbNum") Integer mbNum,
+                                              @RequestParam(value = "after", required = false) Integer after,
+                                              @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(freePostService.getPostsByAuthor(mbNum, after, size));
     }
 
     // 🚩 게시글 상세 조회 (작성자 닉네임 포함 데이터)
@@ -5,7 +5,9 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -13,6 +15,7 @@ import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
@@ -25,12 +28,14 @@ import kr.hi.travel_community.model.dto.LoginRequestDTO;
 import kr.hi.travel_community.model.util.CustomUser;
 import kr.hi.travel_community.model.vo.MemberVO;
 import kr.hi.travel_community.security.jwt.JwtTokenProvider;
+import kr.hi.travel_community.service.AvatarService;
 import kr.hi.travel_community.service.MemberService;
 
 @RestController
 public class MemberController {
 
     @Autowired private MemberService memberService;
+    @Autowired private AvatarService avatarService;
     @Autowired private JwtTokenProvider jwtTokenProvider;
     @Autowired private MemberDAO memberDAO;
 
@@ -102,7 +107,7 @@ public class MemberController {
         member.setMb_pw(null);
 
         // ✅ access token 발급
-        String accessToken = jwtTokenProvider.createAccessToken(member.getMb_Uid());
+        String accessToken = jwtTokenProvider.createAccessToken(member);
 
         Map<String, Object> body = new HashMap<>();
         body.put("member", member);
@@ -169,7 +174,7 @@ public class MemberController {
             member.setMb_pw(null);
 
             // ✅ 새 accessToken 발급
-            String newAccessToken = jwtTokenProvider.createAccessToken(id);
+            String newAccessToken = jwtTokenProvider.createAccessToken(member);
 
             Map<String, Object> body = new HashMap<>();
             body.put("member", member);
@@ -293,22 +298,40 @@ public class MemberController {
     }
 
     /**
-     * ✅ 프로필 사진 조회 (DB에서 BLOB 반환, JWT 인증)
+     * ✅ 프로필 사진 조회 (JWT 인증)
+     * - ETag 는 (회원 번호, mb_photo_ver) 기준: If-None-Match 가 같으면 DB 조회 없이 304
+     * - ?v=<mb_photo_ver> 로 요청하면 버전이 URL 에 들어가므로 immutable 로 1년 캐시
      */
     @GetMapping("/auth/profile-photo")
-    public ResponseEntity<?> getProfilePhoto(Authentication authentication) {
+    public ResponseEntity<?> getProfilePhoto(Authentication authentication,
+                                             @RequestParam(value = "v", required = false) Integer v,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         if (authentication == null || !(authentication.getPrincipal() instanceof CustomUser)) {
             return ResponseEntity.status(401).build();
         }
-        String id = ((CustomUser) authentication.getPrincipal()).getMember().getMb_Uid();
-        byte[] data = memberService.getPhotoData(id);
-        if (data == null || data.length == 0) {
+        MemberVO member = ((CustomUser) authentication.getPrincipal()).getMember();
+        Integer ver = member.getMb_photo_ver();
+        if (ver == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String etag = AvatarService.etag(member.getMb_num(), ver);
+        CacheControl cacheControl = ver.equals(v)
+                ? CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable()
+                : CacheControl.noCache().cachePrivate();
+        if (ifNoneMatch != null && ifNoneMatch.contains(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+
+        AvatarService.Avatar avatar = avatarService.load(member.getMb_num(), ver);
+        if (avatar == null) {
             return ResponseEntity.notFound().build();
         }
-        String contentType = memberService.getPhotoContentType(id);
         return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType != null ? contentType : "image/jpeg"))
-                .body(data);
+                .eTag(AvatarService.etag(member.getMb_num(), avatar.ver()))
+                .cacheControl(cacheControl)
+                .contentType(MediaType.parseMediaType(avatar.contentType()))
+                .body(avatar.data());
     }
 
     /**
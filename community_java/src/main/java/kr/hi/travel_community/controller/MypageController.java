@@ -5,7 +5,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -18,23 +17,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import kr.hi.travel_community.entity.BookMark;
-import kr.hi.travel_community.entity.FreePost;
-import kr.hi.travel_community.entity.RecommendPost;
 import kr.hi.travel_community.entity.ReportBox;
-import kr.hi.travel_community.entity.ReviewPost;
 import kr.hi.travel_community.model.util.CustomUser;
 import kr.hi.travel_community.model.vo.MemberVO;
 import kr.hi.travel_community.repository.BookMarkRepository;
-import kr.hi.travel_community.repository.FreeRepository;
-import kr.hi.travel_community.repository.RecommendRepository;
 import kr.hi.travel_community.repository.ReportRepository;
-import kr.hi.travel_community.repository.ReviewRepository;
-import kr.hi.travel_community.service.FreePostService;
-import kr.hi.travel_community.service.RecommendPostService;
-import kr.hi.travel_community.service.ReviewPostService;
+import kr.hi.travel_community.service.BookMarkFeedService;
+import kr.hi.travel_community.service.MyActivityService;
 import lombok.RequiredArgsConstructor;
 
 
@@ -44,17 +37,21 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class MypageController {
 
-    private final RecommendPostService recommendPostService;
-    private final ReviewPostService reviewPostService;
-    private final FreePostService freePostService;
+    private static final int RECENT_BOOKMARKS = 5;
+
+    private final MyActivityService myActivityService;
+    private final BookMarkFeedService bookMarkFeedService;
     private final BookMarkRepository bookmarkRepository;
     private final ReportRepository reportRepository;
-    private final RecommendRepository recommendRepository;
-    private final ReviewRepository reviewRepository;
-    private final FreeRepository freeRepository;
 
+    /**
+     * 🚩 내가 쓴 글 (추천/후기/자유 통합, 최신순)
+     * cursor 또는 size 가 있으면 커서 페이징 응답 {posts, size, hasNext, nextCursor}
+     */
     @GetMapping("/posts")
-    public ResponseEntity<?> getMyPosts(Authentication authentication) {
+    public ResponseEntity<?> getMyPosts(Authentication authentication,
+                                        @RequestParam(value = "cursor", required = false) String cursor,
+                                        @RequestParam(value = "size", required = false) Integer size) {
         if (authentication == null || !authentication.isAuthenticated()
                 || !(authentication.getPrincipal() instanceof CustomUser)) {
             return ResponseEntity.status(401).body(Map.of("error", "로그인이 필요합니다."));
@@ -67,54 +64,23 @@ public class MypageController {
         }
 
         int mbNum = member.getMb_num();
-        String mbNumStr = String.valueOf(mbNum);
-
-        List<Map<String, Object>> combined = new ArrayList<>();
-
-        try {
-            List<Map<String, Object>> rec = recommendPostService.searchPosts("author", mbNumStr);
-            for (Map<String, Object> p : rec) {
-                p.put("boardType", "recommend");
-                p.put("boardName", "여행 추천");
-                combined.add(p);
+        if (cursor != null || size != null) {
+            try {
+                return ResponseEntity.ok(myActivityService.getMyPostsPage(mbNum, cursor, size));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
             }
-        } catch (Exception e) {}
-
-        try {
-            List<Map<String, Object>> review = reviewPostService.searchPosts("author", mbNumStr);
-            for (Map<String, Object> p : review) {
-                p.put("boardType", "reviewboard");
-                p.put("boardName", "여행 후기");
-                combined.add(p);
-            }
-        } catch (Exception e) {}
-
-        try {
-            List<Map<String, Object>> freeAll = freePostService.getRealAllPosts();
-            List<Map<String, Object>> free = freeAll.stream()
-                    .filter(p -> mbNum == (p.get("poMbNum") != null ? ((Number) p.get("poMbNum")).intValue() : -1))
-                    .peek(p -> {
-                        p.put("boardType", "freeboard");
-                        p.put("boardName", "자유 게시판");
-                    })
-                    .collect(Collectors.toList());
-            combined.addAll(free);
-        } catch (Exception e) {}
-
-        combined.sort((a, b) -> {
-            Object da = a.get("poDate");
-            Object db = b.get("poDate");
-            if (da == null && db == null) return 0;
-            if (da == null) return 1;
-            if (db == null) return -1;
-            return String.valueOf(db).compareTo(String.valueOf(da));
-        });
-
-        return ResponseEntity.ok(combined);
+        }
+        return ResponseEntity.ok(myActivityService.getMyPosts(mbNum));
     }
 
+    /**
+     * 🚩 즐겨찾기 목록: 기본은 최근 5건, after 또는 size 가 있으면 커서 페이징
+     */
     @GetMapping("/bookmarks")
-    public ResponseEntity<?> getBookmarks(Authentication authentication) {
+    public ResponseEntity<?> getBookmarks(Authentication authentication,
+                                          @RequestParam(value = "after", required = false) Integer after,
+                                          @RequestParam(value = "size", required = false) Integer size) {
         if (authentication == null || !authentication.isAuthenticated()
                 || !(authentication.getPrincipal() instanceof CustomUser)) {
             return ResponseEntity.status(401).body(Map.of("error", "로그인이 필요합니다."));
@@ -125,21 +91,10 @@ public class MypageController {
         }
 
         int mbNum = member.getMb_num();
-        // 🚩 BookMark 클래스 사용
-        List<BookMark> list = bookmarkRepository.findByBmMbNumOrderByBmNumDesc(mbNum);
-        List<Map<String, Object>> result = new ArrayList<>();
-        int limit = 5;
-        for (BookMark b : list) {
-            if (result.size() >= limit) break;
-            String title = resolvePostTitle(b.getBmPoType(), b.getBmPoNum());
-            Map<String, Object> m = new HashMap<>();
-            m.put("bmNum", b.getBmNum());
-            m.put("boardType", b.getBmPoType());
-            m.put("poNum", b.getBmPoNum());
-            m.put("poTitle", title != null ? title : "(삭제된 글)");
-            result.add(m);
+        if (after != null || size != null) {
+            return ResponseEntity.ok(bookMarkFeedService.getPage(mbNum, after, size));
         }
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok(bookMarkFeedService.getRecent(mbNum, RECENT_BOOKMARKS));
     }
 
     @GetMapping("/reports")
@@ -181,25 +136,6 @@ public class MypageController {
         return updated > 0 ? ResponseEntity.ok(Map.of("msg", "확인됨")) : ResponseEntity.notFound().build();
     }
 
-    private String resolvePostTitle(String poType, Integer poNum) {
-        if (poNum == null) return null;
-        try {
-            if ("recommend".equals(poType)) {
-                Optional<RecommendPost> opt = recommendRepository.findByPoNumAndPoDel(poNum, "N");
-                return opt.map(RecommendPost::getPoTitle).orElse(null);
-            }
-            if ("reviewboard".equals(poType)) {
-                Optional<ReviewPost> opt = reviewRepository.findByPoNumAndPoDel(poNum, "N");
-                return opt.map(ReviewPost::getPoTitle).orElse(null);
-            }
-            if ("freeboard".equals(poType)) {
-                Optional<FreePost> opt = freeRepository.findByPoNumAndPoDel(poNum, "N");
-                return opt.map(FreePost::getPoTitle).orElse(null);
-            }
-        } catch (Exception e) {}
-        return null;
-    }
-
     @PostMapping("/bookmarks")
     public ResponseEntity<?> addBookmark(@RequestBody Map<String, Object> body, Authentication authentication) {
         if (authentication == null || !authentication.isAuthenticated()
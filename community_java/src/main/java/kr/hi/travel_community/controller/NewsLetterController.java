@@ -27,13 +27,34 @@ public class NewsLetterController {
      * 🚩 뉴스레터 목록 조회 (유저/관리자 공용)
      */
     @GetMapping("/posts")
-    public List<Map<String, Object>> getList(
+    public ResponseEntity<?> getList(
             @RequestParam(value = "type", required = false) String type,
-            @RequestParam(value = "keyword", required = false) String keyword) {
+            @RequestParam(value = "keyword", required = false) String keyword,
+            @RequestParam(value = "after", required = false) Integer after,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "page", required = false) Integer page) {
         if (type != null && keyword != null && !keyword.trim().isEmpty()) {
-            return newsLetterService.searchPosts(type, keyword);
+            // 🚩 page/size 가 있으면 관련도순 페이지 단위로 반환
+            if (page != null || size != null) {
+                return ResponseEntity.ok(newsLetterService.searchPostsPage(type, keyword, page, size));
+            }
+            return ResponseEntity.ok(newsLetterService.searchPosts(type, keyword));
+        }
+        // 🚩 커서 페이징 요청
+        if (after != null || size != null) {
+            return ResponseEntity.ok(newsLetterService.getPostsAfter(after, size));
         }
-        return newsLetterService.getRealAllPosts();
+        return ResponseEntity.ok(newsLetterService.getRealAllPosts());
+    }
+
+    /**
+     * 🚩 작성자별 글 목록 (커서 페이징): ?after=<마지막 글 번호>&size=N
+     */
+    @GetMapping("/posts/author/{mbNum}")
+    public ResponseEntity<?> getPostsByAuthor(@PathVariable("mbNum") Integer mbNum,
+                                              @RequestParam(value = "after", required = false) Integer after,
+                                              @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(newsLetterService.getPostsByAuthor(mbNum, after, size));
     }
 
     /**
@@ -23,10 +23,24 @@ public class NoticeBoardController {
 
     private final NoticeBoardService noticePostService;
 
-    // 🚩 공지사항 전체 목록 조회
+    // 🚩 공지사항 전체 목록 조회 (?after=<nnNum>&size=N 이면 커서 페이징)
     @GetMapping("/posts")
-    public List<Map<String, Object>> getAllPosts() {
-        return noticePostService.getRealAllPosts();
+    public ResponseEntity<?> getAllPosts(@RequestParam(value = "after", required = false) Integer after,
+                                         @RequestParam(value = "size", required = false) Integer size) {
+        if (after != null || size != null) {
+            return ResponseEntity.ok(noticePostService.getPostsAfter(after, size));
+        }
+        return ResponseEntity.ok(noticePostService.getRealAllPosts());
+    }
+
+    /**
+     * 🚩 작성자별 글 목록 (커서 페이징): ?after=<마지막 글 번호>&size=N
+     */
+    @GetMapping("/posts/author/{mbNum}")
+    public ResponseEntity<?> getPostsByAuthor(@PathVariable("mbNum") Integer mbNum,
+                                              @RequestParam(value = "after", required = false) Integer after,
+                                              @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(noticePostService.getPostsByAuthor(mbNum, after, size));
     }
 
     // 🚩 공지사항 상세 조회 (조회수 증가 포함)
@@ -30,18 +30,40 @@ public class RecommendController {
      * 🚩 전체 게시글 조회 (검색 기능 포함)
      */
     @GetMapping("/posts/all")
-    public ResponseEntity<List<Map<String, Object>>> getRealAllPosts(
+    public ResponseEntity<?> getRealAllPosts(
             @RequestParam(value = "type", required = false) String type,
-            @RequestParam(value = "keyword", required = false) String keyword) {
+            @RequestParam(value = "keyword", required = false) String keyword,
+            @RequestParam(value = "after", required = false) Integer after,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "page", required = false) Integer page) {
         
         if (type != null && keyword != null && !keyword.trim().isEmpty()) {
             System.out.println("🚩 검색 요청 실행 -> 타입: " + type + ", 키워드: " + keyword);
+            // 🚩 page/size 가 있으면 관련도순 페이지 단위로 반환
+            if (page != null || size != null) {
+                return ResponseEntity.ok(recommendPostService.searchPostsPage(type, keyword, page, size));
+            }
             return ResponseEntity.ok(recommendPostService.searchPosts(type, keyword));
         }
+
+        // 🚩 커서 페이징 요청(?after=&size=)이면 해당 페이지만 조회
+        if (after != null || size != null) {
+            return ResponseEntity.ok(recommendPostService.getPostsAfter(after, size));
+        }
         
         return ResponseEntity.ok(recommendPostService.getRealAllPosts()); 
     }
 
+    /**
+     * 🚩 작성자별 글 목록 (커서 페이징): ?after=<마지막 글 번호>&size=N
+     */
+    @GetMapping("/posts/author/{mbNum}")
+    public ResponseEntity<?> getPostsByAuthor(@PathVariable("mbNum") Integer mbNum,
+                                              @RequestParam(value = "after", required = false) Integer after,
+                                              @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(recommendPostService.getPostsByAuthor(mbNum, after, size));
+    }
+
     /**
      * 🚩 상세 페이지 조회 및 조회수 처리
      * [수정] Authentication 객체를 추가하여 로그인 유저의 mbNum과 Role을 정확히 판단합니다.
@@ -0,0 +1,82 @@
+package kr.hi.travel_community.controller;
+
+import kr.hi.travel_community.search.UnifiedSearchService;
+import kr.hi.travel_community.utill.KeysetPage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000"}, allowCredentials = "true")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private static final long STREAM_TIMEOUT_MS = 10_000L;
+
+    private final UnifiedSearchService unifiedSearchService;
+
+    /**
+     * 🚩 전체 게시판 통합 검색
+     * sort: score(관련도순, 기본) | date(최신순)
+     */
+    @GetMapping
+    public ResponseEntity<?> search(@RequestParam(value = "keyword", required = false) String keyword,
+                                    @RequestParam(value = "sort", defaultValue = "score") String sort,
+                                    @RequestParam(value = "limit", required = false) Integer limit) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "검색어를 입력해주세요."));
+        }
+        return ResponseEntity.ok(unifiedSearchService.search(keyword.trim(), sort, KeysetPage.normalizeSize(limit)));
+    }
+
+    /**
+     * 🚩 통합 검색 스트리밍 (SSE)
+     * 게시판 하나가 끝날 때마다 "board" 이벤트로 먼저 보내고, 마지막에 병합 결과를 "done" 이벤트로 보냅니다.
+     */
+    @GetMapping("/stream")
+    public SseEmitter stream(@RequestParam(value = "keyword") String keyword,
+                             @RequestParam(value = "sort", defaultValue = "score") String sort,
+                             @RequestParam(value = "limit", required = false) Integer limit) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        if (keyword == null || keyword.trim().isEmpty()) {
+            emitter.completeWithError(new IllegalArgumentException("검색어를 입력해주세요."));
+            return emitter;
+        }
+
+        String trimmed = keyword.trim();
+        int size = KeysetPage.normalizeSize(limit);
+        Thread.ofVirtual().name("search-stream").start(() -> {
+            try {
+                Map<String, Object> result = unifiedSearchService.search(trimmed, sort, size, (board, hits) -> {
+                    Map<String, Object> event = new HashMap<>();
+                    event.put("board", board.name());
+                    event.put("results", hits.stream().map(UnifiedSearchService.Hit::toMap).collect(Collectors.toList()));
+                    send(emitter, "board", event);
+                });
+                send(emitter, "done", result);
+                emitter.complete();
+            } catch (Exception e) {
+                log.warn("통합 검색 스트리밍 실패: {}", e.getMessage());
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 먼저 끊은 경우: 남은 결과는 버림
+            log.debug("통합 검색 스트림 전송 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package kr.hi.travel_community.dao;
+
+import java.util.Map;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 🚩 프로필 사진 저장 테이블 (member_avatar)
+ * member 행에는 버전(mb_photo_ver)만 두고, 이미지 바이트는 이 테이블에서만 읽습니다.
+ */
+@Mapper
+public interface AvatarDAO {
+
+    // 프로필 사진 조회: { avVer, avType, avData } (없으면 null)
+    Map<String, Object> selectAvatar(@Param("mbNum") int mbNum);
+
+    // 목록/댓글용 작은 사진 조회: { avVer, avSmall } (정규화 이전 사진은 avSmall 이 null)
+    Map<String, Object> selectAvatarSmall(@Param("mbNum") int mbNum);
+
+    // 프로필 사진 저장 (있으면 교체)
+    int upsertAvatar(@Param("mbNum") int mbNum, @Param("ver") int ver,
+                     @Param("type") String type, @Param("data") byte[] data,
+                     @Param("small") byte[] small);
+
+    // 회원 탈퇴 시 삭제
+    int deleteAvatar(@Param("mbNum") int mbNum);
+}
@@ -1,7 +1,5 @@
 package kr.hi.travel_community.dao;
 
-import java.util.Map;
-
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import kr.hi.travel_community.model.dto.LoginDTO;
@@ -49,12 +47,8 @@ public interface MemberDAO {
     // ✅ 닉네임 변경
     int updateNicknameById(@Param("id") String id, @Param("nickname") String nickname);
 
-    // ✅ 프로필 사진 변경 (DB BLOB 저장)
-    int updatePhotoBlobById(@Param("id") String id, @Param("photoData") byte[] photoData,
-            @Param("photoType") String photoType, @Param("photoVer") int photoVer);
-
-    // 프로필 사진 조회 (이미지 서빙)
-    Map<String, Object> selectPhotoByMemberId(@Param("id") String id);
+    // ✅ 프로필 사진 버전 변경 (이미지는 member_avatar 테이블, AvatarDAO)
+    int updatePhotoVerById(@Param("id") String id, @Param("photoVer") int photoVer);
 
     // ✅ 회원 탈퇴
     int deleteMemberById(@Param("id") String id);
@@ -39,7 +39,8 @@ public class Event {
      * 🚩 이미지 파일명 저장 필드
      * 여러 장의 UUID 파일명을 저장하기 위해 길이를 1000으로 설정했습니다.
      */
-    @Column(name = "po_img", length = 1000)
+    // 🚩 글 저장 후에는 MediaStore 가 JDBC 로만 갱신 (엔티티 save 가 최신 이미지 목록을 덮어쓰지 않도록)
+    @Column(name = "po_img", length = 1000, updatable = false)
     private String poImg; // 이미지 파일명들 (콤마로 구분하여 저장)
 
     @Column(name = "po_date")
@@ -55,7 +55,8 @@ public class FreePost {
     /**
      * [유지] DB 컬럼명은 po_img, 자바 필드명은 서비스와 호환되는 fileUrl
      */
-    @Column(name = "po_img", length = 1000)
+    // 🚩 글 저장 후에는 MediaStore 가 JDBC 로만 갱신 (엔티티 save 가 최신 이미지 목록을 덮어쓰지 않도록)
+    @Column(name = "po_img", length = 1000, updatable = false)
     private String fileUrl;
 
     /**
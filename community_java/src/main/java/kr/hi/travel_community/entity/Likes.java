@@ -23,6 +23,10 @@ public class Likes {
     @Column(nullable = false)
     private Integer liId;
 
+    // 게시판 구분 (BoardType 이름: RECOMMEND, FREE, EVENT ...)
+    @Column(nullable = false, length = 20)
+    private String liBoard;
+
     @Column(nullable = false, length = 10)
     private String liName;
 
@@ -36,6 +36,9 @@ public class Member {
     @Column(length = 100)
     private String mbPhoto;
 
+    // 프로필 사진 버전 (사진 바이트는 member_avatar 테이블)
+    private Integer mbPhotoVer;
+
     @Column(nullable = false, length = 1)
     private String mbAgree = "N";
 }
\ No newline at end of file
@@ -33,7 +33,8 @@ public class NewsLetter {
      * 서비스에서 생성되는 UUID 파일명들이 콤마(,)로 구분되어 저장되므로 
      * 넉넉하게 1000자로 설정했습니다.
      */
-    @Column(name = "po_img", length = 1000)
+    // 🚩 글 저장 후에는 MediaStore 가 JDBC 로만 갱신 (엔티티 save 가 최신 이미지 목록을 덮어쓰지 않도록)
+    @Column(name = "po_img", length = 1000, updatable = false)
     private String poImg; // 이미지 파일명들
 
     @Column(name = "po_date")
@@ -27,7 +27,8 @@ public class RecommendPost {
     /**
      * 🚩 [유지] po_img: 서버 외부 폴더에 저장된 파일명들을 보관 (최대 1000자)
      */
-    @Column(name = "po_img", length = 1000)
+    // 🚩 글 저장 후에는 MediaStore 가 JDBC 로만 갱신 (엔티티 save 가 최신 이미지 목록을 덮어쓰지 않도록)
+    @Column(name = "po_img", length = 1000, updatable = false)
     private String poImg;
 
     @Column(name = "po_date", nullable = false, updatable = false)
@@ -1,27 +1,44 @@
 package kr.hi.travel_community.mapper;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import kr.hi.travel_community.model.util.BoardType;
+
+/**
+ * 🚩 likes 테이블: (회원, 게시판, 종류(post/scrap), 글 번호) 당 1행
+ * uk_likes_member_board (li_mb_num, li_board, li_name, li_id) 유니크 인덱스로 단건 확인과 목록 일괄 확인을 모두 처리합니다.
+ */
 @Mapper
 public interface LikeMapper {
     // 🚩 추천(Like) 관련
-    // 추천 여부 확인
-    int checkLikeStatus(@Param("poNum") Integer poNum, @Param("mbNum") Integer mbNum);
+    // 추천 여부 확인 (있으면 1, 없으면 0)
+    int checkLikeStatus(@Param("board") BoardType board, @Param("poNum") Integer poNum, @Param("mbNum") Integer mbNum);
 
-    // 추천 로그 추가 (li_id에 poNum이 들어감)
-    void insertLikeLog(@Param("poNum") Integer poNum, @Param("mbNum") Integer mbNum);
+    // 추천 로그 추가 (li_id에 poNum이 들어감) - 이미 있으면 무시, 추가된 행 수 반환
+    int insertLikeLog(@Param("board") BoardType board, @Param("poNum") Integer poNum, @Param("mbNum") Integer mbNum);
 
-    // 추천 로그 삭제
-    void deleteLikeLog(@Param("poNum") Integer poNum, @Param("mbNum") Integer mbNum);
+    // 추천 로그 삭제 - 삭제된 행 수 반환
+    int deleteLikeLog(@Param("board") BoardType board, @Param("poNum") Integer poNum, @Param("mbNum") Integer mbNum);
+
+    // 목록 한 페이지의 글 중 이 회원이 추천한 글 번호 (한 번의 쿼리)
+    List<Integer> findLikedPostNums(@Param("board") BoardType board, @Param("mbNum") Integer mbNum,
+                                    @Param("poNums") Collection<Integer> poNums);
 
     // 🚩 즐겨찾기(Scrap) 관련 추가
-    // 즐겨찾기 여부 확인
-    int checkScrapStatus(@Param("poNum") Integer poNum, @Param("mbNum") Integer mbNum);
+    // 즐겨찾기 여부 확인 (있으면 1, 없으면 0)
+    int checkScrapStatus(@Param("board") BoardType board, @Param("poNum") Integer poNum, @Param("mbNum") Integer mbNum);
 
-    // 즐겨찾기 로그 추가
-    void insertScrapLog(@Param("poNum") Integer poNum, @Param("mbNum") Integer mbNum);
+    // 즐겨찾기 로그 추가 - 이미 있으면 무시
+    void insertScrapLog(@Param("board") BoardType board, @Param("poNum") Integer poNum, @Param("mbNum") Integer mbNum);
 
     // 즐겨찾기 로그 삭제
-    void deleteScrapLog(@Param("poNum") Integer poNum, @Param("mbNum") Integer mbNum);
-}
\ No newline at end of file
+    void deleteScrapLog(@Param("board") BoardType board, @Param("poNum") Integer poNum, @Param("mbNum") Integer mbNum);
+
+    // 목록 한 페이지의 글 중 이 회원이 즐겨찾기한 글 번호 (한 번의 쿼리)
+    List<Integer> findScrappedPostNums(@Param("board") BoardType board, @Param("mbNum") Integer mbNum,
+                                       @Param("poNums") Collection<Integer> poNums);
+}
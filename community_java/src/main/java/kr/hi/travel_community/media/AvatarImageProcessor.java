@@ -0,0 +1,203 @@
+package kr.hi.travel_community.media;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.stereotype.Component;
+import org.w3c.dom.NodeList;
+
+/**
+ * 🚩 프로필 사진 정규화 (업로드 시 1회)
+ * - 업로드 스트림에서 바로 디코딩하되, 목표 크기의 2배 정도가 되도록 건너뛰며 읽어 원본 전체를 메모리에 풀지 않습니다.
+ * - 가운데를 정사각형으로 잘라 LARGE(프로필 화면) / SMALL(목록·댓글) 두 크기의 JPEG 로 다시 저장합니다.
+ * - 다시 저장하면서 EXIF/GPS 등 메타데이터는 모두 빠지므로, 그 전에 EXIF 방향(Orientation)대로 돌려 둡니다.
+ *   투명 배경은 흰색으로 채웁니다.
+ */
+@Component
+public class AvatarImageProcessor {
+
+    public static final int LARGE = 512;
+    public static final int SMALL = 128;
+
+    private static final float JPEG_QUALITY = 0.85f;
+    private static final String JPEG_METADATA = "javax_imageio_jpeg_image_1.0";
+    /** 헤더에 적힌 크기로 거르는 압축 폭탄 방지선 (가로 x 세로) */
+    private static final long MAX_PIXELS = 100_000_000L;
+
+    /** 정규화된 프로필 사진 (둘 다 image/jpeg) */
+    public record Encoded(byte[] large, byte[] small) {}
+
+    /**
+     * 이미지 스트림 → 정사각형 JPEG 두 크기. 읽을 수 없는 이미지면 null
+     */
+    public Encoded encode(InputStream in) throws IOException {
+        BufferedImage square = decodeSquare(in);
+        if (square == null) return null;
+        byte[] large = toJpeg(scale(square, Math.min(LARGE, square.getWidth())));
+        byte[] small = toJpeg(scale(square, Math.min(SMALL, square.getWidth())));
+        return new Encoded(large, small);
+    }
+
+    /**
+     * 가운데 정사각형 영역만, 한 변이 LARGE 의 2배 이상이 되는 범위에서 건너뛰며 디코딩
+     */
+    private static BufferedImage decodeSquare(InputStream source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source)) {
+            if (in == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                // 메타데이터는 EXIF 방향(Orientation)을 읽기 위해서만 사용 (다시 저장할 때는 모두 버림)
+                reader.setInput(in, true, false);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width <= 0 || height <= 0 || (long) width * height > MAX_PIXELS) return null;
+
+                int side = Math.min(width, height);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceRegion(new Rectangle((width - side) / 2, (height - side) / 2, side, side));
+                int step = Math.max(1, side / (LARGE * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage image = reader.read(0, param);
+                if (image == null) return null;
+
+                // 건너뛰며 읽으면 1px 차이가 날 수 있으므로 짧은 변 기준으로 다시 맞춤
+                int s = Math.min(image.getWidth(), image.getHeight());
+                BufferedImage square = image.getWidth() == s && image.getHeight() == s ? image : image.getSubimage(0, 0, s, s);
+                // 가운데 정사각형이므로 잘라낸 뒤 돌려도 돌린 뒤 자른 것과 같음
+                return orient(square, exifOrientation(reader));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * JPEG APP1(Exif) 의 IFD0 에서 Orientation(0x0112) 값. 없거나 읽을 수 없으면 1(그대로)
+     */
+    private static int exifOrientation(ImageReader reader) {
+        try {
+            IIOMetadata metadata = reader.getImageMetadata(0);
+            if (metadata == null || !Arrays.asList(metadata.getMetadataFormatNames()).contains(JPEG_METADATA)) return 1;
+            NodeList markers = ((IIOMetadataNode) metadata.getAsTree(JPEG_METADATA)).getElementsByTagName("unknown");
+            for (int i = 0; i < markers.getLength(); i++) {
+                IIOMetadataNode marker = (IIOMetadataNode) markers.item(i);
+                if ("225".equals(marker.getAttribute("MarkerTag")) && marker.getUserObject() instanceof byte[] app1) {
+                    int orientation = tiffOrientation(app1);
+                    if (orientation > 0) return orientation;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // 메타데이터가 깨져 있으면 방향 보정 없이 진행
+        }
+        return 1;
+    }
+
+    private static int tiffOrientation(byte[] app1) {
+        // "Exif\0\0" + TIFF 헤더(바이트 순서 2 + 42 + IFD0 위치 4)
+        if (app1.length < 14 || app1[0] != 'E' || app1[1] != 'x' || app1[2] != 'i' || app1[3] != 'f') return 0;
+        ByteBuffer tiff = ByteBuffer.wrap(app1, 6, app1.length - 6).slice();
+        tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        int ifd = tiff.getInt(4);
+        if (ifd < 8 || ifd + 2 > tiff.limit()) return 0;
+        int entries = tiff.getShort(ifd) & 0xFFFF;
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > tiff.limit()) break;
+            if ((tiff.getShort(entry) & 0xFFFF) == 0x0112) {
+                int value = tiff.getShort(entry + 8) & 0xFFFF;
+                return value >= 1 && value <= 8 ? value : 0;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * EXIF 방향대로 정사각형을 돌리거나 뒤집음 (2~8, 휴대폰 세로 사진은 보통 6)
+     */
+    private static BufferedImage orient(BufferedImage square, int orientation) {
+        int n = square.getWidth();
+        AffineTransform t;
+        switch (orientation) {
+            case 2: t = new AffineTransform(-1, 0, 0, 1, n, 0); break;  // 좌우 반전
+            case 3: t = new AffineTransform(-1, 0, 0, -1, n, n); break; // 180도
+            case 4: t = new AffineTransform(1, 0, 0, -1, 0, n); break;  // 상하 반전
+            case 5: t = new AffineTransform(0, 1, 1, 0, 0, 0); break;   // 대각선 반전
+            case 6: t = new AffineTransform(0, 1, -1, 0, n, 0); break;  // 시계 방향 90도
+            case 7: t = new AffineTransform(0, -1, -1, 0, n, n); break; // 반대 대각선 반전
+            case 8: t = new AffineTransform(0, -1, 1, 0, 0, n); break;  // 반시계 방향 90도
+            default: return square;
+        }
+        BufferedImage oriented = new BufferedImage(n, n, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = oriented.createGraphics();
+        try {
+            g.drawImage(square, t, null);
+        } finally {
+            g.dispose();
+        }
+        return oriented;
+    }
+
+    /**
+     * 절반씩 줄이다가 마지막에 목표 크기로 맞춤 (RGB, 투명 영역은 흰색)
+     */
+    private static BufferedImage scale(BufferedImage image, int size) {
+        BufferedImage current = image;
+        int s = image.getWidth();
+        do {
+            s = Math.max(size, s / 2);
+            BufferedImage next = new BufferedImage(s, s, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, s, s, Color.WHITE, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (s > size);
+        return current;
+    }
+
+    private static byte[] toJpeg(BufferedImage image) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) throw new IOException("JPEG 인코더를 찾을 수 없습니다.");
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 * 1024);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            // 메타데이터 없이 픽셀만 저장
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
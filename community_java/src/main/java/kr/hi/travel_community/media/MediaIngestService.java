@@ -0,0 +1,240 @@
+package kr.hi.travel_community.media;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import jakarta.annotation.PreDestroy;
+import kr.hi.travel_community.media.MediaStore.MediaInfo;
+import kr.hi.travel_community.media.MediaStore.StagedFile;
+import kr.hi.travel_community.model.util.BoardType;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 🚩 게시글 이미지 업로드 공통 처리
+ * 1) stage(): 요청 스레드에서 업로드를 업로드 폴더 아래 .staging/ 임시 파일로 바로 흘려 쓰면서 SHA-256 을 계산합니다.
+ *    (FileChannel.transferFrom, 저장될 파일명은 "<sha256><확장자>")
+ * 2) 서비스가 게시글 행을 먼저 저장한 뒤 publish() 를 호출하면, 커밋 이후 작업 스레드(개수·대기열 제한)가
+ *    MediaStore 에 파일을 넣고(같은 내용이 이미 있으면 참조만 추가) po_img 를 갱신한 다음 폭별 사본(ThumbnailService)을 만듭니다.
+ * - 디스크 이동/메타데이터 확인이 DB 트랜잭션 밖에서 처리되므로, 디스크가 느려도 DB 커넥션을 붙잡지 않습니다.
+ * - 작업 대기열이 가득 차면 호출 스레드가 직접 처리합니다. (업로드 유실 없음)
+ * - /pic/{폭}/ 첫 요청 때 없는 사본도 같은 작업 스레드에서 만듭니다. (requestVariant, 같은 사본은 한 번만)
+ */
+@Service
+@Slf4j
+public class MediaIngestService {
+
+    /**
+     * 임시 파일로 받아 둔 업로드 묶음
+     * - publish() 로 넘기지 않은 경우 discard() 로 임시 파일을 지웁니다.
+     */
+    public static final class Staged {
+        private final List<StagedFile> files = new ArrayList<>();
+
+        public boolean isEmpty() { return files.isEmpty(); }
+
+        public void discard() {
+            for (StagedFile file : files) {
+                try {
+                    Files.deleteIfExists(file.temp());
+                } catch (IOException e) {
+                    log.warn("임시 업로드 파일 삭제 실패: {}", file.temp());
+                }
+            }
+            files.clear();
+        }
+    }
+
+    private final MediaStore mediaStore;
+    private final ThumbnailService thumbnailService;
+    private final Path stagingDir;
+    private final ThreadPoolExecutor workers;
+
+    /** 같은 글에 이미지가 연달아 올라온 경우 마지막 요청만 po_img 에 반영하기 위한 순번 */
+    private final Map<String, Long> latest = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    /** 생성 대기/진행 중인 폭별 사본 ("폭/파일명") */
+    private final Set<String> pendingVariants = ConcurrentHashMap.newKeySet();
+
+    public MediaIngestService(MediaStore mediaStore,
+                              ThumbnailService thumbnailService,
+                              @Value("${file.upload-dir:C:/travel_contents/uploads/pic/}") String uploadRoot,
+                              @Value("${media.ingest.workers:2}") int workerCount,
+                              @Value("${media.ingest.queue:200}") int queueSize) {
+        this.mediaStore = mediaStore;
+        this.thumbnailService = thumbnailService;
+        this.stagingDir = Paths.get(uploadRoot.replace("\\", "/")).resolve(".staging");
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+                r -> {
+                    Thread t = new Thread(r, "media-ingest");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        // requestVariant 가 대기열에 직접 넣으므로 작업 스레드를 미리 띄워 둠
+        this.workers.prestartAllCoreThreads();
+    }
+
+    /**
+     * 업로드를 임시 파일로 스트리밍 (DB 트랜잭션 시작 전에 호출)
+     */
+    public Staged stage(List<MultipartFile> images) throws IOException {
+        Staged staged = new Staged();
+        if (images == null || images.isEmpty()) return staged;
+
+        Files.createDirectories(stagingDir);
+        try {
+            for (MultipartFile file : images) {
+                if (file == null || file.isEmpty()) continue;
+                String extension = extensionOf(file.getOriginalFilename());
+                Path temp = stagingDir.resolve(UUID.randomUUID() + ".tmp");
+                MessageDigest digest = sha256();
+                try (InputStream in = new DigestInputStream(file.getInputStream(), digest);
+                     ReadableByteChannel src = Channels.newChannel(in);
+                     FileChannel dst = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                    staged.files.add(new StagedFile(temp, null));
+                    long position = 0;
+                    long size = file.getSize();
+                    // transferFrom 은 요청보다 적게 옮길 수 있으므로 끝까지 반복
+                    while (true) {
+                        long moved = dst.transferFrom(src, position, Math.max(size - position, 64 * 1024));
+                        if (moved <= 0) break;
+                        position += moved;
+                    }
+                }
+                // 다 받은 뒤 내용 주소 이름 확정
+                staged.files.set(staged.files.size() - 1,
+                        new StagedFile(temp, HexFormat.of().formatHex(digest.digest()) + extension));
+            }
+        } catch (IOException e) {
+            staged.discard();
+            throw e;
+        }
+        return staged;
+    }
+
+    /**
+     * 게시글 행 저장 후 호출: 커밋되면 작업 스레드에서 파일 이동 → po_img 갱신
+     * (트랜잭션 밖에서 호출되면 바로 작업 대기열에 넣고, 롤백되면 임시 파일을 지웁니다.)
+     */
+    public void publish(BoardType board, Integer poNum, Staged staged) {
+        if (staged == null || staged.isEmpty()) return;
+        List<StagedFile> files = new ArrayList<>(staged.files);
+        staged.files.clear();
+
+        String key = board.name() + ":" + poNum;
+        long seq = sequence.incrementAndGet();
+        Runnable dispatch = () -> {
+            latest.put(key, seq);
+            workers.execute(() -> process(board, poNum, files, key, seq));
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        dispatch.run();
+                    } else {
+                        Staged rolledBack = new Staged();
+                        rolledBack.files.addAll(files);
+                        rolledBack.discard();
+                    }
+                }
+            });
+        } else {
+            dispatch.run();
+        }
+    }
+
+    private void process(BoardType board, Integer poNum, List<StagedFile> files, String key, long seq) {
+        // 더 나중 요청이 이미 들어왔으면 참조/po_img 는 그 요청이 갱신
+        boolean current = latest.remove(key, seq);
+        for (MediaInfo info : mediaStore.store(board, poNum, files, current)) {
+            log.debug("이미지 저장 ({} {}): {} {}bytes {}x{}", board, poNum, info.name(), info.bytes(), info.width(), info.height());
+            // 🚩 목록 카드용 폭별 사본을 미리 생성 (/pic/{폭}/{파일명}, 이미 있으면 건너뜀)
+            if (current && info.width() > 0) thumbnailService.generateAll(info.name());
+        }
+    }
+
+    /**
+     * 🚩 없는 폭별 사본을 작업 스레드에 맡김 (요청 스레드에서 디코딩하지 않음)
+     * - 같은 사본이 이미 대기/생성 중이면 다시 넣지 않습니다.
+     * - 대기열이 가득 차면 호출 스레드에서 대신 처리하지 않고 건너뜁니다. (이번 요청은 원본, 다음 요청 때 다시 시도)
+     */
+    public void requestVariant(int width, String name) {
+        String key = width + "/" + name;
+        if (!pendingVariants.add(key)) return;
+
+        Runnable task = () -> {
+            try {
+                thumbnailService.variant(width, name);
+            } catch (IOException e) {
+                log.warn("썸네일 생성 실패 ({}px {}): {}", width, name, e.getMessage());
+            } finally {
+                pendingVariants.remove(key);
+            }
+        };
+        if (workers.isShutdown() || !workers.getQueue().offer(task)) {
+            pendingVariants.remove(key);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String extensionOf(String originalFileName) {
+        if (originalFileName == null) return "";
+        int dot = originalFileName.lastIndexOf('.');
+        if (dot < 0) return "";
+        String ext = originalFileName.substring(dot);
+        // 파일명 조작(경로 문자 포함) 방지, 같은 내용이면 같은 이름이 되도록 소문자로 통일
+        return ext.matches("\\.[A-Za-z0-9]{1,10}") ? ext.toLowerCase(Locale.ROOT) : "";
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("이미지 처리 대기 작업이 남은 채로 종료합니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
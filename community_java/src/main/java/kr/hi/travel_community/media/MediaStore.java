@@ -0,0 +1,249 @@
+package kr.hi.travel_community.media;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import kr.hi.travel_community.cache.DetailCache;
+import kr.hi.travel_community.model.util.BoardType;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 🚩 내용 주소(SHA-256) 기반 이미지 저장소
+ * - 파일은 "<sha256><확장자>" 이름으로 업로드 폴더에 한 번만 저장합니다. (같은 파일을 다시 올리면 파일 쓰기 없이 참조만 추가)
+ * - media_blob: 저장된 파일 1건당 1행 (크기, 가로/세로)
+ * - media_ref : 게시글 → 파일 참조 ((게시판, 글 번호, 파일명) 유니크). 참조 행 수가 곧 참조 수입니다.
+ * - 글의 이미지가 바뀌어 더 이상 아무 글도 참조하지 않는 파일은 파일/사본/media_blob 행을 함께 지웁니다.
+ * - 잠금은 파일명별·글별 줄 잠금만 사용하므로 서로 다른 글/파일의 업로드는 동시에 처리됩니다.
+ *   (media_blob 에 없는 기존 UUID 이름 파일은 건드리지 않음)
+ */
+@Service
+@Slf4j
+public class MediaStore {
+
+    /** 이미지 파일 메타데이터 (가로/세로를 읽지 못한 파일은 0) */
+    public record MediaInfo(String name, long bytes, int width, int height) {}
+
+    /** 임시 파일과 저장될 내용 주소 이름 */
+    public record StagedFile(Path temp, String name) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DetailCache detailCache;
+    private final ThumbnailService thumbnailService;
+    private final Path uploadDir;
+
+    /** 잠금 줄 수 (파일명/글 키의 해시로 나눔) */
+    private static final int STRIPES = 64;
+
+    /**
+     * 파일명별·글별 잠금 (전체 공용 잠금 없음)
+     * - 파일명: 정리(collect) 중인 파일을 다른 글이 막 배치/참조하는 경합 방지
+     * - 글: 같은 글의 참조 교체 트랜잭션끼리 겹치지 않게
+     */
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    public MediaStore(JdbcTemplate jdbcTemplate,
+                      PlatformTransactionManager transactionManager,
+                      DetailCache detailCache,
+                      ThumbnailService thumbnailService,
+                      @Value("${file.upload-dir:C:/travel_contents/uploads/pic/}") String uploadRoot) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.detailCache = detailCache;
+        this.thumbnailService = thumbnailService;
+        this.uploadDir = Paths.get(uploadRoot.replace("\\", "/"));
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * 임시 파일을 저장소에 넣고, current 이면 글의 이미지 참조와 po_img 를 새 목록으로 교체
+     * (current 가 아니면 더 나중 요청이 반영할 것이므로 파일만 넣고, 참조되지 않은 파일은 바로 정리)
+     * @return 저장소에 들어간 파일 정보 (업로드 순서)
+     */
+    public List<MediaInfo> store(BoardType board, Integer poNum, List<StagedFile> files, boolean current) {
+        // 헤더 읽기는 임시 파일에서 잠금 없이 (같은 내용이면 결과도 같음)
+        List<StagedFile> placing = new ArrayList<>();
+        List<MediaInfo> inspected = new ArrayList<>();
+        for (StagedFile file : files) {
+            try {
+                inspected.add(inspect(file.temp(), file.name()));
+                placing.add(file);
+            } catch (IOException e) {
+                log.error("이미지 확인 실패 ({} {}): {}", board, poNum, e.getMessage());
+                discard(file);
+            }
+        }
+        if (placing.isEmpty()) return new ArrayList<>();
+
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(board.name() + ":" + poNum);
+        placing.forEach(file -> keys.add(file.name()));
+
+        List<MediaInfo> stored = new ArrayList<>();
+        Set<String> released = new LinkedHashSet<>();
+        List<ReentrantLock> held = lockAll(keys);
+        try {
+            for (int i = 0; i < placing.size(); i++) {
+                try {
+                    place(placing.get(i));
+                    stored.add(inspected.get(i));
+                } catch (IOException e) {
+                    log.error("이미지 저장 실패 ({} {}): {}", board, poNum, e.getMessage());
+                }
+            }
+            if (stored.isEmpty()) return stored;
+
+            List<String> names = stored.stream().map(MediaInfo::name).distinct().collect(Collectors.toList());
+            transactionTemplate.executeWithoutResult(status -> {
+                for (MediaInfo info : stored) {
+                    jdbcTemplate.update(
+                            "INSERT IGNORE INTO media_blob (bl_name, bl_bytes, bl_width, bl_height, bl_date) VALUES (?, ?, ?, ?, NOW())",
+                            info.name(), info.bytes(), info.width(), info.height());
+                }
+                if (current) {
+                    released.addAll(jdbcTemplate.queryForList(
+                            "SELECT mr_name FROM media_ref WHERE mr_board = ? AND mr_po_num = ?",
+                            String.class, board.name(), poNum));
+                    jdbcTemplate.update("DELETE FROM media_ref WHERE mr_board = ? AND mr_po_num = ?", board.name(), poNum);
+                    for (String name : names) {
+                        jdbcTemplate.update(
+                                "INSERT IGNORE INTO media_ref (mr_board, mr_po_num, mr_name) VALUES (?, ?, ?)",
+                                board.name(), poNum, name);
+                    }
+                    jdbcTemplate.update(
+                            "UPDATE " + board.getTable() + " SET " + board.getImgColumn() + " = ?"
+                                    + " WHERE " + board.getPkColumn() + " = ?",
+                            String.join(",", names), poNum);
+                    released.removeAll(names);
+                } else {
+                    released.addAll(names);
+                }
+            });
+            if (current) detailCache.evict(board, poNum);
+        } catch (RuntimeException e) {
+            log.error("이미지 참조 반영 실패 ({} {}): {}", board, poNum, e.getMessage());
+        } finally {
+            held.forEach(ReentrantLock::unlock);
+        }
+        // 정리는 파일명마다 따로 잠금 (이 글의 잠금을 쥔 채로 다른 파일을 기다리지 않음)
+        collect(released);
+        return stored;
+    }
+
+    /**
+     * 키들의 잠금을 줄 번호 순서로 획득 (여러 요청이 겹쳐도 교착 없음)
+     */
+    private List<ReentrantLock> lockAll(Set<String> keys) {
+        int[] order = keys.stream().mapToInt(MediaStore::stripeIndex).distinct().sorted().toArray();
+        List<ReentrantLock> held = new ArrayList<>(order.length);
+        for (int i : order) {
+            stripes[i].lock();
+            held.add(stripes[i]);
+        }
+        return held;
+    }
+
+    private ReentrantLock stripe(String key) {
+        return stripes[stripeIndex(key)];
+    }
+
+    private static int stripeIndex(String key) {
+        return Math.floorMod(key.hashCode(), STRIPES);
+    }
+
+    private static void discard(StagedFile file) {
+        try {
+            Files.deleteIfExists(file.temp());
+        } catch (IOException ignored) {
+            // 임시 폴더는 다음 정리 때 지워짐
+        }
+    }
+
+    /**
+     * 같은 내용의 파일이 이미 있으면 임시 파일만 지우고, 없으면 제자리로 이동
+     */
+    private void place(StagedFile file) throws IOException {
+        Path target = uploadDir.resolve(file.name());
+        if (Files.exists(target)) {
+            Files.deleteIfExists(file.temp());
+        } else {
+            try {
+                Files.move(file.temp(), target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(file.temp(), target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    /**
+     * 어떤 글도 참조하지 않는 파일 정리 (media_blob 행을 지운 경우에만 파일 삭제)
+     */
+    private void collect(Set<String> names) {
+        for (String name : names) {
+            ReentrantLock lock = stripe(name);
+            lock.lock();
+            try {
+                int removed = jdbcTemplate.update(
+                        "DELETE FROM media_blob WHERE bl_name = ? "
+                                + "AND NOT EXISTS (SELECT 1 FROM media_ref WHERE mr_name = ?)",
+                        name, name);
+                if (removed == 0) continue;
+                Files.deleteIfExists(uploadDir.resolve(name));
+                thumbnailService.deleteAll(name);
+                log.debug("참조가 없는 이미지 삭제: {}", name);
+            } catch (IOException | RuntimeException e) {
+                log.warn("미참조 이미지 정리 실패 ({}): {}", name, e.getMessage());
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 파일 크기와 가로/세로 (이미지 헤더만 읽고 전체 디코딩은 하지 않음)
+     */
+    private static MediaInfo inspect(Path file, String name) throws IOException {
+        long bytes = Files.size(file);
+        int width = 0;
+        int height = 0;
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers != null && readers.hasNext()) {
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(in, true, true);
+                    width = reader.getWidth(0);
+                    height = reader.getHeight(0);
+                } finally {
+                    reader.dispose();
+                }
+            }
+        } catch (IOException e) {
+            log.debug("이미지 메타데이터 확인 실패: {}", file.getFileName());
+        }
+        return new MediaInfo(name, bytes, width, height);
+    }
+}
@@ -0,0 +1,51 @@
+package kr.hi.travel_community.media;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 🚩 /pic/{폭}/{파일명} 요청을 폭별 사본으로 응답 (사본이 필요 없거나 아직 없으면 원본)
+ * - 사본이 없으면 요청 스레드에서 만들지 않고 MediaIngestService 작업 스레드에 맡긴 뒤 이번 요청은 원본으로 응답합니다.
+ */
+@Slf4j
+public class ThumbnailResourceResolver implements ResourceResolver {
+
+    private final ThumbnailService thumbnailService;
+    private final MediaIngestService mediaIngestService;
+    private final int width;
+
+    public ThumbnailResourceResolver(ThumbnailService thumbnailService, MediaIngestService mediaIngestService, int width) {
+        this.thumbnailService = thumbnailService;
+        this.mediaIngestService = mediaIngestService;
+        this.width = width;
+    }
+
+    @Override
+    public Resource resolveResource(HttpServletRequest request, String requestPath,
+                                    List<? extends Resource> locations, ResourceResolverChain chain) {
+        Path variant = thumbnailService.existing(width, requestPath);
+        if (variant != null) return new FileSystemResource(variant);
+        try {
+            if (thumbnailService.needsVariant(width, requestPath)) {
+                mediaIngestService.requestVariant(width, requestPath);
+            }
+        } catch (IOException e) {
+            log.warn("썸네일 대상 확인 실패 ({}px {}): {}", width, requestPath, e.getMessage());
+        }
+        return chain.resolveResource(request, requestPath, locations);
+    }
+
+    @Override
+    public String resolveUrlPath(String resourcePath, List<? extends Resource> locations, ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourcePath, locations);
+    }
+}
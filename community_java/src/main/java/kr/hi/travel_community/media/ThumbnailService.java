@@ -0,0 +1,235 @@
+package kr.hi.travel_community.media;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 🚩 게시판 이미지 고정 폭 사본 (320 / 800 / 1600)
+ * - 업로드 처리(MediaIngestService) 때 미리 만들고, 없으면 /pic/{폭}/{파일명} 첫 요청 때 작업 스레드에 맡겨 만듭니다.
+ * - 사본은 업로드 폴더 아래 .thumb/{폭}/{파일명} 에 원본과 같은 형식으로 저장합니다.
+ *   (JDK ImageIO 에는 WebP 인코더가 없으므로 JPEG/PNG 등 원본 형식 그대로 사용)
+ * - 원본 폭이 요청 폭 이하이거나 이미지가 아니면 사본을 만들지 않고 null 을 반환합니다. (호출 측에서 원본 사용)
+ */
+@Service
+@Slf4j
+public class ThumbnailService {
+
+    public static final List<Integer> WIDTHS = List.of(320, 800, 1600);
+
+    private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9._-]+");
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final Path uploadDir;
+    private final Path thumbDir;
+
+    public ThumbnailService(@Value("${file.upload-dir:C:/travel_contents/uploads/pic/}") String uploadRoot) {
+        this.uploadDir = Paths.get(uploadRoot.replace("\\", "/"));
+        this.thumbDir = uploadDir.resolve(".thumb");
+    }
+
+    /**
+     * 업로드 직후 모든 폭의 사본 생성 (실패해도 요청 시 다시 시도)
+     */
+    public void generateAll(String name) {
+        for (int width : WIDTHS) {
+            try {
+                variant(width, name);
+            } catch (IOException e) {
+                log.warn("썸네일 생성 실패 ({}px {}): {}", width, name, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 원본이 정리될 때 폭별 사본도 삭제
+     */
+    public void deleteAll(String name) throws IOException {
+        if (name == null || !SAFE_NAME.matcher(name).matches()) return;
+        for (int width : WIDTHS) {
+            Files.deleteIfExists(thumbDir.resolve(String.valueOf(width)).resolve(name));
+        }
+    }
+
+    /**
+     * 이미 만들어진 폭별 사본 경로 (없으면 null, 생성하지 않음)
+     */
+    public Path existing(int width, String name) {
+        if (!isValid(width, name)) return null;
+        Path target = thumbDir.resolve(String.valueOf(width)).resolve(name);
+        return Files.exists(target) ? target : null;
+    }
+
+    /**
+     * 사본을 만들 대상인지 (저장 가능한 형식이고 원본 폭이 요청 폭보다 큼). 헤더만 읽고 디코딩하지 않음
+     */
+    public boolean needsVariant(int width, String name) throws IOException {
+        if (!isValid(width, name) || formatOf(name) == null) return false;
+        Path source = uploadDir.resolve(name);
+        if (!Files.isRegularFile(source)) return false;
+        return sourceWidth(source) > width;
+    }
+
+    /**
+     * 폭별 사본 경로 (없으면 생성). 사본이 필요 없거나 만들 수 없으면 null
+     * 디코딩/인코딩을 하므로 작업 스레드(MediaIngestService)에서만 호출합니다.
+     */
+    public Path variant(int width, String name) throws IOException {
+        if (!isValid(width, name)) return null;
+        Path target = thumbDir.resolve(String.valueOf(width)).resolve(name);
+        if (Files.exists(target)) return target;
+
+        Path source = uploadDir.resolve(name);
+        if (!Files.isRegularFile(source)) return null;
+
+        String format = formatOf(name);
+        if (format == null) return null;
+
+        BufferedImage image = decode(source, width);
+        if (image == null || image.getWidth() <= width) return null;
+
+        BufferedImage scaled = scale(image, width, !"png".equals(format));
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), name, ".tmp");
+        try {
+            write(scaled, format, temp);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return target;
+    }
+
+    private static boolean isValid(int width, String name) {
+        return WIDTHS.contains(width) && name != null && SAFE_NAME.matcher(name).matches() && !name.startsWith(".");
+    }
+
+    /**
+     * 원본 폭 (헤더만 읽음, 읽을 수 없는 이미지면 0)
+     */
+    private static int sourceWidth(Path source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            if (in == null) return 0;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return 0;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                return reader.getWidth(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 요청 폭의 2배 이상이 되는 범위에서 건너뛰며 디코딩 (20MB 원본을 전부 메모리에 풀지 않음)
+     * 원본 폭이 요청 폭 이하이면 디코딩하지 않고 null
+     */
+    private static BufferedImage decode(Path source, int width) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            if (in == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int sourceWidth = reader.getWidth(0);
+                if (sourceWidth <= width) return null;
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, sourceWidth / (width * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 절반씩 줄이다가 마지막에 목표 폭으로 맞춤 (한 번에 크게 줄일 때 생기는 계단 현상 방지)
+     */
+    private static BufferedImage scale(BufferedImage image, int width, boolean opaque) {
+        int type = opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        BufferedImage current = image;
+        int w = image.getWidth();
+        int h = image.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(1, (int) Math.round((double) image.getHeight() * w / image.getWidth()));
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, w, h, opaque ? Color.WHITE : null, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w > width);
+        return current;
+    }
+
+    private static void write(BufferedImage image, String format, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) throw new IOException("이미지 형식을 저장할 수 없습니다: " + format);
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpeg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * 파일 확장자 → 저장 형식 (ImageIO 로 다시 저장할 수 있는 형식만)
+     */
+    private static String formatOf(String name) {
+        int dot = name.lastIndexOf('.');
+        if (dot < 0) return null;
+        switch (name.substring(dot + 1).toLowerCase(Locale.ROOT)) {
+            case "jpg":
+            case "jpeg": return "jpeg";
+            case "png": return "png";
+            case "bmp": return "bmp";
+            default: return null; // gif(애니메이션), webp 등은 원본 그대로 제공
+        }
+    }
+}
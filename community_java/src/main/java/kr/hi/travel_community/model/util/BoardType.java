@@ -0,0 +1,49 @@
+package kr.hi.travel_community.model.util;
+
+/**
+ * 🚩 게시판별 테이블/컬럼 정보
+ * 여러 게시판에 같은 SQL(조회수·추천수 일괄 반영 등)을 적용할 때 사용합니다.
+ * 게시판 테이블명과 컬럼명은 이 enum 에서만 가져오므로 SQL 에 외부 입력이 섞이지 않습니다.
+ */
+public enum BoardType {
+	RECOMMEND("recommend_post", "po_"),
+	FREE("free_post", "po_"),
+	REVIEW("review_post", "po_"),
+	EVENT("event_post", "po_"),
+	NEWSLETTER("newsletter_post", "po_"),
+	FAQ("faq_post", "po_"),
+	NOTICE("notice_post", "nn_");
+
+	private final String table;
+	/** 컬럼 접두어 (공지사항만 nn_, 나머지는 po_) */
+	private final String columnPrefix;
+
+	BoardType(String table, String columnPrefix) {
+		this.table = table;
+		this.columnPrefix = columnPrefix;
+	}
+
+	/**
+	 * 댓글의 co_po_type 등 게시판 구분 문자열 → BoardType (모르는 값이면 null)
+	 */
+	public static BoardType fromCode(String code) {
+		if (code == null) return null;
+		try {
+			return BoardType.valueOf(code.trim().toUpperCase());
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	public String getTable() { return table; }
+	public String getPkColumn() { return columnPrefix + "num"; }
+	public String getTitleColumn() { return columnPrefix + "title"; }
+	public String getContentColumn() { return columnPrefix + "content"; }
+	public String getDateColumn() { return columnPrefix + "date"; }
+	public String getMbNumColumn() { return columnPrefix + "mb_num"; }
+	public String getViewColumn() { return columnPrefix + "view"; }
+	public String getUpColumn() { return columnPrefix + "up"; }
+	public String getDelColumn() { return columnPrefix + "del"; }
+	/** 첨부 이미지 파일명 목록 (콤마 구분) */
+	public String getImgColumn() { return columnPrefix + "img"; }
+}
@@ -23,7 +23,7 @@ public class CustomUser extends User {
 
 	public CustomUser(MemberVO vo) {
 		super(vo.getMb_Uid(),
-				vo.getMb_pw(),
+				vo.getMb_pw() != null ? vo.getMb_pw() : "", // 토큰 클레임으로 만든 경우 비밀번호 없음
 				Arrays.asList(new SimpleGrantedAuthority(
 						vo.getMb_rol() != null ? vo.getMb_rol() : UserRole.USER.name())));
 		this.member = vo;
@@ -0,0 +1,18 @@
+package kr.hi.travel_community.model.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 🚩 목록/댓글 화면에 표시할 작성자 정보 (member 테이블 일부 컬럼만 조회)
+ * 게시글 본문이나 비밀번호 등은 포함하지 않는 가벼운 projection 입니다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthorVO {
+    private Integer mbNum;      // 회원 번호
+    private String mbNickname;  // 닉네임
+    private Integer mbPhotoVer; // 프로필 사진 버전 (사진이 없으면 null) → /avatar/{mbNum}/{mbPhotoVer}
+}
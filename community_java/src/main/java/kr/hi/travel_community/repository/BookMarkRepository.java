@@ -1,9 +1,13 @@
 package kr.hi.travel_community.repository;
 
 import kr.hi.travel_community.entity.BookMark; // 엔티티 클래스명이 BookMark인지 확인
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +22,16 @@ public interface BookMarkRepository extends JpaRepository<BookMark, Integer> {
 
     // 3. 존재 여부 확인 (필요시 사용)
     boolean existsByBmMbNumAndBmPoNumAndBmPoType(Integer bmMbNum, Integer bmPoNum, String bmPoType);
+
+    // 4. 마이페이지 커서 페이징 - 첫 페이지 ((bm_mb_num, bm_num) 인덱스)
+    List<BookMark> findByBmMbNumOrderByBmNumDesc(Integer bmMbNum, Pageable pageable);
+
+    // 5. 마이페이지 커서 페이징 - 다음 페이지: bm_num 이 after 보다 작은 즐겨찾기
+    List<BookMark> findByBmMbNumAndBmNumLessThanOrderByBmNumDesc(Integer bmMbNum, Integer bmNum, Pageable pageable);
+
+    // 6. 목록 한 페이지의 글 중 이 회원이 즐겨찾기한 글 번호 (한 번의 쿼리)
+    @Query("SELECT b.bmPoNum FROM BookMark b WHERE b.bmMbNum = :mbNum AND b.bmPoType IN :types AND b.bmPoNum IN :poNums")
+    List<Integer> findBookmarkedPostNums(@Param("mbNum") Integer mbNum,
+                                         @Param("types") Collection<String> types,
+                                         @Param("poNums") Collection<Integer> poNums);
 }
\ No newline at end of file
@@ -4,9 +4,40 @@ import kr.hi.travel_community.entity.Comment;
 import kr.hi.travel_community.entity.CommentLike;
 import kr.hi.travel_community.entity.Member;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CommentLikeRepository extends JpaRepository<CommentLike, Integer> {
     // 특정 회원이 특정 댓글에 좋아요를 눌렀는지 확인
     Optional<CommentLike> findByMemberAndComment(Member member, Comment comment);
-}
\ No newline at end of file
+
+    /**
+     * 🚩 번호만으로 좋아요 취소 (엔티티 조회 없이 (mb_num, co_num) 유니크 키로 삭제)
+     */
+    @Modifying
+    @Query(value = "DELETE FROM comment_like WHERE mb_num = :mbNum AND co_num = :coNum", nativeQuery = true)
+    int deleteByIds(@Param("mbNum") Integer mbNum, @Param("coNum") Integer coNum);
+
+    /**
+     * 🚩 번호만으로 좋아요 추가 (삭제되지 않은 댓글일 때만, 이미 있으면 무시)
+     * @return 추가된 행 수 (0이면 댓글이 없거나 동시 요청으로 이미 추가됨)
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO comment_like (mb_num, co_num) " +
+                   "SELECT :mbNum, c.co_num FROM comment c WHERE c.co_num = :coNum AND c.co_del = 'N'",
+           nativeQuery = true)
+    int insertIgnore(@Param("mbNum") Integer mbNum, @Param("coNum") Integer coNum);
+
+    /**
+     * 🚩 여러 댓글 중 회원이 좋아요한 댓글 번호 (목록 한 번에 IN 조회)
+     */
+    @Query("SELECT cl.comment.coNum FROM CommentLike cl " +
+           "WHERE cl.member.mbNum = :mbNum AND cl.comment.coNum IN :coNums")
+    List<Integer> findLikedCommentNums(@Param("mbNum") Integer mbNum,
+                                       @Param("coNums") Collection<Integer> coNums);
+}
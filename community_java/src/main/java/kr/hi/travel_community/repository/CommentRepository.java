@@ -1,10 +1,18 @@
 package kr.hi.travel_community.repository;
 
 import kr.hi.travel_community.entity.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
@@ -19,8 +27,86 @@ public interface CommentRepository extends JpaRepository<Comment, Integer> {
      */
     long countByCoPoNumAndCoPoTypeAndCoDel(Integer coPoNum, String coPoType, String coDel);
 
+    /**
+     * 🚩 여러 게시글의 댓글 수를 GROUP BY 한 번으로 집계
+     * 결과: [co_po_num, 댓글 수] 배열 목록 (댓글이 없는 글은 포함되지 않음)
+     */
+    @Query("SELECT c.coPoNum, COUNT(c) FROM Comment c " +
+           "WHERE c.coPoType = :coPoType AND c.coDel = :coDel AND c.coPoNum IN :coPoNums " +
+           "GROUP BY c.coPoNum")
+    List<Object[]> countGroupByCoPoNum(@Param("coPoNums") Collection<Integer> coPoNums,
+                                       @Param("coPoType") String coPoType,
+                                       @Param("coDel") String coDel);
+
+    /**
+     * 🚩 목록용 댓글 수 Map (글 번호 → 삭제되지 않은 댓글 수)
+     * 댓글이 없는 글은 Map 에 없으므로 getOrDefault(poNum, 0L) 로 사용합니다.
+     */
+    default Map<Integer, Long> countActiveByPostNums(Collection<Integer> coPoNums, String coPoType) {
+        Map<Integer, Long> counts = new HashMap<>();
+        if (coPoNums == null || coPoNums.isEmpty()) return counts;
+        for (Object[] row : countGroupByCoPoNum(coPoNums, coPoType, "N")) {
+            counts.put((Integer) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
     /**
      * 🚩 [추가] 특정 부모 댓글에 속한 답글들만 조회 (필요 시 사용)
      */
     List<Comment> findByCoOriNumAndCoDelOrderByCoDateAsc(Integer coOriNum, String coDel);
-}
\ No newline at end of file
+
+    /**
+     * 🚩 최상위 댓글(스레드) 첫 페이지: (co_date, co_num) 순, size + 1 건
+     * (co_po_type, co_po_num, co_del, co_date) 인덱스 범위 조회
+     */
+    @Query("SELECT c FROM Comment c " +
+           "WHERE c.coPoType = :coPoType AND c.coPoNum = :coPoNum AND c.coDel = 'N' " +
+           "AND (c.coOriNum IS NULL OR c.coOriNum = 0) " +
+           "ORDER BY c.coDate ASC, c.coNum ASC")
+    List<Comment> findThreadRoots(@Param("coPoNum") Integer coPoNum,
+                                  @Param("coPoType") String coPoType,
+                                  Pageable pageable);
+
+    /**
+     * 🚩 최상위 댓글(스레드) 다음 페이지: 마지막 (co_date, co_num) 이후부터
+     */
+    @Query("SELECT c FROM Comment c " +
+           "WHERE c.coPoType = :coPoType AND c.coPoNum = :coPoNum AND c.coDel = 'N' " +
+           "AND (c.coOriNum IS NULL OR c.coOriNum = 0) " +
+           "AND c.coDate >= :afterDate AND (c.coDate > :afterDate OR c.coNum > :afterNum) " +
+           "ORDER BY c.coDate ASC, c.coNum ASC")
+    List<Comment> findThreadRootsAfter(@Param("coPoNum") Integer coPoNum,
+                                       @Param("coPoType") String coPoType,
+                                       @Param("afterDate") LocalDateTime afterDate,
+                                       @Param("afterNum") Integer afterNum,
+                                       Pageable pageable);
+
+    /**
+     * 🚩 여러 부모 댓글의 답글을 한 번에 조회 (답글 트리를 한 단계씩 내려가며 사용)
+     */
+    List<Comment> findByCoOriNumInAndCoDelOrderByCoDateAscCoNumAsc(Collection<Integer> coOriNums, String coDel);
+
+    /**
+     * 🚩 여러 부모 댓글의 직속 답글 수를 GROUP BY 한 번으로 집계
+     * 결과: [co_ori_num, 답글 수] 배열 목록
+     */
+    @Query("SELECT c.coOriNum, COUNT(c) FROM Comment c " +
+           "WHERE c.coOriNum IN :coOriNums AND c.coDel = 'N' " +
+           "GROUP BY c.coOriNum")
+    List<Object[]> countRepliesGroupByCoOriNum(@Param("coOriNums") Collection<Integer> coOriNums);
+
+    /**
+     * 🚩 댓글 좋아요 수 상대 반영 (엔티티를 읽어 저장하지 않으므로 동시 클릭에도 정확)
+     */
+    @Modifying
+    @Query(value = "UPDATE comment SET co_like = GREATEST(COALESCE(co_like, 0) + :delta, 0) WHERE co_num = :coNum",
+           nativeQuery = true)
+    int addLikeCount(@Param("coNum") Integer coNum, @Param("delta") int delta);
+
+    /**
+     * 🚩 좋아요 토글 응답용: [co_like, co_po_type, co_po_num, co_del] (댓글이 없으면 빈 목록)
+     */
+    @Query("SELECT c.coLike, c.coPoType, c.coPoNum, c.coDel FROM Comment c WHERE c.coNum = :coNum")
+    List<Object[]> findLikeState(@Param("coNum") Integer coNum);
+}
@@ -1,6 +1,7 @@
 package kr.hi.travel_community.repository;
 
 import kr.hi.travel_community.entity.Event; 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -71,4 +72,39 @@ public interface EventRepository extends JpaRepository<Event, Integer> {
      */
     @Query("SELECT e FROM Event e WHERE e.poType = :poType AND (e.poTitle LIKE %:keyword% OR e.poContent LIKE %:keyword%) AND e.poDel = :poDel ORDER BY e.poNum DESC")
     List<Event> findByPoTypeAndTitleOrContent(@Param("poType") String poType, @Param("keyword") String keyword, @Param("poDel") String poDel);
-}
\ No newline at end of file
+
+    /**
+     * 🚩 커서 페이징 - 첫 페이지: 삭제되지 않은 글 최신순 N건 (Pageable로 LIMIT 지정)
+     */
+    List<Event> findByPoDelOrderByPoNumDesc(String poDel, Pageable pageable);
+
+    /**
+     * 🚩 커서 페이징 - 다음 페이지: 글 번호가 after 보다 작은 글 최신순 N건 (PK seek)
+     */
+    List<Event> findByPoDelAndPoNumLessThanOrderByPoNumDesc(String poDel, Integer poNum, Pageable pageable);
+
+    /**
+     * 🚩 작성자별 글 목록 (최신순) - (po_mb_num, po_del, po_num) 인덱스 사용
+     */
+    List<Event> findByPoMbNumAndPoDelOrderByPoNumDesc(Integer poMbNum, String poDel);
+
+    /**
+     * 🚩 작성자별 커서 페이징 - 첫 페이지 (po_mb_num, po_del, po_num) 인덱스 범위 조회
+     */
+    List<Event> findByPoMbNumAndPoDelOrderByPoNumDesc(Integer poMbNum, String poDel, Pageable pageable);
+
+    /**
+     * 🚩 작성자별 커서 페이징 - 다음 페이지: 글 번호가 after 보다 작은 글 최신순 N건
+     */
+    List<Event> findByPoMbNumAndPoDelAndPoNumLessThanOrderByPoNumDesc(Integer poMbNum, String poDel, Integer poNum, Pageable pageable);
+
+    /**
+     * 🚩 글 수정: 제목/본문만 갱신 (po_img 는 MediaStore 가 따로 갱신하므로 엔티티 save 로 덮어쓰지 않음)
+     * @return 갱신된 행 수 (0 이면 없는 글 또는 삭제된 글)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Event e SET e.poTitle = :title, e.poContent = :content " +
+           "WHERE e.poNum = :id AND e.poDel = 'N'")
+    int updateTitleAndContent(@Param("id") Integer id, @Param("title") String title, @Param("content") String content);
+}
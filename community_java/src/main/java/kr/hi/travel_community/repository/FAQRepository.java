@@ -1,6 +1,7 @@
 package kr.hi.travel_community.repository;
 
 import kr.hi.travel_community.entity.FAQ;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -41,4 +42,24 @@ public interface FAQRepository extends JpaRepository<FAQ, Integer> {
      */
     @Query("SELECT f FROM FAQ f WHERE (f.poTitle LIKE %:keyword% OR f.poContent LIKE %:keyword%) AND f.poDel = 'N' ORDER BY f.poNum DESC")
     List<FAQ> searchFaq(@Param("keyword") String keyword);
-}
\ No newline at end of file
+
+    /**
+     * 🚩 커서 페이징 - 첫 페이지: 삭제되지 않은 글 최신순 N건 (Pageable로 LIMIT 지정)
+     */
+    List<FAQ> findByPoDelOrderByPoNumDesc(String poDel, Pageable pageable);
+
+    /**
+     * 🚩 커서 페이징 - 다음 페이지: 글 번호가 after 보다 작은 글 최신순 N건 (PK seek)
+     */
+    List<FAQ> findByPoDelAndPoNumLessThanOrderByPoNumDesc(String poDel, Integer poNum, Pageable pageable);
+
+    /**
+     * 🚩 작성자별 커서 페이징 - 첫 페이지 (po_mb_num, po_del, po_num) 인덱스 범위 조회
+     */
+    List<FAQ> findByPoMbNumAndPoDelOrderByPoNumDesc(Integer poMbNum, String poDel, Pageable pageable);
+
+    /**
+     * 🚩 작성자별 커서 페이징 - 다음 페이지: 글 번호가 after 보다 작은 글 최신순 N건
+     */
+    List<FAQ> findByPoMbNumAndPoDelAndPoNumLessThanOrderByPoNumDesc(Integer poMbNum, String poDel, Integer poNum, Pageable pageable);
+}
@@ -1,9 +1,23 @@
 package kr.hi.travel_community.repository;
 
 import kr.hi.travel_community.entity.Member;
+import kr.hi.travel_community.model.vo.AuthorVO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface MemberRepository extends JpaRepository<Member, Integer> {
-}
\ No newline at end of file
+
+    /**
+     * 🚩 작성자 정보 일괄 조회: 여러 회원 번호를 IN (...) 한 번으로 조회
+     * 목록 화면에서 글마다 findById 를 호출하던 N+1 조회를 대체합니다.
+     */
+    @Query("SELECT new kr.hi.travel_community.model.vo.AuthorVO(m.mbNum, m.mbNickname, m.mbPhotoVer) " +
+           "FROM Member m WHERE m.mbNum IN :mbNums")
+    List<AuthorVO> findAuthorsByMbNumIn(@Param("mbNums") Collection<Integer> mbNums);
+}
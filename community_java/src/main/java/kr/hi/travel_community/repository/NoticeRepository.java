@@ -1,6 +1,7 @@
 package kr.hi.travel_community.repository;
 
 import kr.hi.travel_community.entity.Notice;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -34,4 +35,24 @@ public interface NoticeRepository extends JpaRepository<Notice, Integer> {
     @Transactional
     @Query("UPDATE Notice p SET p.nnView = COALESCE(p.nnView, 0) + 1 WHERE p.nnNum = :id AND p.nnDel = 'N'")
     int updateViewCount(@Param("id") Integer id);
-}
\ No newline at end of file
+
+    /**
+     * 🚩 커서 페이징 - 첫 페이지: 삭제되지 않은 글 최신순 N건 (Pageable로 LIMIT 지정)
+     */
+    List<Notice> findByNnDelOrderByNnNumDesc(String nnDel, Pageable pageable);
+
+    /**
+     * 🚩 커서 페이징 - 다음 페이지: 글 번호가 after 보다 작은 글 최신순 N건 (PK seek)
+     */
+    List<Notice> findByNnDelAndNnNumLessThanOrderByNnNumDesc(String nnDel, Integer nnNum, Pageable pageable);
+
+    /**
+     * 🚩 작성자별 커서 페이징 - 첫 페이지 (nn_mb_num, nn_del, nn_num) 인덱스 범위 조회
+     */
+    List<Notice> findByNnMbNumAndNnDelOrderByNnNumDesc(Integer nnMbNum, String nnDel, Pageable pageable);
+
+    /**
+     * 🚩 작성자별 커서 페이징 - 다음 페이지: 글 번호가 after 보다 작은 글 최신순 N건
+     */
+    List<Notice> findByNnMbNumAndNnDelAndNnNumLessThanOrderByNnNumDesc(Integer nnMbNum, String nnDel, Integer nnNum, Pageable pageable);
+}
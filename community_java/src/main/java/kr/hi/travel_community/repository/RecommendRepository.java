@@ -1,11 +1,13 @@
 package kr.hi.travel_community.repository;
 
 import kr.hi.travel_community.entity.RecommendPost;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -63,4 +65,53 @@ public interface RecommendRepository extends JpaRepository<RecommendPost, Intege
     @Query("UPDATE RecommendPost p SET p.poUp = COALESCE(p.poUp, 0) + :amount " +
            "WHERE p.poNum = :id AND p.poDel = 'N'")
     void updateLikeCount(@Param("id") Integer id, @Param("amount") int amount);
-}
\ No newline at end of file
+
+    /**
+     * 🚩 커서 페이징 - 첫 페이지: 삭제되지 않은 글 최신순 N건 (Pageable로 LIMIT 지정)
+     */
+    List<RecommendPost> findByPoDelOrderByPoNumDesc(String poDel, Pageable pageable);
+
+    /**
+     * 🚩 커서 페이징 - 다음 페이지: 글 번호가 after 보다 작은 글 최신순 N건 (PK seek)
+     */
+    List<RecommendPost> findByPoDelAndPoNumLessThanOrderByPoNumDesc(String poDel, Integer poNum, Pageable pageable);
+
+    /**
+     * 🚩 랭킹 재계산용 스냅샷: [글 번호, 조회수, 추천수, 작성일, 댓글 수]
+     * 본문(LONGTEXT)은 읽지 않고 점수 계산에 필요한 컬럼만 조회합니다.
+     */
+    @Query("SELECT p.poNum, p.poView, p.poUp, p.poDate, " +
+           "(SELECT COUNT(c) FROM Comment c WHERE c.coPoNum = p.poNum AND c.coPoType = 'RECOMMEND' AND c.coDel = 'N') " +
+           "FROM RecommendPost p WHERE p.poDel = 'N'")
+    List<Object[]> findRankingSnapshot();
+
+    /**
+     * 🚩 작성자별 커서 페이징 - 첫 페이지 (po_mb_num, po_del, po_num) 인덱스 범위 조회
+     */
+    List<RecommendPost> findByPoMbNumAndPoDelOrderByPoNumDesc(Integer poMbNum, String poDel, Pageable pageable);
+
+    /**
+     * 🚩 작성자별 커서 페이징 - 다음 페이지: 글 번호가 after 보다 작은 글 최신순 N건
+     */
+    List<RecommendPost> findByPoMbNumAndPoDelAndPoNumLessThanOrderByPoNumDesc(Integer poMbNum, String poDel, Integer poNum, Pageable pageable);
+
+    /**
+     * 🚩 랭킹 엔진이 아직 준비되지 않았을 때 쓰는 인기글 글 번호 (점수 내림차순, 동점이면 최신 글)
+     * 점수 = 조회수 + 추천수*2 + 댓글수*3 을 DB에서 계산하고 Pageable 로 상위 N건만 가져옵니다.
+     */
+    @Query("SELECT p.poNum FROM RecommendPost p WHERE p.poDel = 'N' " +
+           "ORDER BY COALESCE(p.poView, 0) + COALESCE(p.poUp, 0) * 2 + " +
+           "(SELECT COUNT(c) FROM Comment c WHERE c.coPoNum = p.poNum AND c.coPoType = 'RECOMMEND' AND c.coDel = 'N') * 3 DESC, " +
+           "p.poNum DESC")
+    List<Integer> findTopByScore(Pageable pageable);
+
+    /**
+     * 🚩 글 수정: 제목/본문만 갱신 (po_img 는 MediaStore 가 따로 갱신하므로 엔티티 save 로 덮어쓰지 않음)
+     * @return 갱신된 행 수 (0 이면 없는 글 또는 삭제된 글)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE RecommendPost p SET p.poTitle = :title, p.poContent = :content " +
+           "WHERE p.poNum = :id AND p.poDel = 'N'")
+    int updateTitleAndContent(@Param("id") Integer id, @Param("title") String title, @Param("content") String content);
+}
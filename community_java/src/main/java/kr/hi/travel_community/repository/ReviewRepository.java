@@ -1,6 +1,7 @@
 package kr.hi.travel_community.repository;
 
 import kr.hi.travel_community.entity.ReviewPost;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -21,4 +22,19 @@ public interface ReviewRepository extends JpaRepository<ReviewPost, Integer> {
     @Transactional
     @Query("UPDATE ReviewPost p SET p.poView = COALESCE(p.poView, 0) + 1 WHERE p.poNum = :id AND p.poDel = 'N'")
     int updateViewCount(@Param("id") Integer id);
+
+    /**
+     * 🚩 작성자별 글 목록 (최신순) - (po_mb_num, po_del, po_num) 인덱스 사용
+     */
+    List<ReviewPost> findByPoMbNumAndPoDelOrderByPoNumDesc(Integer poMbNum, String poDel);
+
+    /**
+     * 🚩 작성자별 커서 페이징 - 첫 페이지 (po_mb_num, po_del, po_num) 인덱스 범위 조회
+     */
+    List<ReviewPost> findByPoMbNumAndPoDelOrderByPoNumDesc(Integer poMbNum, String poDel, Pageable pageable);
+
+    /**
+     * 🚩 작성자별 커서 페이징 - 다음 페이지: 글 번호가 after 보다 작은 글 최신순 N건
+     */
+    List<ReviewPost> findByPoMbNumAndPoDelAndPoNumLessThanOrderByPoNumDesc(Integer poMbNum, String poDel, Integer poNum, Pageable pageable);
 }
@@ -0,0 +1,77 @@
+package kr.hi.travel_community.search;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 🚩 한글 대응 2-gram 토크나이저
+ * - 글자/숫자가 이어진 구간(run)마다 연속된 두 글자씩 잘라 색인어로 사용합니다. (예: "제주여행" → 제주, 주여, 여행)
+ * - 형태소 분석 없이도 "여행" 으로 "제주여행기" 를 찾을 수 있어 LIKE '%키워드%' 와 같은 결과를 냅니다.
+ * - 영문은 소문자로 통일합니다.
+ */
+public final class BigramTokenizer {
+
+    private BigramTokenizer() {}
+
+    /**
+     * 색인용: 2-gram → 등장 횟수 (한 글자짜리 구간은 그 글자 하나를 색인어로 사용)
+     */
+    public static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> tf = new HashMap<>();
+        forEachRun(text, run -> {
+            if (run.length == 1) {
+                tf.merge(new String(run, 0, 1), 1, Integer::sum);
+                return;
+            }
+            for (int i = 0; i + 1 < run.length; i++) {
+                tf.merge(new String(run, i, 2), 1, Integer::sum);
+            }
+        });
+        return tf;
+    }
+
+    /**
+     * 검색용: 검색어의 2-gram 목록 (중복 제거).
+     * 두 글자 이상인 구간이 없으면 빈 집합 → 호출 측에서 LIKE 검색으로 대체합니다.
+     */
+    public static Set<String> queryTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        forEachRun(query, run -> {
+            for (int i = 0; i + 1 < run.length; i++) {
+                terms.add(new String(run, i, 2));
+            }
+        });
+        return terms;
+    }
+
+    /**
+     * 대소문자/공백 차이를 무시한 부분 문자열 비교 (색인 후보 검증용)
+     */
+    public static boolean containsPhrase(String text, String query) {
+        if (text == null || query == null) return false;
+        return text.toLowerCase(Locale.ROOT).contains(query.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private interface RunConsumer {
+        void accept(char[] run);
+    }
+
+    private static void forEachRun(String text, RunConsumer consumer) {
+        if (text == null || text.isEmpty()) return;
+        String lower = text.toLowerCase(Locale.ROOT);
+        StringBuilder run = new StringBuilder();
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                run.append(c);
+            } else if (run.length() > 0) {
+                consumer.accept(run.toString().toCharArray());
+                run.setLength(0);
+            }
+        }
+        if (run.length() > 0) consumer.accept(run.toString().toCharArray());
+    }
+}
@@ -0,0 +1,143 @@
+package kr.hi.travel_community.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 🚩 게시판 하나의 역색인
+ * - 정방향(글 번호 → 필드별 색인어 빈도)과 역방향(색인어 → 글 번호별 빈도)을 함께 유지합니다.
+ * - 정방향 정보가 있어서 글 수정/삭제 시 해당 글의 색인어만 빼고 다시 넣을 수 있습니다. (증분 갱신)
+ */
+class BoardIndex {
+
+    /** 제목 적중 가중치 (본문 대비) */
+    private static final double TITLE_WEIGHT = 2.0;
+
+    private final Map<Integer, DocTerms> docs = new HashMap<>();
+    private final Map<String, Map<Integer, Integer>> titlePostings = new HashMap<>();
+    private final Map<String, Map<Integer, Integer>> contentPostings = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    record DocTerms(Map<String, Integer> title, Map<String, Integer> content) {}
+
+    void put(int poNum, DocTerms terms) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(poNum);
+            docs.put(poNum, terms);
+            terms.title().forEach((t, tf) -> titlePostings.computeIfAbsent(t, k -> new HashMap<>()).put(poNum, tf));
+            terms.content().forEach((t, tf) -> contentPostings.computeIfAbsent(t, k -> new HashMap<>()).put(poNum, tf));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(int poNum) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(poNum);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeUnlocked(int poNum) {
+        DocTerms old = docs.remove(poNum);
+        if (old == null) return;
+        unlink(titlePostings, old.title().keySet(), poNum);
+        unlink(contentPostings, old.content().keySet(), poNum);
+    }
+
+    private static void unlink(Map<String, Map<Integer, Integer>> postings, Set<String> terms, int poNum) {
+        for (String t : terms) {
+            Map<Integer, Integer> list = postings.get(t);
+            if (list == null) continue;
+            list.remove(poNum);
+            if (list.isEmpty()) postings.remove(t);
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 검색: 모든 색인어를 포함하는 글을 점수순(동점이면 최신 글 우선)으로 반환
+     * 비용은 검색어 색인어들의 posting 크기에 비례합니다. (전체 글 수와 무관)
+     * @param inTitle   제목에서 찾기
+     * @param inContent 본문에서 찾기 (둘 다면 제목 또는 본문)
+     */
+    List<Integer> search(Set<String> terms, boolean inTitle, boolean inContent) {
+        lock.readLock().lock();
+        try {
+            Set<Integer> matched = new HashSet<>();
+            if (inTitle) matched.addAll(intersect(titlePostings, terms));
+            if (inContent) matched.addAll(intersect(contentPostings, terms));
+            if (matched.isEmpty()) return Collections.emptyList();
+
+            int n = Math.max(docs.size(), 1);
+            Map<Integer, Double> scores = new HashMap<>();
+            for (String t : terms) {
+                Map<Integer, Integer> tp = titlePostings.getOrDefault(t, Collections.emptyMap());
+                Map<Integer, Integer> cp = contentPostings.getOrDefault(t, Collections.emptyMap());
+                double idf = Math.log(1.0 + (double) n / (1 + Math.max(tp.size(), cp.size())));
+                for (Integer poNum : matched) {
+                    double tf = (inTitle ? tp.getOrDefault(poNum, 0) * TITLE_WEIGHT : 0)
+                              + (inContent ? cp.getOrDefault(poNum, 0) : 0);
+                    if (tf > 0) scores.merge(poNum, (1 + Math.log(tf)) * idf, Double::sum);
+                }
+            }
+
+            List<Integer> ranked = new ArrayList<>(matched);
+            ranked.sort((a, b) -> {
+                int c = Double.compare(scores.getOrDefault(b, 0.0), scores.getOrDefault(a, 0.0));
+                return c != 0 ? c : Integer.compare(b, a);
+            });
+            return ranked;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 가장 짧은 posting 부터 교집합
+     */
+    private static Set<Integer> intersect(Map<String, Map<Integer, Integer>> postings, Set<String> terms) {
+        List<Map<Integer, Integer>> lists = new ArrayList<>(terms.size());
+        for (String t : terms) {
+            Map<Integer, Integer> list = postings.get(t);
+            if (list == null) return Collections.emptySet();
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+        Set<Integer> result = new HashSet<>(lists.get(0).keySet());
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i).keySet());
+        }
+        return result;
+    }
+
+    /**
+     * 저장용 정방향 스냅샷 (읽기 잠금 안에서 복사)
+     */
+    Map<Integer, DocTerms> snapshot() {
+        lock.readLock().lock();
+        try {
+            return new HashMap<>(docs);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
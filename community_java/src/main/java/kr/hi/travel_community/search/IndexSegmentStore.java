@@ -0,0 +1,106 @@
+package kr.hi.travel_community.search;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 🚩 게시판 색인 세그먼트 파일 저장/로드
+ * - 파일 형식: MAGIC, VERSION, 글 수, [글 번호, 제목 색인어 수, (색인어, 빈도)..., 본문 색인어 수, (색인어, 빈도)...]...
+ * - 저장은 임시 파일에 쓴 뒤 원자적으로 교체하고, 로드는 FileChannel.map 으로 메모리 매핑하여 읽습니다.
+ */
+class IndexSegmentStore {
+
+    private static final int MAGIC = 0x54524958; // "TRIX"
+    private static final int VERSION = 1;
+
+    private final Path dir;
+
+    IndexSegmentStore(Path dir) {
+        this.dir = dir;
+    }
+
+    Path segmentPath(String name) {
+        return dir.resolve(name.toLowerCase() + ".seg");
+    }
+
+    void write(String name, Map<Integer, BoardIndex.DocTerms> docs) throws IOException {
+        Files.createDirectories(dir);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(docs.size());
+            for (Map.Entry<Integer, BoardIndex.DocTerms> e : docs.entrySet()) {
+                out.writeInt(e.getKey());
+                writeTerms(out, e.getValue().title());
+                writeTerms(out, e.getValue().content());
+            }
+        }
+
+        Path target = segmentPath(name);
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.wrap(bytes.toByteArray());
+            while (buf.hasRemaining()) ch.write(buf);
+            ch.force(true);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 세그먼트 로드 (파일이 없거나 형식이 다르면 null)
+     */
+    Map<Integer, BoardIndex.DocTerms> read(String name) throws IOException {
+        Path path = segmentPath(name);
+        if (!Files.exists(path)) return null;
+
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            if (buf.remaining() < 12 || buf.getInt() != MAGIC || buf.getInt() != VERSION) return null;
+
+            int count = buf.getInt();
+            Map<Integer, BoardIndex.DocTerms> docs = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                int poNum = buf.getInt();
+                Map<String, Integer> title = readTerms(buf);
+                Map<String, Integer> content = readTerms(buf);
+                docs.put(poNum, new BoardIndex.DocTerms(title, content));
+            }
+            return docs;
+        }
+    }
+
+    private static void writeTerms(DataOutputStream out, Map<String, Integer> terms) throws IOException {
+        out.writeInt(terms.size());
+        for (Map.Entry<String, Integer> t : terms.entrySet()) {
+            byte[] b = t.getKey().getBytes(StandardCharsets.UTF_8);
+            out.writeShort(b.length);
+            out.write(b);
+            out.writeInt(t.getValue());
+        }
+    }
+
+    private static Map<String, Integer> readTerms(ByteBuffer buf) {
+        int n = buf.getInt();
+        Map<String, Integer> terms = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            byte[] b = new byte[buf.getShort()];
+            buf.get(b);
+            terms.put(new String(b, StandardCharsets.UTF_8), buf.getInt());
+        }
+        return terms;
+    }
+}
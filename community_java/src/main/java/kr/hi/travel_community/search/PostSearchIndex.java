@@ -0,0 +1,221 @@
+package kr.hi.travel_community.search;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PreDestroy;
+import kr.hi.travel_community.model.util.BoardType;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 🚩 게시판 전문 검색 색인
+ * - 제목/본문을 2-gram 으로 역색인하여 LIKE '%키워드%' 전체 스캔 대신 색인으로 검색합니다.
+ * - savePost/updatePost/deletePost 시 커밋 후 해당 글만 갱신합니다.
+ * - 로컬 디스크에 세그먼트 파일로 저장해 두었다가 기동 시 메모리 매핑으로 읽어 바로 사용하고,
+ *   이어서 DB 기준으로 백그라운드 재색인하여 내려가 있던 동안의 변경을 반영합니다.
+ * - 색인이 아직 준비되지 않았거나 한 글자 검색어처럼 2-gram 이 없으면 null 을 반환 → 호출 측 LIKE 검색으로 대체
+ */
+@Service
+@Slf4j
+public class PostSearchIndex {
+
+    private static final int REBUILD_BATCH = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IndexSegmentStore store;
+    private final List<BoardType> boards = new ArrayList<>();
+
+    private final Map<BoardType, BoardIndex> indexes = new ConcurrentHashMap<>();
+    private final Map<BoardType, Boolean> dirty = new ConcurrentHashMap<>();
+
+    /** 재색인 중인 게시판 → 만들고 있는 새 색인 */
+    private final Map<BoardType, BoardIndex> rebuilding = new ConcurrentHashMap<>();
+
+    /** 재색인 중인 게시판 → 그 사이 직접 갱신된 글 번호 (재색인 결과가 덮어쓰지 않도록) */
+    private final Map<BoardType, Set<Integer>> touchedDuringRebuild = new ConcurrentHashMap<>();
+
+    public PostSearchIndex(JdbcTemplate jdbcTemplate,
+                           @Value("${search.index-dir:./search-index}") String indexDir,
+                           @Value("${search.boards:RECOMMEND,EVENT,NEWSLETTER}") List<String> boardNames) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.store = new IndexSegmentStore(Paths.get(indexDir));
+        for (String name : boardNames) {
+            BoardType board = BoardType.fromCode(name);
+            if (board != null) boards.add(board);
+        }
+    }
+
+    /* ===================== 검색 ===================== */
+
+    /**
+     * @param type title | content | title_content
+     * @return 점수순 글 번호 목록. 색인을 쓸 수 없으면 null (LIKE 검색으로 대체)
+     */
+    public List<Integer> search(BoardType board, String type, String keyword) {
+        BoardIndex index = indexes.get(board);
+        if (index == null || keyword == null) return null;
+
+        Set<String> terms = BigramTokenizer.queryTerms(keyword);
+        if (terms.isEmpty()) return null;
+
+        boolean inTitle = !"content".equals(type);
+        boolean inContent = !"title".equals(type);
+        return index.search(terms, inTitle, inContent);
+    }
+
+    public boolean isIndexed(BoardType board) {
+        return boards.contains(board);
+    }
+
+    /* ===================== 증분 갱신 ===================== */
+
+    public void index(BoardType board, Integer poNum, String title, String content) {
+        if (!isIndexed(board) || poNum == null) return;
+        afterCommit(() -> {
+            BoardIndex.DocTerms terms = new BoardIndex.DocTerms(
+                    BigramTokenizer.termFrequencies(title), BigramTokenizer.termFrequencies(content));
+            applyToIndexes(board, poNum, index -> index.put(poNum, terms));
+        });
+    }
+
+    public void remove(BoardType board, Integer poNum) {
+        if (!isIndexed(board) || poNum == null) return;
+        afterCommit(() -> applyToIndexes(board, poNum, index -> index.remove(poNum)));
+    }
+
+    private void applyToIndexes(BoardType board, int poNum, Consumer<BoardIndex> change) {
+        BoardIndex current = indexes.get(board);
+        if (current != null) change.accept(current);
+
+        BoardIndex building = rebuilding.get(board);
+        if (building != null) {
+            synchronized (building) {
+                Set<Integer> touched = touchedDuringRebuild.get(board);
+                if (touched != null) touched.add(poNum);
+                change.accept(building);
+            }
+        }
+        dirty.put(board, true);
+    }
+
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    /* ===================== 기동 시 로드 / 재색인 ===================== */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (BoardType board : boards) {
+            try {
+                Map<Integer, BoardIndex.DocTerms> docs = store.read(board.name());
+                if (docs != null) {
+                    BoardIndex index = new BoardIndex();
+                    docs.forEach(index::put);
+                    indexes.put(board, index);
+                    log.info("검색 색인 로드: {} {}건", board, docs.size());
+                }
+            } catch (Exception e) {
+                log.warn("검색 색인 파일을 읽지 못했습니다 ({}): {}", board, e.getMessage());
+            }
+        }
+
+        Thread.ofVirtual().name("search-index-rebuild").start(() -> {
+            for (BoardType board : boards) {
+                rebuild(board);
+            }
+        });
+    }
+
+    /**
+     * DB 를 글 번호 역순으로 나눠 읽어 새 색인을 만든 뒤 교체
+     */
+    void rebuild(BoardType board) {
+        BoardIndex fresh = new BoardIndex();
+        Set<Integer> touched = ConcurrentHashMap.newKeySet();
+        touchedDuringRebuild.put(board, touched);
+        rebuilding.put(board, fresh);
+
+        String sql = "SELECT " + board.getPkColumn() + ", " + board.getTitleColumn() + ", " + board.getContentColumn()
+                + " FROM " + board.getTable()
+                + " WHERE " + board.getDelColumn() + " = 'N' AND " + board.getPkColumn() + " < ?"
+                + " ORDER BY " + board.getPkColumn() + " DESC LIMIT " + REBUILD_BATCH;
+        try {
+            int after = Integer.MAX_VALUE;
+            while (true) {
+                List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql, after);
+                if (rows.isEmpty()) break;
+
+                for (Map<String, Object> row : rows) {
+                    int poNum = ((Number) row.get(board.getPkColumn())).intValue();
+                    after = poNum;
+                    BoardIndex.DocTerms terms = new BoardIndex.DocTerms(
+                            BigramTokenizer.termFrequencies((String) row.get(board.getTitleColumn())),
+                            BigramTokenizer.termFrequencies((String) row.get(board.getContentColumn())));
+                    synchronized (fresh) {
+                        if (!touched.contains(poNum)) fresh.put(poNum, terms);
+                    }
+                }
+                if (rows.size() < REBUILD_BATCH) break;
+            }
+
+            indexes.put(board, fresh);
+            dirty.put(board, true);
+            log.info("검색 색인 재생성 완료: {} {}건", board, fresh.size());
+        } catch (Exception e) {
+            log.error("검색 색인 재생성 실패 ({}): {}", board, e.getMessage());
+        } finally {
+            rebuilding.remove(board);
+            touchedDuringRebuild.remove(board);
+        }
+        persist(board);
+    }
+
+    /* ===================== 디스크 저장 ===================== */
+
+    @Scheduled(fixedDelayString = "${search.persist-ms:300000}")
+    public void persistDirty() {
+        for (BoardType board : boards) {
+            persist(board);
+        }
+    }
+
+    @PreDestroy
+    public void persistOnShutdown() {
+        persistDirty();
+    }
+
+    private void persist(BoardType board) {
+        BoardIndex index = indexes.get(board);
+        if (index == null || dirty.remove(board) == null) return;
+        try {
+            store.write(board.name(), index.snapshot());
+        } catch (Exception e) {
+            dirty.put(board, true);
+            log.error("검색 색인 저장 실패 ({}): {}", board, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package kr.hi.travel_community.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 🚩 검색 결과 공통 처리: 색인 순서대로 엔티티 조회, 페이지 자르기, 응답 형태 구성
+ */
+public final class SearchResults {
+
+    /** 색인 후보 검증 시 한 번에 IN 조회할 최소 글 수 */
+    private static final int VERIFY_BATCH = 100;
+
+    private SearchResults() {}
+
+    /**
+     * 색인이 준 글 번호 순서(점수순)를 유지하며 엔티티를 IN 조회로 가져옴
+     * @param keep 삭제 여부/키워드 포함 여부 재확인 (2-gram 색인 후보의 최종 검증)
+     */
+    public static <T> List<T> inHitOrder(List<Integer> ids,
+                                         Function<List<Integer>, List<T>> loader,
+                                         Function<T, Integer> idOf,
+                                         Predicate<T> keep) {
+        if (ids.isEmpty()) return new ArrayList<>();
+
+        Map<Integer, T> byId = new HashMap<>();
+        for (T row : loader.apply(ids)) {
+            byId.put(idOf.apply(row), row);
+        }
+
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            T row = byId.get(id);
+            if (row != null && keep.test(row)) ordered.add(row);
+        }
+        return ordered;
+    }
+
+    /**
+     * 🚩 색인 후보를 앞에서부터 묶음 단위로 검증하며 요청 페이지(+다음 페이지 확인용 1건)가 찰 때까지만 조회
+     * - 후보를 먼저 자르고 검증하면 탈락한 후보만큼 페이지가 비고 total/hasNext 가 틀려지므로 검증 후에 자릅니다.
+     * - hasNext 는 항상 정확합니다. total 은 끝까지 검증했으면 정확(totalExact=true),
+     *   아니면 검증 통과 수 + 남은 미검증 후보 수(상한 추정, totalExact=false) 입니다.
+     * @param loadVerified 글 번호 묶음 → 삭제/키워드 재확인을 통과한 엔티티 (색인 순서 유지, inHitOrder 사용)
+     */
+    public static <T> Map<String, Object> verifiedPage(List<Integer> hits, int page, int size,
+                                                       Function<List<Integer>, List<T>> loadVerified,
+                                                       Function<List<T>, List<Map<String, Object>>> toMaps) {
+        int need = (page + 1) * size + 1;
+        int batch = Math.max(size * 2, VERIFY_BATCH);
+        List<T> survivors = new ArrayList<>();
+        int scanned = 0;
+        while (survivors.size() < need && scanned < hits.size()) {
+            List<Integer> ids = hits.subList(scanned, Math.min(scanned + batch, hits.size()));
+            survivors.addAll(loadVerified.apply(ids));
+            scanned += ids.size();
+        }
+
+        int total = survivors.size() + (hits.size() - scanned);
+        Map<String, Object> result = page(toMaps.apply(slice(survivors, page, size)), total, page, size);
+        result.put("hasNext", survivors.size() > (page + 1) * size);
+        result.put("totalExact", scanned >= hits.size());
+        return result;
+    }
+
+    public static <T> List<T> slice(List<T> list, int page, int size) {
+        int from = page * size;
+        if (from >= list.size()) return Collections.emptyList();
+        return list.subList(from, Math.min(from + size, list.size()));
+    }
+
+    public static Map<String, Object> page(List<Map<String, Object>> posts, int total, int page, int size) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("posts", posts);
+        result.put("total", total);
+        result.put("page", page);
+        result.put("size", size);
+        result.put("hasNext", (long) (page + 1) * size < total);
+        return result;
+    }
+}
@@ -0,0 +1,273 @@
+package kr.hi.travel_community.search;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import kr.hi.travel_community.model.util.BoardType;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 🚩 전체 게시판 통합 검색
+ * - 추천/후기/자유/이벤트/뉴스레터/공지/FAQ 를 가상 스레드로 동시에 조회합니다.
+ * - 게시판마다 제한 시간을 두고, 시간 안에 끝난 게시판 결과만으로 응답합니다. (timedOut 에 표시)
+ * - 각 게시판 결과는 같은 기준(관련도 또는 최신순)으로 정렬되어 있으므로 k-way 병합으로 전체 상위 N건을 뽑습니다.
+ * - 전문 색인이 있는 게시판은 색인 결과 글 번호로, 없는 게시판은 LIKE 로 조회합니다.
+ * - 동시에 DB 커넥션을 잡는 게시판 조회 수는 search.max-concurrent-queries 로 제한합니다.
+ *   (검색이 몰려도 커넥션 풀을 다 쓰지 않아 다른 API 가 커넥션을 기다리지 않도록)
+ */
+@Service
+@Slf4j
+public class UnifiedSearchService {
+
+    /** 색인 후보를 SQL 로 검증할 때 한 번에 IN 조회할 글 수 */
+    private static final int INDEX_VERIFY_BATCH = 500;
+
+    /** 제목+본문 모두 포함일 때의 최고 점수 */
+    private static final int MAX_SCORE = 3;
+
+    public static final List<BoardType> SEARCH_BOARDS = List.of(
+            BoardType.RECOMMEND, BoardType.REVIEW, BoardType.FREE, BoardType.EVENT,
+            BoardType.NEWSLETTER, BoardType.NOTICE, BoardType.FAQ);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PostSearchIndex searchIndex;
+    private final long boardTimeoutMs;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /** 🚩 게시판 조회 동시 실행 제한 (전체 검색 요청 합산, 커넥션 풀 크기보다 작게) */
+    private final Semaphore queryPermits;
+
+    public UnifiedSearchService(DataSource dataSource,
+                                PostSearchIndex searchIndex,
+                                @Value("${search.board-timeout-ms:1500}") long boardTimeoutMs,
+                                @Value("${search.max-concurrent-queries:4}") int maxConcurrentQueries) {
+        // 게시판 하나가 느려도 DB 쪽에서 끊기도록 별도 쿼리 타임아웃을 둔 JdbcTemplate 사용
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setQueryTimeout((int) Math.max(1, (boardTimeoutMs + 999) / 1000));
+        this.searchIndex = searchIndex;
+        this.boardTimeoutMs = boardTimeoutMs;
+        this.queryPermits = new Semaphore(Math.max(maxConcurrentQueries, 1), true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 검색 결과 한 건
+     */
+    public record Hit(BoardType board, int poNum, String title, LocalDateTime poDate, int score) {
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new HashMap<>();
+            map.put("board", board.name());
+            map.put("poNum", poNum);
+            map.put("poTitle", title);
+            map.put("poDate", poDate != null ? poDate.toString() : "");
+            map.put("score", score);
+            return map;
+        }
+    }
+
+    /**
+     * 통합 검색 (모든 게시판을 동시에 조회 후 병합)
+     * @param sort  score(관련도순, 기본) | date(최신순)
+     * @param limit 전체 결과 최대 건수
+     */
+    public Map<String, Object> search(String keyword, String sort, int limit) {
+        return search(keyword, sort, limit, null);
+    }
+
+    /**
+     * @param onBoardDone 게시판 하나가 끝날 때마다 (게시판, 결과) 로 호출 (스트리밍 응답용, null 가능)
+     */
+    public Map<String, Object> search(String keyword, String sort, int limit,
+                                      BiConsumer<BoardType, List<Hit>> onBoardDone) {
+        Comparator<Hit> order = comparator(sort);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(boardTimeoutMs);
+
+        Map<BoardType, Future<List<Hit>>> futures = new LinkedHashMap<>();
+        for (BoardType board : SEARCH_BOARDS) {
+            futures.put(board, executor.submit(() -> {
+                // 제한 시간 안에 차례가 오지 않으면 커넥션을 잡지 않고 시간 초과로 처리
+                long wait = Math.max(0, deadline - System.nanoTime());
+                if (!queryPermits.tryAcquire(wait, TimeUnit.NANOSECONDS)) {
+                    throw new TimeoutException("search permit");
+                }
+                List<Hit> hits;
+                try {
+                    hits = searchBoard(board, keyword, order, limit);
+                } finally {
+                    queryPermits.release();
+                }
+                if (onBoardDone != null) onBoardDone.accept(board, hits);
+                return hits;
+            }));
+        }
+
+        List<List<Hit>> perBoard = new ArrayList<>();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        List<String> timedOut = new ArrayList<>();
+        List<String> failed = new ArrayList<>();
+
+        for (Map.Entry<BoardType, Future<List<Hit>>> e : futures.entrySet()) {
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                List<Hit> hits = e.getValue().get(remaining, TimeUnit.NANOSECONDS);
+                perBoard.add(hits);
+                counts.put(e.getKey().name(), hits.size());
+            } catch (TimeoutException ex) {
+                e.getValue().cancel(true);
+                timedOut.add(e.getKey().name());
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof TimeoutException) {
+                    timedOut.add(e.getKey().name());
+                } else {
+                    log.warn("통합 검색 실패 ({}): {}", e.getKey(), ex.getMessage());
+                    failed.add(e.getKey().name());
+                }
+            } catch (Exception ex) {
+                log.warn("통합 검색 실패 ({}): {}", e.getKey(), ex.getMessage());
+                failed.add(e.getKey().name());
+            }
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("keyword", keyword);
+        result.put("sort", "date".equals(sort) ? "date" : "score");
+        result.put("results", merge(perBoard, order, limit).stream().map(Hit::toMap).collect(Collectors.toList()));
+        result.put("boards", counts);
+        result.put("timedOut", timedOut);
+        result.put("failed", failed);
+        return result;
+    }
+
+    /**
+     * 게시판별로 정렬된 목록들을 k-way 병합하여 상위 limit 건
+     */
+    static List<Hit> merge(List<List<Hit>> lists, Comparator<Hit> order, int limit) {
+        // [목록 번호, 목록 안 위치]
+        PriorityQueue<int[]> heap = new PriorityQueue<>(
+                (a, b) -> order.compare(lists.get(a[0]).get(a[1]), lists.get(b[0]).get(b[1])));
+        for (int i = 0; i < lists.size(); i++) {
+            if (!lists.get(i).isEmpty()) heap.add(new int[]{i, 0});
+        }
+
+        List<Hit> merged = new ArrayList<>(limit);
+        while (!heap.isEmpty() && merged.size() < limit) {
+            int[] top = heap.poll();
+            List<Hit> list = lists.get(top[0]);
+            merged.add(list.get(top[1]));
+            if (top[1] + 1 < list.size()) heap.add(new int[]{top[0], top[1] + 1});
+        }
+        return merged;
+    }
+
+    /**
+     * 게시판 하나 검색 → order 기준으로 정렬된 상위 limit 건
+     * 점수 = 제목 포함 2 + 본문 포함 1 (모든 게시판 공통 기준이라 병합 순서가 일관됨)
+     */
+    private List<Hit> searchBoard(BoardType board, String keyword, Comparator<Hit> order, int limit) {
+        String like = "%" + escapeLike(keyword.trim()) + "%";
+
+        List<Integer> indexed = searchIndex.isIndexed(board)
+                ? searchIndex.search(board, "title_content", keyword)
+                : null;
+        if (indexed == null) {
+            String where = "(" + board.getTitleColumn() + " LIKE ? OR " + board.getContentColumn() + " LIKE ?)";
+            return queryHits(board, like, where, List.of(), order, limit);
+        }
+        if (indexed.isEmpty()) return List.of();
+
+        /*
+         * 🚩 색인 후보는 잘라내지 않고 글 번호 내림차순(최신 글부터)으로 묶어서 LIKE 재확인
+         * - 색인 점수순으로 앞부분만 자르면 최신순 정렬에서 새 글이 빠지고, 재확인에서 살아남을 글도 버려지므로
+         * - 글 번호가 작성 순서이므로 뒤 묶음의 글은 앞 묶음보다 오래된 글입니다.
+         *   최신순은 limit 건이 차면, 관련도순은 limit 번째 결과가 최고 점수이면 더 볼 필요가 없습니다.
+         */
+        List<Integer> ids = new ArrayList<>(indexed);
+        ids.sort(Comparator.reverseOrder());
+
+        List<Hit> best = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += INDEX_VERIFY_BATCH) {
+            List<Integer> batch = ids.subList(from, Math.min(from + INDEX_VERIFY_BATCH, ids.size()));
+            String where = board.getPkColumn() + " IN (" + batch.stream().map(i -> "?").collect(Collectors.joining(", ")) + ")"
+                    + " AND (" + board.getTitleColumn() + " LIKE ? OR " + board.getContentColumn() + " LIKE ?)";
+            best.addAll(queryHits(board, like, where, batch, order, limit));
+            best.sort(order);
+            if (best.size() > limit) best.subList(limit, best.size()).clear();
+
+            if (best.size() == limit && (order == DATE_ORDER || best.get(limit - 1).score() >= MAX_SCORE)) break;
+        }
+        return best;
+    }
+
+    /**
+     * 조건에 맞는 글을 order 기준 상위 limit 건 조회
+     * @param where   삭제 여부 조건 뒤에 붙는 조건 (LIKE 자리 2개 포함)
+     * @param idArgs  where 안 IN 목록 인자
+     */
+    private List<Hit> queryHits(BoardType board, String like, String where, List<Integer> idArgs,
+                                Comparator<Hit> order, int limit) {
+        String select = "SELECT " + board.getPkColumn() + " AS po_num, "
+                + board.getTitleColumn() + " AS po_title, "
+                + board.getDateColumn() + " AS po_date, "
+                + "((" + board.getTitleColumn() + " LIKE ?) * 2 + (" + board.getContentColumn() + " LIKE ?)) AS score"
+                + " FROM " + board.getTable()
+                + " WHERE " + board.getDelColumn() + " = 'N' AND ";
+        String orderBy = order == DATE_ORDER
+                ? " ORDER BY " + board.getDateColumn() + " DESC, " + board.getPkColumn() + " DESC"
+                : " ORDER BY score DESC, " + board.getDateColumn() + " DESC, " + board.getPkColumn() + " DESC";
+
+        List<Object> args = new ArrayList<>(List.of(like, like));
+        args.addAll(idArgs);
+        args.add(like);
+        args.add(like);
+        args.add(limit);
+
+        return jdbcTemplate.query(select + where + orderBy + " LIMIT ?", (rs, i) -> {
+            Timestamp ts = rs.getTimestamp("po_date");
+            return new Hit(board, rs.getInt("po_num"), rs.getString("po_title"),
+                    ts != null ? ts.toLocalDateTime() : null, rs.getInt("score"));
+        }, args.toArray());
+    }
+
+    private static final Comparator<Hit> DATE_ORDER = Comparator
+            .comparing(Hit::poDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Hit::poNum, Comparator.reverseOrder());
+
+    private static final Comparator<Hit> SCORE_ORDER = Comparator
+            .comparingInt(Hit::score).reversed()
+            .thenComparing(DATE_ORDER);
+
+    private static Comparator<Hit> comparator(String sort) {
+        return "date".equals(sort) ? DATE_ORDER : SCORE_ORDER;
+    }
+
+    private static String escapeLike(String keyword) {
+        return keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -17,6 +17,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import kr.hi.travel_community.security.jwt.JwtTokenProvider;
+import kr.hi.travel_community.security.jwt.TokenEpochRegistry;
 import kr.hi.travel_community.service.MemberDetailService;
 import lombok.RequiredArgsConstructor;
 
@@ -26,6 +27,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final MemberDetailService userDetailsService;
+    private final TokenEpochRegistry tokenEpochRegistry;
 
     // ✅ 인증 없이 접근해야 하는 경로는 JWT 필터 자체를 타지 않게 제외
     @Override
@@ -92,7 +94,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            // 🚩 회원 정보 클레임이 있고 그 뒤로 회원 정보가 바뀌지 않았으면 DB 조회 없이 토큰으로 인증
+            UserDetails userDetails = jwtTokenProvider.toPrincipal(claims);
+            if (userDetails == null
+                    || !tokenEpochRegistry.isCurrent(username, jwtTokenProvider.issuedAtMillis(claims))) {
+                userDetails = userDetailsService.loadUserByUsername(username);
+            }
 
             // ✅ 네 MemberDetailService가 null 리턴 가능해서 방어
             if (userDetails == null) {
@@ -14,6 +14,8 @@ import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import kr.hi.travel_community.model.util.CustomUser;
+import kr.hi.travel_community.model.util.UserRole;
+import kr.hi.travel_community.model.vo.MemberVO;
 
 @Component
 public class JwtTokenProvider {
@@ -21,15 +23,18 @@ public class JwtTokenProvider {
 	private final Key key;
 	private final long accessTokenValidity; // 토큰 유지 시간(ms)
 	private final long refreshTokenValidity; // 리프레시 토큰 유지 시간(ms)
+	private final boolean richAccessToken; // access token 에 회원 정보 클레임 포함 여부
 
 	public JwtTokenProvider(
 			@Value("${jwt.secret}") String secret,
 			@Value("${jwt.token-validity-in-seconds}") long accessSeconds,
-			@Value("${jwt.refresh-token-validity-in-seconds}") long refreshSeconds
+			@Value("${jwt.refresh-token-validity-in-seconds}") long refreshSeconds,
+			@Value("${jwt.rich-access-token:true}") boolean richAccessToken
 	) {
 		this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
 		this.accessTokenValidity = accessSeconds * 1000;
 		this.refreshTokenValidity = refreshSeconds * 1000;
+		this.richAccessToken = richAccessToken;
 	}
 
 	// =========================
@@ -115,6 +120,57 @@ public class JwtTokenProvider {
 		return builder.compact();
 	}
 
+	/**
+	 * 🚩 회원 정보를 담은 Access Token (/login, /auth/refresh)
+	 * - mbn(회원 번호) / role(mb_rol) / nick / pver(사진 버전) / iatMs(발급 시각 ms) 를 넣어
+	 *   JWT 필터가 DB 조회 없이 CustomUser 를 만들 수 있게 합니다.
+	 * - jwt.rich-access-token=false 이면 기존처럼 subject 만 담습니다.
+	 */
+	public String createAccessToken(MemberVO member) {
+		if (!richAccessToken) return createAccessToken(member.getMb_Uid());
+
+		long now = System.currentTimeMillis();
+		var builder = Jwts.builder()
+				.setSubject(member.getMb_Uid())
+				.setIssuedAt(new Date(now))
+				.setExpiration(new Date(now + accessTokenValidity))
+				.signWith(key, SignatureAlgorithm.HS256)
+				.claim("type", "access")
+				.claim("mbn", member.getMb_num())
+				.claim("role", member.getMb_rol() != null ? member.getMb_rol() : UserRole.USER.name())
+				.claim("nick", member.getMb_nickname())
+				.claim("iatMs", now);
+		if (member.getMb_photo_ver() != null) {
+			builder.claim("pver", member.getMb_photo_ver());
+		}
+		return builder.compact();
+	}
+
+	/**
+	 * 🚩 검증된 클레임 → CustomUser (회원 정보 클레임이 없는 예전 토큰이면 null → 호출 측에서 DB 조회)
+	 */
+	public CustomUser toPrincipal(Claims claims) {
+		if (!(claims.get("mbn") instanceof Number mbNum)) return null;
+
+		MemberVO member = new MemberVO();
+		member.setMb_num(mbNum.intValue());
+		member.setMb_Uid(claims.getSubject());
+		member.setMb_nickname(claims.get("nick", String.class));
+		member.setMb_rol(claims.get("role", String.class));
+		if (claims.get("pver") instanceof Number photoVer) {
+			member.setMb_photo_ver(photoVer.intValue());
+		}
+		return new CustomUser(member);
+	}
+
+	/**
+	 * 발급 시각(ms). iatMs 클레임이 없으면 iat(초 단위)
+	 */
+	public long issuedAtMillis(Claims claims) {
+		if (claims.get("iatMs") instanceof Number ms) return ms.longValue();
+		return claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L;
+	}
+
 	/**
 	 * ✅ 쿠키에서 토큰 꺼내기 (refreshToken 읽을 때 사용)
 	 */
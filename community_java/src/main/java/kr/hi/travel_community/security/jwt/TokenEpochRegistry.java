@@ -0,0 +1,40 @@
+package kr.hi.travel_community.security.jwt;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🚩 회원별 마지막 정보 변경 시각 (access token 의 클레임이 아직 유효한지 판단)
+ * - 닉네임/권한/사진 등이 바뀌면 bump → 그 이전에 발급된 토큰의 클레임은 믿지 않고 DB 경로로 다시 조회합니다.
+ * - access token 유효 시간이 지난 기록은 필요 없으므로 정리합니다. (서버 재시작 시 비어 있음 = 모든 토큰 클레임 신뢰)
+ */
+@Component
+public class TokenEpochRegistry {
+
+	private static final int PRUNE_THRESHOLD = 1000;
+
+	private final ConcurrentHashMap<String, Long> epochs = new ConcurrentHashMap<>();
+	private final long accessTokenValidity;
+
+	public TokenEpochRegistry(@Value("${jwt.token-validity-in-seconds}") long accessSeconds) {
+		this.accessTokenValidity = accessSeconds * 1000;
+	}
+
+	public void bump(String username) {
+		long now = System.currentTimeMillis();
+		epochs.merge(username, now, Math::max);
+		if (epochs.size() > PRUNE_THRESHOLD) {
+			epochs.values().removeIf(epoch -> epoch < now - accessTokenValidity);
+		}
+	}
+
+	/**
+	 * 마지막 변경 이후에 발급된 토큰인지
+	 */
+	public boolean isCurrent(String username, long issuedAtMillis) {
+		Long epoch = epochs.get(username);
+		return epoch == null || issuedAtMillis > epoch;
+	}
+}
@@ -8,13 +8,16 @@ import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import kr.hi.travel_community.cache.DetailCache;
 import kr.hi.travel_community.entity.InquiryBox;
 import kr.hi.travel_community.entity.ReportBox;
+import kr.hi.travel_community.model.util.BoardType;
 import kr.hi.travel_community.repository.FreeRepository;
 import kr.hi.travel_community.repository.InquiryRepository;
 import kr.hi.travel_community.repository.RecommendRepository;
 import kr.hi.travel_community.repository.ReportRepository;
 import kr.hi.travel_community.repository.ReviewRepository;
+import kr.hi.travel_community.search.PostSearchIndex;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -26,6 +29,9 @@ public class AdminService {
     private final RecommendRepository recommendRepository;
     private final ReviewRepository reviewRepository;
     private final FreeRepository freeRepository;
+    private final RecommendRankingService recommendRankingService;
+    private final DetailCache detailCache;
+    private final PostSearchIndex searchIndex;
 
     public List<Map<String, Object>> getAllInquiries() {
         return inquiryRepository.findAllByOrderByIbNumDesc().stream()
@@ -73,16 +79,21 @@ public class AdminService {
                 recommendRepository.findByPoNumAndPoDel(rbId, "N").ifPresent(p -> {
                     p.setPoDel("Y");
                     recommendRepository.save(p);
+                    detailCache.evict(BoardType.RECOMMEND, rbId);
+                    searchIndex.remove(BoardType.RECOMMEND, rbId);
+                    recommendRankingService.onRemoved(rbId);
                 });
             } else if ("REVIEW".equals(rbName) || "REVIEWBOARD".equals(rbName)) {
                 reviewRepository.findByPoNumAndPoDel(rbId, "N").ifPresent(p -> {
                     p.setPoDel("Y");
                     reviewRepository.save(p);
+                    detailCache.evict(BoardType.REVIEW, rbId);
                 });
             } else if ("FREE".equals(rbName) || "FREEBOARD".equals(rbName)) {
                 freeRepository.findByPoNumAndPoDel(rbId, "N").ifPresent(p -> {
                     p.setPoDel("Y");
                     freeRepository.save(p);
+                    detailCache.evict(BoardType.FREE, rbId);
                 });
             }
         } catch (Exception e) {
@@ -0,0 +1,113 @@
+package kr.hi.travel_community.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import kr.hi.travel_community.model.vo.AuthorVO;
+import kr.hi.travel_community.repository.MemberRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 🚩 작성자(닉네임) 일괄 조회 서비스
+ * - 한 페이지에 등장하는 회원 번호를 중복 제거 후 IN 쿼리 한 번으로 조회합니다.
+ * - 같은 요청 안에서 이미 조회한 회원은 request scope 메모에서 재사용합니다.
+ *   (탈퇴 등으로 없는 회원도 null 로 기억하여 다시 조회하지 않습니다.)
+ */
+@Service
+@RequiredArgsConstructor
+public class AuthorLookupService {
+
+    private static final String MEMO_ATTRIBUTE = AuthorLookupService.class.getName() + ".MEMO";
+
+    private final MemberRepository memberRepository;
+
+    /**
+     * 회원 번호 목록 → (회원 번호, 작성자 정보) Map
+     * 존재하지 않는 회원은 결과 Map 에 포함되지 않습니다.
+     */
+    public Map<Integer, AuthorVO> loadAuthors(Collection<Integer> mbNums) {
+        Map<Integer, AuthorVO> memo = requestMemo();
+        Map<Integer, AuthorVO> result = new HashMap<>();
+
+        Set<Integer> missing = new LinkedHashSet<>();
+        for (Integer mbNum : mbNums) {
+            if (mbNum == null) continue;
+            if (memo.containsKey(mbNum)) {
+                AuthorVO cached = memo.get(mbNum);
+                if (cached != null) result.put(mbNum, cached);
+            } else {
+                missing.add(mbNum);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (AuthorVO author : memberRepository.findAuthorsByMbNumIn(missing)) {
+                result.put(author.getMbNum(), author);
+                memo.put(author.getMbNum(), author);
+            }
+            // 조회되지 않은 번호도 기억해서 같은 요청에서 재조회하지 않음
+            missing.stream().filter(n -> !result.containsKey(n)).forEach(n -> memo.put(n, null));
+        }
+        return result;
+    }
+
+    /**
+     * 회원 번호 목록 → (회원 번호, 닉네임) Map
+     */
+    public Map<Integer, String> loadNicknames(Collection<Integer> mbNums) {
+        Map<Integer, String> nicknames = new HashMap<>();
+        loadAuthors(mbNums).forEach((mbNum, author) -> {
+            if (author.getMbNickname() != null) nicknames.put(mbNum, author.getMbNickname());
+        });
+        return nicknames;
+    }
+
+    /**
+     * 🚩 목록 Map 에 작성자 프로필 사진 주소 추가 (같은 요청에서 닉네임과 함께 조회한 작성자는 메모에서 재사용)
+     * @param mbNumKey 회원 번호가 들어 있는 키 (poMbNum / nnMbNum / coMbNum)
+     * @param urlKey   주소를 넣을 키 (사진이 없는 회원은 null → 화면 기본 이미지)
+     */
+    public List<Map<String, Object>> putAvatarUrls(List<Map<String, Object>> rows, String mbNumKey, String urlKey) {
+        Set<Integer> mbNums = new LinkedHashSet<>();
+        for (Map<String, Object> row : rows) {
+            if (row.get(mbNumKey) instanceof Integer mbNum) mbNums.add(mbNum);
+        }
+        Map<Integer, AuthorVO> authors = mbNums.isEmpty() ? Map.of() : loadAuthors(mbNums);
+        for (Map<String, Object> row : rows) {
+            row.put(urlKey, avatarUrl(authors.get(row.get(mbNumKey))));
+        }
+        return rows;
+    }
+
+    /**
+     * 버전이 들어간 공개 프로필 사진 주소 (버전이 바뀌면 주소도 바뀌므로 브라우저/프록시가 영구 캐시)
+     */
+    public static String avatarUrl(AuthorVO author) {
+        if (author == null || author.getMbPhotoVer() == null) return null;
+        return "/avatar/" + author.getMbNum() + "/" + author.getMbPhotoVer();
+    }
+
+    /**
+     * 현재 HTTP 요청에 묶인 메모 (요청 밖에서 호출되면 일회용 Map)
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Integer, AuthorVO> requestMemo() {
+        RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+        if (attrs == null) return new HashMap<>();
+
+        Object memo = attrs.getAttribute(MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<Integer, AuthorVO>();
+            attrs.setAttribute(MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Map<Integer, AuthorVO>) memo;
+    }
+}
@@ -0,0 +1,150 @@
+package kr.hi.travel_community.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import kr.hi.travel_community.dao.AvatarDAO;
+import kr.hi.travel_community.media.AvatarImageProcessor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 🚩 프로필 사진 조회/저장
+ * - 이미지는 member_avatar 테이블에 두고, (회원 번호, mb_photo_ver) 를 키로 한 바이트 LRU 캐시(총 용량 제한)에서 응답합니다.
+ * - 사진을 바꾸면 버전이 올라가므로 이전 버전 캐시는 자연히 밀려납니다. (ETag 도 버전 기준)
+ * - 업로드 때 AvatarImageProcessor 로 정사각형 JPEG 2종(av_data: LARGE, av_small: SMALL)을 만들어 둡니다.
+ */
+@Service
+@Slf4j
+public class AvatarService {
+
+    /** 캐시에 담긴 프로필 사진 */
+    public record Avatar(int ver, String contentType, byte[] data) {}
+
+    private final AvatarDAO avatarDAO;
+    private final AvatarImageProcessor imageProcessor;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+
+    /** "mbNum:ver" → 사진 (접근 순서, 총 바이트 수로 제한) */
+    private final LinkedHashMap<String, Avatar> cache = new LinkedHashMap<>(256, 0.75f, true);
+    private long cachedBytes;
+
+    public AvatarService(AvatarDAO avatarDAO, AvatarImageProcessor imageProcessor,
+                         @Value("${avatar.cache-max-bytes:33554432}") long maxBytes) {
+        this.avatarDAO = avatarDAO;
+        this.imageProcessor = imageProcessor;
+        this.maxBytes = maxBytes;
+        // 한 장이 캐시 대부분을 차지하지 않도록 (큰 사진은 캐시하지 않고 매번 조회)
+        this.maxEntryBytes = Math.max(1, maxBytes / 8);
+    }
+
+    /**
+     * 강한 ETag (회원 번호 + 사진 버전)
+     */
+    public static String etag(int mbNum, int ver) {
+        return "\"av-" + mbNum + "-" + ver + "\"";
+    }
+
+    /**
+     * 해당 버전의 사진 (캐시 → 없으면 member_avatar 조회). 사진이 없거나 버전이 다르면 null
+     */
+    public Avatar load(int mbNum, int ver) {
+        String key = mbNum + ":" + ver;
+        synchronized (cache) {
+            Avatar hit = cache.get(key);
+            if (hit != null) return hit;
+        }
+
+        Map<String, Object> row = avatarDAO.selectAvatar(mbNum);
+        if (row == null || !(row.get("avData") instanceof byte[] data) || data.length == 0) return null;
+        int storedVer = row.get("avVer") instanceof Number n ? n.intValue() : 0;
+        Object type = row.get("avType");
+        Avatar avatar = new Avatar(storedVer, type != null ? type.toString() : "image/jpeg", data);
+        if (storedVer != ver) {
+            // 요청 버전과 저장 버전이 다르면(사진 변경 직후 등) 최신 사진을 돌려주되 캐시는 저장 버전 키로
+            put(mbNum + ":" + storedVer, avatar);
+            return avatar;
+        }
+        put(key, avatar);
+        return avatar;
+    }
+
+    /**
+     * 🚩 목록/댓글용 작은 사진 (업로드 때 만든 SMALL 크기 JPEG, "회원:버전:s" 키로 캐시)
+     * 돌려준 사진의 ver 가 요청 버전과 다르면 호출 측에서 최신 주소로 보냅니다.
+     */
+    public Avatar loadSmall(int mbNum, int ver) {
+        String key = mbNum + ":" + ver + ":s";
+        synchronized (cache) {
+            Avatar hit = cache.get(key);
+            if (hit != null) return hit;
+        }
+
+        Map<String, Object> row = avatarDAO.selectAvatarSmall(mbNum);
+        if (row == null) return null;
+        int storedVer = row.get("avVer") instanceof Number n ? n.intValue() : 0;
+        Avatar small;
+        if (row.get("avSmall") instanceof byte[] data && data.length > 0) {
+            small = new Avatar(storedVer, "image/jpeg", data);
+        } else {
+            // 정규화 이전에 올린 사진: 원본에서 한 번 만들어 캐시 (DB 에는 손대지 않음)
+            Avatar full = load(mbNum, storedVer);
+            if (full == null) return null;
+            small = shrink(full);
+        }
+        put(mbNum + ":" + storedVer + ":s", small);
+        return small;
+    }
+
+    /**
+     * 정규화된 사진 저장 (member.mb_photo_ver 갱신은 호출 측 트랜잭션에서)
+     */
+    public void save(int mbNum, int ver, AvatarImageProcessor.Encoded encoded) {
+        avatarDAO.upsertAvatar(mbNum, ver, "image/jpeg", encoded.large(), encoded.small());
+        put(mbNum + ":" + ver, new Avatar(ver, "image/jpeg", encoded.large()));
+        put(mbNum + ":" + ver + ":s", new Avatar(ver, "image/jpeg", encoded.small()));
+    }
+
+    public void delete(int mbNum) {
+        avatarDAO.deleteAvatar(mbNum);
+        String prefix = mbNum + ":";
+        synchronized (cache) {
+            for (Iterator<Map.Entry<String, Avatar>> it = cache.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<String, Avatar> e = it.next();
+                if (e.getKey().startsWith(prefix)) {
+                    cachedBytes -= e.getValue().data().length;
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    private Avatar shrink(Avatar avatar) {
+        try {
+            AvatarImageProcessor.Encoded encoded = imageProcessor.encode(new ByteArrayInputStream(avatar.data()));
+            return encoded != null ? new Avatar(avatar.ver(), "image/jpeg", encoded.small()) : avatar;
+        } catch (IOException | RuntimeException e) {
+            log.warn("프로필 사진 축소 실패, 원본 사용: {}", e.getMessage());
+            return avatar;
+        }
+    }
+
+    private void put(String key, Avatar avatar) {
+        if (avatar.data().length > maxEntryBytes) return;
+        synchronized (cache) {
+            Avatar old = cache.put(key, avatar);
+            if (old != null) cachedBytes -= old.data().length;
+            cachedBytes += avatar.data().length;
+            for (Iterator<Avatar> it = cache.values().iterator(); cachedBytes > maxBytes && it.hasNext(); ) {
+                cachedBytes -= it.next().data().length;
+                it.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package kr.hi.travel_community.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import kr.hi.travel_community.entity.BookMark;
+import kr.hi.travel_community.model.util.BoardType;
+import kr.hi.travel_community.repository.BookMarkRepository;
+import kr.hi.travel_community.utill.KeysetPage;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 🚩 마이페이지 즐겨찾기 목록
+ * - 즐겨찾기는 (bm_mb_num, bm_num) 커서로 필요한 건수만 읽습니다.
+ * - 글 제목은 게시판별로 묶어 (글 번호, 제목) 만 IN 쿼리 한 번씩 조회합니다. (본문 LONGTEXT 를 읽지 않음)
+ */
+@Service
+@RequiredArgsConstructor
+public class BookMarkFeedService {
+
+    private static final String DELETED_TITLE = "(삭제된 글)";
+
+    private final BookMarkRepository bookMarkRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 최근 즐겨찾기 limit 건 (마이페이지 요약용)
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getRecent(int mbNum, int limit) {
+        return toFeed(bookMarkRepository.findByBmMbNumOrderByBmNumDesc(mbNum, PageRequest.of(0, limit)));
+    }
+
+    /**
+     * 즐겨찾기 커서 페이징: ?after=<bmNum>&size=N
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getPage(int mbNum, Integer after, Integer size) {
+        int limit = KeysetPage.normalizeSize(size);
+        List<BookMark> rows = (after == null)
+                ? bookMarkRepository.findByBmMbNumOrderByBmNumDesc(mbNum, KeysetPage.probe(limit))
+                : bookMarkRepository.findByBmMbNumAndBmNumLessThanOrderByBmNumDesc(mbNum, after, KeysetPage.probe(limit));
+        return KeysetPage.of(rows, limit, BookMark::getBmNum, this::toFeed);
+    }
+
+    private List<Map<String, Object>> toFeed(List<BookMark> bookmarks) {
+        // 게시판별 글 번호 묶기
+        Map<BoardType, List<Integer>> idsByBoard = new EnumMap<>(BoardType.class);
+        for (BookMark b : bookmarks) {
+            BoardType board = boardOf(b.getBmPoType());
+            if (board != null && b.getBmPoNum() != null) {
+                idsByBoard.computeIfAbsent(board, k -> new ArrayList<>()).add(b.getBmPoNum());
+            }
+        }
+
+        Map<BoardType, Map<Integer, String>> titles = new EnumMap<>(BoardType.class);
+        idsByBoard.forEach((board, ids) -> titles.put(board, loadTitles(board, ids)));
+
+        List<Map<String, Object>> result = new ArrayList<>(bookmarks.size());
+        for (BookMark b : bookmarks) {
+            BoardType board = boardOf(b.getBmPoType());
+            String title = board != null
+                    ? titles.getOrDefault(board, Collections.emptyMap()).get(b.getBmPoNum())
+                    : null;
+
+            Map<String, Object> m = new HashMap<>();
+            m.put("bmNum", b.getBmNum());
+            m.put("boardType", b.getBmPoType());
+            m.put("poNum", b.getBmPoNum());
+            m.put("poTitle", title != null ? title : DELETED_TITLE);
+            result.add(m);
+        }
+        return result;
+    }
+
+    /**
+     * SELECT pk, title FROM board WHERE pk IN (...) AND del = 'N'
+     */
+    private Map<Integer, String> loadTitles(BoardType board, List<Integer> ids) {
+        String sql = "SELECT " + board.getPkColumn() + ", " + board.getTitleColumn()
+                + " FROM " + board.getTable()
+                + " WHERE " + board.getPkColumn() + " IN (" + ids.stream().map(i -> "?").collect(Collectors.joining(", ")) + ")"
+                + " AND " + board.getDelColumn() + " = 'N'";
+
+        Map<Integer, String> titles = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            titles.put(rs.getInt(1), rs.getString(2));
+        }, ids.toArray());
+        return titles;
+    }
+
+    /**
+     * bm_po_type → 게시판 (마이페이지는 recommend/reviewboard/freeboard, 자유게시판 상세는 FREE 로 저장)
+     */
+    static BoardType boardOf(String poType) {
+        if (poType == null) return null;
+        switch (poType.trim().toLowerCase()) {
+            case "recommend": return BoardType.RECOMMEND;
+            case "reviewboard": return BoardType.REVIEW;
+            case "freeboard": return BoardType.FREE;
+            default: return BoardType.fromCode(poType);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package kr.hi.travel_community.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import kr.hi.travel_community.cache.DetailCache;
+import kr.hi.travel_community.model.util.BoardType;
+import kr.hi.travel_community.repository.CommentLikeRepository;
+import kr.hi.travel_community.repository.CommentRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 🚩 댓글 좋아요 토글 (번호만 사용)
+ * - comment_like 의 (mb_num, co_num) 유니크 키를 기준으로 DELETE → 없으면 INSERT IGNORE 로 토글합니다.
+ *   (Member / Comment 엔티티를 읽지 않고, 동시에 눌러도 행이 중복되지 않음)
+ * - 좋아요 수는 UPDATE co_like = co_like + ? 로 상대 반영합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class CommentLikeService {
+
+    private final CommentLikeRepository commentLikeRepository;
+    private final CommentRepository commentRepository;
+    private final DetailCache detailCache;
+
+    /**
+     * @return { status: liked/unliked, count }, 댓글이 없거나 삭제된 경우 null
+     */
+    @Transactional
+    public Map<String, Object> toggle(Integer coNum, Integer mbNum) {
+        int delta;
+        if (commentLikeRepository.deleteByIds(mbNum, coNum) > 0) {
+            delta = -1;
+        } else if (commentLikeRepository.insertIgnore(mbNum, coNum) > 0) {
+            delta = 1;
+        } else {
+            // 댓글이 없거나, 동시에 들어온 다른 요청이 방금 추가함 → 좋아요 수 변화 없음
+            delta = 0;
+        }
+        if (delta != 0) commentRepository.addLikeCount(coNum, delta);
+
+        List<Object[]> rows = commentRepository.findLikeState(coNum);
+        if (rows.isEmpty()) return null;
+        Object[] row = rows.get(0);
+        if (delta == 0 && "Y".equals(row[3])) return null;
+
+        BoardType board = BoardType.fromCode((String) row[1]);
+        if (board != null && row[2] != null) detailCache.evict(board, (Integer) row[2]);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", delta >= 0 ? "liked" : "unliked");
+        response.put("count", row[0] == null ? 0 : row[0]);
+        return response;
+    }
+}
@@ -1,13 +1,18 @@
 package kr.hi.travel_community.service;
 
+import kr.hi.travel_community.cache.DetailCache;
 import kr.hi.travel_community.entity.Comment;
 import kr.hi.travel_community.entity.Member;
+import kr.hi.travel_community.model.util.BoardType;
+import kr.hi.travel_community.repository.CommentLikeRepository;
 import kr.hi.travel_community.repository.CommentRepository;
 import kr.hi.travel_community.repository.MemberRepository;
+import kr.hi.travel_community.utill.KeysetPage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -17,13 +22,127 @@ import java.util.stream.Collectors;
 public class CommentService {
 
     private final CommentRepository commentRepository;
+    private final CommentLikeRepository commentLikeRepository;
     private final MemberRepository memberRepository;
+    private final AuthorLookupService authorLookupService;
+    private final RecommendRankingService recommendRankingService;
+    private final DetailCache detailCache;
+
+    /** 답글 트리 최대 탐색 깊이 */
+    private static final int MAX_REPLY_DEPTH = 50;
 
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getCommentList(Integer postId, String type) {
         List<Comment> comments = commentRepository.findByCoPoNumAndCoPoTypeAndCoDelOrderByCoDateAsc(postId, type, "N");
 
-        return comments.stream().map(c -> {
+        return toMaps(comments);
+    }
+
+    /**
+     * 🚩 최상위 댓글(스레드) 커서 페이징: ?cursor=<nextCursor>&size=N
+     * - (co_date, co_num) keyset 으로 다음 size 건만 조회합니다. (댓글이 많아도 페이지 비용 일정)
+     * - 각 스레드에는 직속 답글 수(replyCount)만 담고, 답글은 getReplies 로 필요할 때 불러옵니다.
+     * @throws IllegalArgumentException 커서 형식이 잘못된 경우
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getThreads(Integer postId, String type, String cursor, Integer size) {
+        int limit = KeysetPage.normalizeSize(size);
+        Comment after = decodeCursor(cursor);
+        List<Comment> rows = (after == null)
+                ? commentRepository.findThreadRoots(postId, type, KeysetPage.probe(limit))
+                : commentRepository.findThreadRootsAfter(postId, type, after.getCoDate(), after.getCoNum(), KeysetPage.probe(limit));
+
+        Map<String, Object> page = KeysetPage.of(rows, limit, CommentService::encodeCursor, roots -> {
+            Map<Integer, Long> replyCounts = countReplies(roots);
+            List<Map<String, Object>> threads = toMaps(roots);
+            for (Map<String, Object> thread : threads) {
+                thread.put("replyCount", replyCounts.getOrDefault((Integer) thread.get("coNum"), 0L));
+            }
+            return threads;
+        });
+        page.put("threads", page.remove("posts"));
+        return page;
+    }
+
+    /**
+     * 🚩 답글 트리 지연 로딩: 부모 댓글 아래 전체 답글을 트리(replies 중첩)로 반환
+     * - 한 단계씩 부모 번호 IN 조회로 내려가므로 쿼리 수는 트리 깊이만큼입니다.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getReplies(Integer parentId) {
+        List<Comment> descendants = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+        seen.add(parentId);
+        List<Integer> level = List.of(parentId);
+
+        for (int depth = 0; depth < MAX_REPLY_DEPTH && !level.isEmpty(); depth++) {
+            List<Integer> next = new ArrayList<>();
+            for (Comment c : commentRepository.findByCoOriNumInAndCoDelOrderByCoDateAscCoNumAsc(level, "N")) {
+                if (!seen.add(c.getCoNum())) continue; // 순환 참조 방어
+                descendants.add(c);
+                next.add(c.getCoNum());
+            }
+            level = next;
+        }
+        return buildTree(descendants);
+    }
+
+    /**
+     * 🚩 평면 댓글 목록 → 트리 (한 번 훑어 노드를 만들고, 한 번 더 훑어 부모에 연결)
+     * - rows 의 순서(작성일 순)가 각 replies 목록 안에서도 그대로 유지됩니다.
+     * - 부모가 목록에 없는 댓글(요청한 부모의 직속 답글)은 최상위 목록에 담습니다.
+     */
+    private List<Map<String, Object>> buildTree(List<Comment> rows) {
+        List<Map<String, Object>> maps = toMaps(rows);
+        Map<Integer, Map<String, Object>> nodes = new HashMap<>(maps.size() * 2);
+        for (Map<String, Object> node : maps) {
+            node.put("replies", new ArrayList<Map<String, Object>>());
+            nodes.put((Integer) node.get("coNum"), node);
+        }
+
+        List<Map<String, Object>> top = new ArrayList<>();
+        for (Map<String, Object> node : maps) {
+            Map<String, Object> parent = nodes.get(node.get("coOriNum"));
+            if (parent != null) {
+                replies(parent).add(node);
+            } else {
+                top.add(node);
+            }
+        }
+        for (Map<String, Object> node : maps) {
+            node.put("replyCount", (long) replies(node).size());
+        }
+        return top;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> replies(Map<String, Object> node) {
+        return (List<Map<String, Object>>) node.get("replies");
+    }
+
+    private Map<Integer, Long> countReplies(List<Comment> parents) {
+        Map<Integer, Long> counts = new HashMap<>();
+        if (parents.isEmpty()) return counts;
+        List<Integer> ids = parents.stream().map(Comment::getCoNum).collect(Collectors.toList());
+        for (Object[] row : commentRepository.countRepliesGroupByCoOriNum(ids)) {
+            counts.put((Integer) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    private List<Map<String, Object>> toMaps(List<Comment> comments) {
+        // 🚩 댓글 작성자 닉네임을 한 번에 조회 (댓글 수만큼 회원 조회가 반복되지 않도록)
+        Map<Integer, String> nicknames = authorLookupService.loadNicknames(
+                comments.stream().map(Comment::getCoMbNum).filter(Objects::nonNull).collect(Collectors.toSet()));
+
+        // 🚩 로그인 사용자가 좋아요한 댓글 번호를 IN 조회 한 번으로 확인
+        Integer viewer = ViewerStateService.currentMbNum();
+        Set<Integer> liked = (viewer == null || comments.isEmpty())
+                ? Collections.emptySet()
+                : new HashSet<>(commentLikeRepository.findLikedCommentNums(viewer,
+                        comments.stream().map(Comment::getCoNum).collect(Collectors.toList())));
+
+        List<Map<String, Object>> maps = comments.stream().map(c -> {
             Map<String, Object> map = new HashMap<>();
             map.put("coNum", c.getCoNum());
             map.put("coContent", c.getCoContent());
@@ -37,20 +156,25 @@ public class CommentService {
             // 🚩 작성자 닉네임 조회 로직 보강 (coNickname 필드 보장)
             String nickname = "알 수 없는 사용자";
             if (c.getCoMbNum() != null) {
-                nickname = memberRepository.findById(c.getCoMbNum())
-                        .map(Member::getMbNickname)
-                        .orElse("탈퇴한 사용자");
+                nickname = nicknames.getOrDefault(c.getCoMbNum(), "탈퇴한 사용자");
             }
             map.put("coNickname", nickname);
+            map.put("isLikedByMe", liked.contains(c.getCoNum()));
 
             return map;
         }).collect(Collectors.toList());
+        // 🚩 댓글 작성자 프로필 사진 주소 (/avatar/{회원 번호}/{사진 버전}, 닉네임과 같은 조회 결과 재사용)
+        return authorLookupService.putAvatarUrls(maps, "coMbNum", "coAvatarUrl");
     }
 
+    /**
+     * 🚩 댓글 등록 + 추천 게시판 랭킹 반영 + 게시글 상세 캐시 무효화
+     * @return 응답용 { coNum, coNickname }, 작성자가 없으면 null
+     */
     @Transactional
     public Map<String, Object> addComment(Integer postId, String content, String type, Integer parentId, Integer mbNum) {
-        Member member = memberRepository.findById(mbNum)
-                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        Member member = memberRepository.findById(mbNum).orElse(null);
+        if (member == null) return null;
 
         // 🚩 답글(parentId)이 0으로 넘어올 경우 Null 처리
         Integer finalParentId = (parentId != null && parentId == 0) ? null : parentId;
@@ -67,6 +191,8 @@ public class CommentService {
                 .build();
 
         commentRepository.save(comment);
+        if ("RECOMMEND".equals(type)) recommendRankingService.onComment(postId, 1);
+        evictPostDetail(type, postId);
 
         Map<String, Object> result = new HashMap<>();
         result.put("coNum", comment.getCoNum());
@@ -74,19 +200,66 @@ public class CommentService {
         return result;
     }
 
+    /**
+     * @return 댓글이 없으면 false
+     */
     @Transactional
-    public void updateComment(Integer commentId, String content) {
-        Comment comment = commentRepository.findById(commentId)
-                .orElseThrow(() -> new RuntimeException("댓글이 존재하지 않습니다."));
+    public boolean updateComment(Integer commentId, String content) {
+        Comment comment = commentRepository.findById(commentId).orElse(null);
+        if (comment == null) return false;
         comment.setCoContent(content);
         commentRepository.save(comment);
+        evictPostDetail(comment.getCoPoType(), comment.getCoPoNum());
+        return true;
     }
 
+    /**
+     * 🚩 소프트 삭제 + 추천 게시판 랭킹 반영 (이미 삭제된 댓글은 다시 빼지 않음)
+     * @return 댓글이 없으면 false
+     */
     @Transactional
-    public void deleteComment(Integer commentId) {
-        Comment comment = commentRepository.findById(commentId)
-                .orElseThrow(() -> new RuntimeException("댓글이 존재하지 않습니다."));
+    public boolean deleteComment(Integer commentId) {
+        Comment comment = commentRepository.findById(commentId).orElse(null);
+        if (comment == null) return false;
+        boolean wasActive = !"Y".equals(comment.getCoDel());
         comment.setCoDel("Y");
         commentRepository.save(comment);
+        if (wasActive && "RECOMMEND".equals(comment.getCoPoType())) {
+            recommendRankingService.onComment(comment.getCoPoNum(), -1);
+        }
+        evictPostDetail(comment.getCoPoType(), comment.getCoPoNum());
+        return true;
+    }
+
+    /**
+     * 🚩 댓글이 바뀐 게시글의 상세 캐시 무효화 (커밋 후에도 한 번 더 지워짐, DetailCache.evict)
+     */
+    private void evictPostDetail(String type, Integer postId) {
+        BoardType board = BoardType.fromCode(type);
+        if (board != null) detailCache.evict(board, postId);
+    }
+
+    /* ===================== 커서 ===================== */
+
+    /**
+     * "<co_date ISO>|<co_num>" 를 URL-safe Base64 로 감싼 토큰
+     */
+    private static String encodeCursor(Comment last) {
+        String raw = last.getCoDate() + "|" + last.getCoNum();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Comment decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            return Comment.builder()
+                    .coDate(LocalDateTime.parse(parts[0]))
+                    .coNum(Integer.parseInt(parts[1]))
+                    .build();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
     }
-}
\ No newline at end of file
+}
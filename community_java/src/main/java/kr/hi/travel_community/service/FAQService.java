@@ -4,20 +4,19 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import kr.hi.travel_community.entity.FAQ;
 import kr.hi.travel_community.mapper.LikeMapper;
-import kr.hi.travel_community.model.vo.MemberVO;
-import kr.hi.travel_community.repository.MemberRepository;
 import kr.hi.travel_community.repository.FAQRepository;
+import kr.hi.travel_community.utill.KeysetPage;
+import kr.hi.travel_community.cache.DetailCache;
+import kr.hi.travel_community.model.util.BoardType;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -25,39 +24,59 @@ import lombok.RequiredArgsConstructor;
 public class FAQService {
 
     private final FAQRepository postRepository;
-    private final MemberRepository memberRepository; 
+    private final AuthorLookupService authorLookupService; // 🚩 작성자 닉네임 일괄 조회
+    private final ViewCountBuffer viewCountBuffer;
+    private final ViewDedupeStore viewDedupeStore;
+    private final DetailCache detailCache;
     private final LikeMapper likeMapper; 
+    private final PostLikeService postLikeService;
+    private final ViewerStateService viewerStateService;
+
+    private static final String DEFAULT_NICKNAME = "관리자";
 
     /**
      * 🚩 삭제되지 않은 FAQ 전체 목록 조회
      */
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getRealAllPosts() {
-        return postRepository.findByPoDelOrderByPoNumDesc("N").stream()
-                .map(this::convertToMap).collect(Collectors.toList());
+        return toMaps(postRepository.findByPoDelOrderByPoNumDesc("N"));
     }
 
     /**
-     * 🚩 조회수 증가 (쿠키를 이용한 중복 방지)
+     * 🚩 커서(keyset) 페이징 목록 조회: ?after=<poNum>&size=N
+     * after가 없으면 첫 페이지, 있으면 해당 글 번호보다 작은 글부터 size 건만 조회합니다.
      */
-    @Transactional
-    public void increaseViewCount(Integer id, HttpServletRequest request, HttpServletResponse response) {
-        Cookie[] cookies = request.getCookies();
-        String cookieName = "viewed_faq_" + id;
+    @Transactional(readOnly = true)
+    public Map<String, Object> getPostsAfter(Integer after, Integer size) {
+        int limit = KeysetPage.normalizeSize(size);
+        List<FAQ> rows = (after == null)
+                ? postRepository.findByPoDelOrderByPoNumDesc("N", KeysetPage.probe(limit))
+                : postRepository.findByPoDelAndPoNumLessThanOrderByPoNumDesc("N", after, KeysetPage.probe(limit));
+        return KeysetPage.of(rows, limit, FAQ::getPoNum, this::toMaps);
+    }
 
-        if (cookies != null) {
-            for (Cookie cookie : cookies) {
-                if (cookie.getName().equals(cookieName)) return;
-            }
-        }
+    /**
+     * 🚩 작성자별 글 목록 커서 페이징: /posts/author/{mbNum}?after=&size=
+     * (po_mb_num, po_del, po_num) 인덱스로 해당 작성자 글만 읽습니다.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getPostsByAuthor(Integer mbNum, Integer after, Integer size) {
+        int limit = KeysetPage.normalizeSize(size);
+        List<FAQ> rows = (after == null)
+                ? postRepository.findByPoMbNumAndPoDelOrderByPoNumDesc(mbNum, "N", KeysetPage.probe(limit))
+                : postRepository.findByPoMbNumAndPoDelAndPoNumLessThanOrderByPoNumDesc(mbNum, "N", after, KeysetPage.probe(limit));
+        return KeysetPage.of(rows, limit, FAQ::getPoNum, this::toMaps);
+    }
 
-        if (postRepository.updateViewCount(id) > 0) {
-            Cookie newCookie = new Cookie(cookieName, "true");
-            newCookie.setPath("/");
-            newCookie.setMaxAge(60 * 60 * 24);
-            newCookie.setHttpOnly(true);
-            response.addCookie(newCookie);
-        }
+    /**
+     * 🚩 조회수 증가 (ViewDedupeStore 로 중복 방지)
+     */
+    public void increaseViewCount(Integer id, HttpServletRequest request, HttpServletResponse response) {
+        // 🚩 같은 조회자의 재조회는 서버 측 저장소(TTL)로 걸러냄
+        if (!viewDedupeStore.firstView(BoardType.FAQ, id, request, response)) return;
+
+        // 🚩 DB 반영은 ViewCountBuffer 가 모아서 처리 (상세 조회가 조회수 행 잠금을 기다리지 않음)
+        viewCountBuffer.increment(BoardType.FAQ, id);
     }
 
     /**
@@ -65,15 +84,24 @@ public class FAQService {
      */
     @Transactional(readOnly = true)
     public Map<String, Object> getPostDetail(Integer id, Integer mbNum) {
+        // 🚩 공통 부분은 상세 캐시에서, 좋아요/스크랩 여부는 매번 조회
+        Map<String, Object> map = detailCache.getOrLoad(BoardType.FAQ, id,
+                () -> viewCountBuffer.stamped(BoardType.FAQ, id, () -> loadDetail(id)));
+        if (map == null) return null;
+
+        map.put("poView", viewCountBuffer.merged(BoardType.FAQ, id, map, "poView"));
+
+        viewerStateService.annotate(BoardType.FAQ, mbNum, List.of(map));
+        return map;
+    }
+
+    /**
+     * 상세 캐시에 들어갈 공통 부분 (poView 는 DB 값 그대로 두고 조회 시 미반영분을 더함)
+     */
+    private Map<String, Object> loadDetail(Integer id) {
         return postRepository.findByPoNumAndPoDel(id, "N").map(p -> {
-            Map<String, Object> map = convertToMap(p);
-            
-            int likeCheck = (mbNum != null) ? likeMapper.checkLikeStatus(id, mbNum) : 0;
-            map.put("isLikedByMe", likeCheck > 0);
-
-            int scrapCheck = (mbNum != null) ? likeMapper.checkScrapStatus(id, mbNum) : 0; 
-            map.put("isScrappedByMe", scrapCheck > 0);
-            
+            Map<String, Object> map = toCommonMaps(List.of(p)).get(0);
+            map.put("poView", p.getPoView() != null ? p.getPoView() : 0);
             return map;
         }).orElse(null);
     }
@@ -98,6 +126,7 @@ public class FAQService {
      */
     @Transactional
     public void updatePost(Integer id, String title, String content) {
+        detailCache.evict(BoardType.FAQ, id);
         FAQ post = postRepository.findByPoNumAndPoDel(id, "N")
                 .orElseThrow(() -> new RuntimeException("게시글 없음"));
         post.setPoTitle(title);
@@ -110,6 +139,7 @@ public class FAQService {
      */
     @Transactional
     public void deletePost(Integer id) {
+        detailCache.evict(BoardType.FAQ, id);
         postRepository.findByPoNumAndPoDel(id, "N").ifPresent(p -> {
             p.setPoDel("Y");
             postRepository.save(p);
@@ -121,21 +151,11 @@ public class FAQService {
      */
     @Transactional
     public String toggleLikeStatus(Integer poNum, Integer mbNum) {
-        int count = likeMapper.checkLikeStatus(poNum, mbNum);
-        FAQ post = postRepository.findByPoNumAndPoDel(poNum, "N")
-                .orElseThrow(() -> new RuntimeException("FAQ 게시글 없음"));
-
-        if (count == 0) {
-            likeMapper.insertLikeLog(poNum, mbNum);
-            post.setPoUp((post.getPoUp() == null ? 0 : post.getPoUp()) + 1);
-            postRepository.save(post);
-            return "liked";
-        } else {
-            likeMapper.deleteLikeLog(poNum, mbNum);
-            post.setPoUp(Math.max(0, (post.getPoUp() == null ? 0 : post.getPoUp()) - 1));
-            postRepository.save(post);
-            return "unliked";
-        }
+        detailCache.evict(BoardType.FAQ, poNum);
+        // 🚩 DELETE → INSERT IGNORE 토글 + 추천수 상대 반영 (PostLikeService)
+        Integer delta = postLikeService.toggle(BoardType.FAQ, poNum, mbNum);
+        if (delta == null) throw new RuntimeException("FAQ 게시글 없음");
+        return delta >= 0 ? "liked" : "unliked";
     }
 
     /**
@@ -143,44 +163,50 @@ public class FAQService {
      */
     @Transactional
     public String toggleScrapStatus(Integer poNum, Integer mbNum) {
-        int count = likeMapper.checkScrapStatus(poNum, mbNum);
+        int count = likeMapper.checkScrapStatus(BoardType.FAQ, poNum, mbNum);
         
         if (count == 0) {
-            likeMapper.insertScrapLog(poNum, mbNum);
+            likeMapper.insertScrapLog(BoardType.FAQ, poNum, mbNum);
             return "scrapped";
         } else {
-            likeMapper.deleteScrapLog(poNum, mbNum);
+            likeMapper.deleteScrapLog(BoardType.FAQ, poNum, mbNum);
             return "unscrapped";
         }
     }
 
+    /**
+     * 🚩 목록 변환 + 로그인 사용자의 추천/즐겨찾기/스크랩 여부를 페이지 단위로 한 번에 표시
+     */
+    private List<Map<String, Object>> toMaps(List<FAQ> posts) {
+        return viewerStateService.annotate(BoardType.FAQ, toCommonMaps(posts));
+    }
+
+    /**
+     * 목록/상세 공통 변환 (로그인 사용자 상태 제외 → 상세 캐시에도 사용)
+     */
+    private List<Map<String, Object>> toCommonMaps(List<FAQ> posts) {
+        Map<Integer, String> nicknames = authorLookupService.loadNicknames(
+                posts.stream().map(FAQ::getPoMbNum).collect(Collectors.toList()));
+        List<Map<String, Object>> maps = posts.stream()
+                .map(p -> convertToMap(p, nicknames))
+                .collect(Collectors.toList());
+        // 🚩 작성자 프로필 사진 주소 (/avatar/{회원 번호}/{사진 버전})
+        return authorLookupService.putAvatarUrls(maps, "poMbNum", "avatarUrl");
+    }
+
     /**
      * 🚩 엔티티를 프론트엔드용 Map으로 변환 (닉네임 포함)
      */
-    private Map<String, Object> convertToMap(FAQ p) {
+    private Map<String, Object> convertToMap(FAQ p, Map<Integer, String> nicknames) {
         Map<String, Object> map = new HashMap<>();
         map.put("poNum", p.getPoNum());
         map.put("poTitle", p.getPoTitle());
         map.put("poContent", p.getPoContent());
         map.put("poDate", p.getPoDate() != null ? p.getPoDate().toString() : "");
-        map.put("poView", p.getPoView() != null ? p.getPoView() : 0);
+        map.put("poView", viewCountBuffer.merged(BoardType.FAQ, p.getPoNum(), p.getPoView()));
         map.put("poUp", p.getPoUp() != null ? p.getPoUp() : 0);
         map.put("poMbNum", p.getPoMbNum());
-
-        // 작성자 닉네임 매핑
-        String nickname = "관리자";
-        try {
-            Optional<?> result = memberRepository.findById(p.getPoMbNum());
-            if (result.isPresent()) {
-                Object obj = result.get();
-                if (obj instanceof MemberVO) {
-                    nickname = ((MemberVO) obj).getMb_nickname();
-                }
-            }
-        } catch (Exception e) {
-            // 기본값 유지
-        }
-        map.put("mbNickname", nickname);
+        map.put("mbNickname", nicknames.getOrDefault(p.getPoMbNum(), DEFAULT_NICKNAME));
 
         return map;
     }
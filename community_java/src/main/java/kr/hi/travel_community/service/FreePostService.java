@@ -1,29 +1,22 @@
 package kr.hi.travel_community.service;
 
-import java.io.File;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import kr.hi.travel_community.entity.FreePost;
-import kr.hi.travel_community.mapper.LikeMapper;
-import kr.hi.travel_community.model.vo.MemberVO;
-import kr.hi.travel_community.repository.BookMarkRepository;
 import kr.hi.travel_community.repository.CommentRepository;
 import kr.hi.travel_community.repository.FreeRepository;
-import kr.hi.travel_community.repository.MemberRepository;
+import kr.hi.travel_community.utill.KeysetPage;
+import kr.hi.travel_community.cache.DetailCache;
+import kr.hi.travel_community.media.MediaIngestService;
+import kr.hi.travel_community.model.util.BoardType;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -31,160 +24,180 @@ import lombok.RequiredArgsConstructor;
 public class FreePostService {
 
     private final FreeRepository postRepository;
-    private final LikeMapper likeMapper;
+    private final PostLikeService postLikeService;
+    private final ViewerStateService viewerStateService;
     private final CommentRepository commentRepository;
-    private final MemberRepository memberRepository; 
-    private final BookMarkRepository bookMarkRepository;
-
-    @Value("${file.upload-dir:C:/travel_contents/uploads/pic/}")
-    private String uploadRoot;
+    private final AuthorLookupService authorLookupService; // 🚩 작성자 닉네임 일괄 조회
+    private final ViewCountBuffer viewCountBuffer;
+    private final ViewDedupeStore viewDedupeStore;
+    private final DetailCache detailCache;
+    private final MediaIngestService mediaIngestService;
 
     private final String SERVER_URL = "/pic/";
 
+    private static final String DEFAULT_NICKNAME = "알 수 없는 사용자";
+
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getRealAllPosts() {
-        return postRepository.findByPoDelOrderByPoNumDesc("N").stream()
-                .map(this::convertToMap)
-                .collect(Collectors.toList());
+        return toMaps(postRepository.findByPoDelOrderByPoNumDesc("N"));
     }
 
-    @Transactional
-    public void increaseViewCount(Integer id, HttpServletRequest request, HttpServletResponse response) {
-        Cookie[] cookies = request.getCookies();
-        String cookieName = "viewed_free_" + id;
+    /**
+     * 🚩 커서(keyset) 페이징 목록 조회: ?after=<poNum>&size=N
+     * after가 없으면 첫 페이지, 있으면 해당 글 번호보다 작은 글부터 size 건만 조회합니다.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getPostsAfter(Integer after, Integer size) {
+        int limit = KeysetPage.normalizeSize(size);
+        List<FreePost> rows = (after == null)
+                ? postRepository.findByPoDelOrderByPoNumDesc("N", KeysetPage.probe(limit))
+                : postRepository.findByPoDelAndPoNumLessThanOrderByPoNumDesc("N", after, KeysetPage.probe(limit));
+        return KeysetPage.of(rows, limit, FreePost::getPoNum, this::toMaps);
+    }
 
-        if (cookies != null) {
-            for (Cookie cookie : cookies) {
-                if (cookie.getName().equals(cookieName)) return;
-            }
-        }
+    /**
+     * 🚩 작성자별 글 목록 커서 페이징: /posts/author/{mbNum}?after=&size=
+     * (po_mb_num, po_del, po_num) 인덱스로 해당 작성자 글만 읽습니다.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getPostsByAuthor(Integer mbNum, Integer after, Integer size) {
+        int limit = KeysetPage.normalizeSize(size);
+        List<FreePost> rows = (after == null)
+                ? postRepository.findByPoMbNumAndPoDelOrderByPoNumDesc(mbNum, "N", KeysetPage.probe(limit))
+                : postRepository.findByPoMbNumAndPoDelAndPoNumLessThanOrderByPoNumDesc(mbNum, "N", after, KeysetPage.probe(limit));
+        return KeysetPage.of(rows, limit, FreePost::getPoNum, this::toMaps);
+    }
 
-        if (postRepository.updateViewCount(id) > 0) {
-            Cookie newCookie = new Cookie(cookieName, "true");
-            newCookie.setPath("/");
-            newCookie.setMaxAge(60 * 60 * 24);
-            newCookie.setHttpOnly(true);
-            response.addCookie(newCookie);
-        }
+    public void increaseViewCount(Integer id, HttpServletRequest request, HttpServletResponse response) {
+        // 🚩 같은 조회자의 재조회는 서버 측 저장소(TTL)로 걸러냄
+        if (!viewDedupeStore.firstView(BoardType.FREE, id, request, response)) return;
+
+        // 🚩 DB 반영은 ViewCountBuffer 가 모아서 처리 (상세 조회가 조회수 행 잠금을 기다리지 않음)
+        viewCountBuffer.increment(BoardType.FREE, id);
     }
 
+    /**
+     * 🚩 상세 조회: 공통 부분은 상세 캐시에서, 추천/북마크 여부는 매번 조회
+     */
     @Transactional(readOnly = true)
     public Map<String, Object> getPostDetailWithImage(Integer id, Integer mbNum) {
+        Map<String, Object> map = detailCache.getOrLoad(BoardType.FREE, id,
+                () -> viewCountBuffer.stamped(BoardType.FREE, id, () -> loadDetail(id)));
+        if (map == null) return null;
+
+        map.put("poView", viewCountBuffer.merged(BoardType.FREE, id, map, "poView"));
+        viewerStateService.annotate(BoardType.FREE, mbNum, List.of(map));
+        return map;
+    }
+
+    /**
+     * 상세 캐시에 들어갈 공통 부분 (poView 는 DB 값 그대로 두고 조회 시 미반영분을 더함)
+     */
+    private Map<String, Object> loadDetail(Integer id) {
         return postRepository.findByPoNumAndPoDel(id, "N").map(p -> {
-            Map<String, Object> map = convertToMap(p);
+            Map<String, Object> map = toCommonMaps(List.of(p)).get(0);
+            map.put("poView", p.getPoView() != null ? p.getPoView() : 0);
             map.put("comments", commentRepository.findByCoPoNumAndCoPoTypeAndCoDelOrderByCoDateAsc(id, "FREE", "N"));
-            map.put("isLikedByMe", mbNum != null && likeMapper.checkLikeStatus(id, mbNum) > 0);
-            
-            boolean isBookmarked = (mbNum != null) && bookMarkRepository.existsByBmMbNumAndBmPoNumAndBmPoType(mbNum, id, "FREE");
-            map.put("isBookmarkedByMe", isBookmarked);
-            
             return map;
         }).orElse(null);
     }
 
-    @Transactional
+    /**
+     * 🚩 게시글 저장
+     * - 업로드는 트랜잭션 밖에서 임시 파일로 받고, 파일 이동/po_img 반영은 글 저장 후 MediaIngestService 작업 스레드가 처리
+     */
     public void savePost(FreePost post, List<MultipartFile> images) throws Exception {
+        MediaIngestService.Staged staged = mediaIngestService.stage(images);
         post.setPoDate(LocalDateTime.now());
         post.setPoView(0);
         post.setPoUp(0);
         post.setPoDel("N");
-        handleImages(post, images);
-        postRepository.save(post);
+        try {
+            postRepository.save(post);
+        } catch (RuntimeException e) {
+            staged.discard();
+            throw e;
+        }
+        mediaIngestService.publish(BoardType.FREE, post.getPoNum(), staged);
     }
 
-    @Transactional
     public void updatePost(Integer id, String title, String content, List<MultipartFile> images) throws Exception {
-        FreePost post = postRepository.findByPoNumAndPoDel(id, "N")
-                .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
-        post.setPoTitle(title);
-        post.setPoContent(content);
-        if (images != null && !images.isEmpty()) {
-            handleImages(post, images);
+        MediaIngestService.Staged staged = mediaIngestService.stage(images);
+        try {
+            // 🚩 제목/본문만 UPDATE: 엔티티 전체를 save 하면 그사이 작업 스레드가 바꾼 po_img 를 이전 값으로 덮어씀
+            if (postRepository.updateTitleAndContent(id, title, content) == 0) {
+                throw new RuntimeException("게시글을 찾을 수 없습니다.");
+            }
+            // 트랜잭션 없이 UPDATE 가 바로 커밋되므로, 그 뒤에 지워야 이전 글이 다시 캐시되지 않음
+            detailCache.evict(BoardType.FREE, id);
+        } catch (RuntimeException e) {
+            staged.discard();
+            throw e;
         }
-        postRepository.save(post);
+        mediaIngestService.publish(BoardType.FREE, id, staged);
     }
 
     @Transactional
     public void deletePost(Integer id) {
+        detailCache.evict(BoardType.FREE, id);
         postRepository.findByPoNumAndPoDel(id, "N").ifPresent(p -> p.setPoDel("Y"));
     }
 
     @Transactional
     public String toggleLikeStatus(Integer poNum, Integer mbNum) {
-        int count = likeMapper.checkLikeStatus(poNum, mbNum);
-        FreePost post = postRepository.findByPoNumAndPoDel(poNum, "N")
-                .orElseThrow(() -> new RuntimeException("게시글 없음"));
-
-        if (count == 0) {
-            likeMapper.insertLikeLog(poNum, mbNum);
-            post.setPoUp((post.getPoUp() == null ? 0 : post.getPoUp()) + 1);
-            postRepository.save(post);
-            return "liked";
-        } else {
-            likeMapper.deleteLikeLog(poNum, mbNum);
-            post.setPoUp(Math.max(0, (post.getPoUp() == null ? 0 : post.getPoUp()) - 1));
-            postRepository.save(post);
-            return "unliked";
-        }
+        detailCache.evict(BoardType.FREE, poNum);
+        // 🚩 DELETE → INSERT IGNORE 토글 + 추천수 상대 반영 (PostLikeService)
+        Integer delta = postLikeService.toggle(BoardType.FREE, poNum, mbNum);
+        if (delta == null) throw new RuntimeException("게시글 없음");
+        return delta >= 0 ? "liked" : "unliked";
     }
 
-    private void handleImages(FreePost post, List<MultipartFile> images) throws Exception {
-        if (images == null || images.isEmpty()) return;
-
-        String cleanPath = uploadRoot.replace("\\", "/");
-        if (!cleanPath.endsWith("/")) cleanPath += "/";
-
-        File dir = new File(cleanPath);
-        if (!dir.exists()) dir.mkdirs();
-
-        List<String> savedNames = new ArrayList<>();
-        for (MultipartFile file : images) {
-            if (!file.isEmpty()) {
-                String originalFileName = file.getOriginalFilename();
-                String extension = originalFileName.substring(originalFileName.lastIndexOf("."));
-                String fileName = UUID.randomUUID().toString() + extension;
+    /**
+     * 🚩 목록 변환 + 로그인 사용자의 추천/즐겨찾기/스크랩 여부를 페이지 단위로 한 번에 표시
+     */
+    List<Map<String, Object>> toMaps(List<FreePost> posts) {
+        return viewerStateService.annotate(BoardType.FREE, toCommonMaps(posts));
+    }
 
-                Path targetPath = Paths.get(cleanPath).resolve(fileName);
-                Files.copy(file.getInputStream(), targetPath, StandardCopyOption.REPLACE_EXISTING);
-                savedNames.add(fileName);
-            }
-        }
-        if (!savedNames.isEmpty()) post.setFileUrl(String.join(",", savedNames));
+    /**
+     * 목록/상세 공통 변환 (로그인 사용자 상태 제외 → 상세 캐시에도 사용)
+     */
+    private List<Map<String, Object>> toCommonMaps(List<FreePost> posts) {
+        Map<Integer, String> nicknames = authorLookupService.loadNicknames(
+                posts.stream().map(FreePost::getPoMbNum).collect(Collectors.toList()));
+        Map<Integer, Long> commentCounts = commentRepository.countActiveByPostNums(
+                posts.stream().map(FreePost::getPoNum).collect(Collectors.toList()), "FREE");
+        List<Map<String, Object>> maps = posts.stream()
+                .map(p -> convertToMap(p, nicknames, commentCounts.getOrDefault(p.getPoNum(), 0L)))
+                .collect(Collectors.toList());
+        // 🚩 작성자 프로필 사진 주소 (/avatar/{회원 번호}/{사진 버전})
+        return authorLookupService.putAvatarUrls(maps, "poMbNum", "avatarUrl");
     }
 
-    private Map<String, Object> convertToMap(FreePost p) {
+    private Map<String, Object> convertToMap(FreePost p, Map<Integer, String> nicknames, long commentCount) {
         Map<String, Object> map = new HashMap<>();
         map.put("poNum", p.getPoNum());
         map.put("poTitle", p.getPoTitle());
         map.put("poContent", p.getPoContent());
         map.put("poDate", p.getPoDate() != null ? p.getPoDate().toString() : "");
-        map.put("poView", p.getPoView() != null ? p.getPoView() : 0);
+        map.put("poView", viewCountBuffer.merged(BoardType.FREE, p.getPoNum(), p.getPoView()));
         map.put("poUp", p.getPoUp() != null ? p.getPoUp() : 0);
         map.put("poMbNum", p.getPoMbNum());
-        map.put("commentCount", commentRepository.countByCoPoNumAndCoPoTypeAndCoDel(p.getPoNum(), "FREE", "N"));
+        map.put("commentCount", commentCount);
         
-        // 🚩 [최종 해결] 
-        // 람다식 내부의 형변환에서 에러가 날 경우, Optional을 직접 꺼내서 타입 추론을 피합니다.
-        String nickname = "알 수 없는 사용자";
-        try {
-            // memberRepository가 Generic 타입 문제로 MemberVO를 못 찾을 때를 대비해
-            // 결과물을 Object로 받은 뒤 런타임에 처리합니다.
-            Object result = memberRepository.findById(p.getPoMbNum()).orElse(null);
-            if (result instanceof MemberVO) {
-                nickname = ((MemberVO) result).getMb_nickname();
-            }
-        } catch (Exception e) {
-            // 에러 시 기본값 유지
-        }
-        map.put("mbNickname", nickname);
+        // 🚩 작성자 닉네임 (toMaps에서 일괄 조회한 결과 사용)
+        map.put("mbNickname", nicknames.getOrDefault(p.getPoMbNum(), DEFAULT_NICKNAME));
         
         if (p.getFileUrl() != null && !p.getFileUrl().trim().isEmpty()) {
             String firstImg = p.getFileUrl().split(",")[0].trim();
             map.put("fileUrl", SERVER_URL + firstImg);
             map.put("poImg", SERVER_URL + firstImg); 
+            // 🚩 목록 카드용 320px 사본 (/pic/320/파일명, WebConfig)
+            map.put("thumbUrl", SERVER_URL + "320/" + firstImg);
         } else {
             map.put("fileUrl", null);
             map.put("poImg", null);
+            map.put("thumbUrl", null);
         }
         return map;
     }
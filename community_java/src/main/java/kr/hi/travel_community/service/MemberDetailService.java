@@ -1,23 +1,61 @@
 package kr.hi.travel_community.service;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import kr.hi.travel_community.dao.MemberDAO;
 import kr.hi.travel_community.model.util.CustomUser;
 import kr.hi.travel_community.model.vo.MemberVO;
+import kr.hi.travel_community.security.jwt.TokenEpochRegistry;
 
+/**
+ * 🚩 JWT 필터가 요청마다 부르는 회원 조회
+ * - mb_uid 를 키로 한 LRU + TTL 캐시에서 CustomUser 를 돌려주고, 없을 때만 member 를 조회합니다.
+ * - 회원 정보(닉네임/이메일/사진/비밀번호/권한)를 바꾸거나 탈퇴하면 evict 로 즉시 지웁니다.
+ *   (이때 TokenEpochRegistry 도 갱신해 그 전에 발급된 토큰의 클레임 대신 이 경로를 타게 함)
+ *   (TTL 은 다른 경로로 DB 가 바뀐 경우를 위한 안전장치)
+ */
 @Service
 public class MemberDetailService implements UserDetailsService {
 
 	@Autowired
 	MemberDAO memberDao;
 
+	@Autowired
+	TokenEpochRegistry tokenEpochRegistry;
+
+	private final long ttlMillis;
+	private final Map<String, Entry> principals;
+
+	public MemberDetailService(@Value("${auth.principal-cache.max-entries:2000}") int maxEntries,
+							   @Value("${auth.principal-cache.ttl-seconds:60}") long ttlSeconds) {
+		this.ttlMillis = ttlSeconds * 1000;
+		this.principals = new LinkedHashMap<>(64, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+		synchronized (principals) {
+			Entry e = principals.get(username);
+			if (e != null && e.expiresAt > System.currentTimeMillis()) {
+				return e.user;
+			}
+		}
+
 		MemberVO member = memberDao.selectMemberById(username);
 
 		// ✅ 기존 흐름 유지하되, Spring Security 표준대로 예외 처리만 추가
@@ -25,6 +63,38 @@ public class MemberDetailService implements UserDetailsService {
 			throw new UsernameNotFoundException("User not found: " + username);
 		}
 
-		return new CustomUser(member);
+		CustomUser user = new CustomUser(member);
+		synchronized (principals) {
+			principals.put(username, new Entry(user, System.currentTimeMillis() + ttlMillis));
+		}
+		return user;
+	}
+
+	/**
+	 * 회원 정보가 바뀐 뒤 호출 (다음 요청에서 DB 를 다시 읽음)
+	 * 트랜잭션 안이면 커밋 전에 다른 요청이 옛 값을 다시 캐시할 수 있으므로 종료 후에 한 번 더 지웁니다.
+	 */
+	public void evict(String username) {
+		if (username == null) return;
+		String key = username.trim();
+		remove(key);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					remove(key);
+				}
+			});
+		}
 	}
+
+	private void remove(String key) {
+		synchronized (principals) {
+			principals.remove(key);
+		}
+		// 이전에 발급된 access token 의 클레임(닉네임/권한 등)도 더 이상 믿지 않음
+		tokenEpochRegistry.bump(key);
+	}
+
+	private record Entry(CustomUser user, long expiresAt) {}
 }
@@ -1,5 +1,7 @@
 package kr.hi.travel_community.service;
 
+import java.io.InputStream;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -7,6 +9,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import kr.hi.travel_community.dao.MemberDAO;
+import kr.hi.travel_community.media.AvatarImageProcessor;
 import kr.hi.travel_community.model.dto.LoginDTO;
 import kr.hi.travel_community.model.dto.LoginRequestDTO;
 import kr.hi.travel_community.model.dto.MemberSignUpDTO;
@@ -21,6 +24,15 @@ public class MemberService {
     @Autowired
     private BCryptPasswordEncoder encoder;
 
+    @Autowired
+    private AvatarService avatarService;
+
+    @Autowired
+    private AvatarImageProcessor avatarImageProcessor;
+
+    @Autowired
+    private MemberDetailService memberDetailService;
+
     /**
      * 회원가입 로직: 아이디, 비밀번호, 이메일 삽입 (비밀번호 확인은 프론트에서 검증)
      */
@@ -101,6 +113,7 @@ public class MemberService {
 
             String encodedPw = encoder.encode(newPw.trim());
             int updated = memberDAO.updatePasswordById(id.trim(), encodedPw);
+            memberDetailService.evict(id);
             return updated > 0;
         } catch (Exception e) {
             e.printStackTrace();
@@ -123,6 +136,7 @@ public class MemberService {
 
             String encodedPw = encoder.encode(newPw.trim());
             int updated = memberDAO.updatePasswordById(id.trim(), encodedPw);
+            memberDetailService.evict(id);
             return updated > 0;
         } catch (Exception e) {
             e.printStackTrace();
@@ -147,6 +161,7 @@ public class MemberService {
             if (!nick.matches("^[가-힣a-zA-Z0-9_]+$")) return false;
 
             int updated = memberDAO.updateNicknameById(id.trim(), nick);
+            memberDetailService.evict(id);
             return updated > 0;
         } catch (Exception e) {
             e.printStackTrace();
@@ -176,6 +191,7 @@ public class MemberService {
             if (emailTrim.equals(member.getMb_email())) return true;
 
             int updated = memberDAO.updateEmailById(id.trim(), emailTrim);
+            memberDetailService.evict(id);
             return updated > 0;
         } catch (Exception e) {
             e.printStackTrace();
@@ -184,7 +200,8 @@ public class MemberService {
     }
 
     /**
-     * ✅ 프로필 사진 변경: DB BLOB에 직접 저장 (프로젝트 파일 사용 안 함)
+     * ✅ 프로필 사진 변경: 정사각형 JPEG(512/128)로 정규화해 member_avatar 테이블에 저장하고 member 에는 버전만 갱신
+     * 버전은 초 단위 시각이되, 같은 초에 다시 바꿔도 항상 이전보다 커지도록 합니다. (ETag/캐시 키)
      */
     @Transactional
     public Integer updatePhoto(String id, MultipartFile file) {
@@ -192,49 +209,31 @@ public class MemberService {
             if (id == null || id.trim().isEmpty()) return null;
             if (file == null || file.isEmpty()) return null;
 
-            byte[] photoData = file.getBytes();
             String photoType = file.getContentType();
             if (photoType == null || !photoType.startsWith("image/")) return null;
 
-            int photoVer = (int) (System.currentTimeMillis() / 1000);
-            int updated = memberDAO.updatePhotoBlobById(id.trim(), photoData, photoType, photoVer);
-            return updated > 0 ? photoVer : null;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
-    }
+            MemberVO member = memberDAO.selectMemberById(id.trim());
+            if (member == null) return null;
 
-    /**
-     * ✅ 프로필 사진 조회 (DB BLOB → 바이트 배열)
-     */
-    public byte[] getPhotoData(String id) {
-        try {
-            if (id == null || id.trim().isEmpty()) return null;
-            var row = memberDAO.selectPhotoByMemberId(id.trim());
-            if (row == null) return null;
-            Object data = row.get("photoData");
-            if (data == null) data = row.get("photodata");
-            return data instanceof byte[] ? (byte[]) data : null;
+            // 🚩 업로드 스트림에서 바로 디코딩 → 정사각형 JPEG 2종 (원본 바이트는 저장하지 않음)
+            AvatarImageProcessor.Encoded encoded;
+            try (InputStream in = file.getInputStream()) {
+                encoded = avatarImageProcessor.encode(in);
+            }
+            if (encoded == null) return null;
+
+            int previousVer = member.getMb_photo_ver() != null ? member.getMb_photo_ver() : 0;
+            int photoVer = Math.max((int) (System.currentTimeMillis() / 1000), previousVer + 1);
+            avatarService.save(member.getMb_num(), photoVer, encoded);
+            int updated = memberDAO.updatePhotoVerById(id.trim(), photoVer);
+            memberDetailService.evict(id);
+            return updated > 0 ? photoVer : null;
         } catch (Exception e) {
             e.printStackTrace();
             return null;
         }
     }
 
-    public String getPhotoContentType(String id) {
-        try {
-            if (id == null || id.trim().isEmpty()) return null;
-            var row = memberDAO.selectPhotoByMemberId(id.trim());
-            if (row == null) return null;
-            Object t = row.get("photoType");
-            if (t == null) t = row.get("phototype");
-            return t != null ? t.toString() : "image/jpeg";
-        } catch (Exception e) {
-            return "image/jpeg";
-        }
-    }
-
     /**
      * ✅ 회원 탈퇴: 비밀번호 확인 후 계정 삭제
      */
@@ -248,7 +247,9 @@ public class MemberService {
             if (member == null) return false;
             if (!encoder.matches(password.trim(), member.getMb_pw())) return false;
 
+            avatarService.delete(member.getMb_num());
             int deleted = memberDAO.deleteMemberById(id.trim());
+            memberDetailService.evict(id);
             return deleted > 0;
         } catch (Exception e) {
             e.printStackTrace();
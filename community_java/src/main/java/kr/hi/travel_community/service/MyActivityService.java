@@ -0,0 +1,302 @@
+package kr.hi.travel_community.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import kr.hi.travel_community.entity.FreePost;
+import kr.hi.travel_community.entity.RecommendPost;
+import kr.hi.travel_community.entity.ReviewPost;
+import kr.hi.travel_community.model.util.BoardType;
+import kr.hi.travel_community.repository.FreeRepository;
+import kr.hi.travel_community.repository.RecommendRepository;
+import kr.hi.travel_community.repository.ReviewRepository;
+import kr.hi.travel_community.utill.KeysetPage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 🚩 마이페이지 "내가 쓴 글" 통합 목록
+ * - 추천/후기/자유 게시판의 작성자 인덱스를 가상 스레드로 동시에 조회합니다.
+ * - 게시판별로 이미 최신순 정렬된 목록을 작성 시각 기준 k-way 병합하여 size 건만 잘라 반환합니다.
+ * - 다음 페이지 커서는 게시판별 마지막 글 번호를 묶은 토큰입니다. (게시판마다 이어서 조회)
+ * - 조회에 실패한 게시판은 failed 로 알려 주고, 커서에는 이전 위치를 그대로 넘겨 다음 요청에서 다시 시도합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MyActivityService {
+
+    /** 통합 목록에 포함되는 게시판 (순서 = 같은 시각일 때 우선순위) */
+    private static final List<BoardType> BOARDS = List.of(BoardType.RECOMMEND, BoardType.REVIEW, BoardType.FREE);
+
+    /** 커서에서 "이 게시판은 더 읽을 글이 없음" 표시 */
+    private static final int EXHAUSTED = 0;
+
+    private final RecommendRepository recommendRepository;
+    private final ReviewRepository reviewRepository;
+    private final FreeRepository freeRepository;
+    private final RecommendPostService recommendPostService;
+    private final ReviewPostService reviewPostService;
+    private final FreePostService freePostService;
+
+    /**
+     * 병합 대상 한 건 (엔티티는 최종 페이지에 들어갈 때만 Map 으로 변환)
+     */
+    private record Row(BoardType board, int poNum, LocalDateTime poDate, Object entity) {}
+
+    private static final Comparator<Row> NEWEST_FIRST = Comparator
+            .comparing(Row::poDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(r -> BOARDS.indexOf(r.board()))
+            .thenComparing(Row::poNum, Comparator.reverseOrder());
+
+    /**
+     * 내가 쓴 글 전체 (최신순)
+     */
+    public List<Map<String, Object>> getMyPosts(int mbNum) {
+        Map<BoardType, List<Row>> perBoard = fetchAll(mbNum, new EnumMap<>(BoardType.class), null, new ArrayList<>());
+        List<Row> merged = merge(perBoard, Integer.MAX_VALUE, new EnumMap<>(BoardType.class));
+        return toMaps(merged);
+    }
+
+    /**
+     * 내가 쓴 글 커서 페이징: ?cursor=<nextCursor>&size=N
+     * @throws IllegalArgumentException 커서 형식이 잘못된 경우
+     */
+    public Map<String, Object> getMyPostsPage(int mbNum, String cursor, Integer size) {
+        int limit = KeysetPage.normalizeSize(size);
+        Map<BoardType, Integer> after = decodeCursor(cursor);
+
+        // 게시판마다 limit + 1 건: 병합 후 남는 글이 있으면 다음 페이지 존재
+        List<BoardType> failed = new ArrayList<>();
+        Map<BoardType, List<Row>> perBoard = fetchAll(mbNum, after, KeysetPage.probe(limit), failed);
+        Map<BoardType, Integer> consumed = new EnumMap<>(BoardType.class);
+        List<Row> pageRows = merge(perBoard, limit, consumed);
+
+        boolean hasNext = false;
+        Map<BoardType, Integer> next = new EnumMap<>(BoardType.class);
+        for (BoardType board : BOARDS) {
+            if (failed.contains(board)) {
+                // 🚩 실패한 게시판은 "글 없음" 이 아니므로 이전 위치를 그대로 넘겨 다음 페이지에서 다시 조회
+                next.put(board, after.get(board));
+                hasNext = true;
+                continue;
+            }
+            List<Row> rows = perBoard.getOrDefault(board, List.of());
+            int used = consumed.getOrDefault(board, 0);
+            if (rows.size() > used) hasNext = true;
+
+            if (used > 0) {
+                next.put(board, rows.size() > used ? rows.get(used - 1).poNum() : EXHAUSTED);
+            } else if (rows.isEmpty()) {
+                next.put(board, EXHAUSTED);
+            } else {
+                next.put(board, after.get(board)); // 이번 페이지에 안 나온 게시판은 그대로
+            }
+        }
+
+        Map<String, Object> page = new HashMap<>();
+        page.put("posts", toMaps(pageRows));
+        page.put("size", limit);
+        page.put("hasNext", hasNext);
+        page.put("nextCursor", hasNext ? encodeCursor(next) : null);
+        page.put("failed", failed.stream().map(MyActivityService::boardTypeOf).collect(Collectors.toList()));
+        return page;
+    }
+
+    /* ===================== 조회 / 병합 ===================== */
+
+    /**
+     * 게시판별 작성자 인덱스 조회를 동시에 실행 (모두 끝날 때까지 대기)
+     * @param pageable null 이면 전체
+     * @param failed   조회에 실패한 게시판을 채워 줌 (결과 Map 에는 들어가지 않음)
+     */
+    private Map<BoardType, List<Row>> fetchAll(int mbNum, Map<BoardType, Integer> after, Pageable pageable,
+                                               List<BoardType> failed) {
+        Map<BoardType, List<Row>> result = new EnumMap<>(BoardType.class);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Map<BoardType, Future<List<Row>>> futures = new LinkedHashMap<>();
+            for (BoardType board : BOARDS) {
+                Integer from = after.get(board);
+                if (from != null && from == EXHAUSTED) continue;
+                futures.put(board, executor.submit(() -> fetch(board, mbNum, from, pageable)));
+            }
+            for (Map.Entry<BoardType, Future<List<Row>>> e : futures.entrySet()) {
+                try {
+                    result.put(e.getKey(), e.getValue().get());
+                } catch (Exception ex) {
+                    // 한 게시판 조회 실패가 전체 목록을 막지 않도록 해당 게시판만 제외
+                    log.warn("내가 쓴 글 조회 실패 ({}): {}", e.getKey(), ex.getMessage());
+                    failed.add(e.getKey());
+                }
+            }
+        }
+        return result;
+    }
+
+    private List<Row> fetch(BoardType board, int mbNum, Integer after, Pageable pageable) {
+        switch (board) {
+            case RECOMMEND: {
+                List<RecommendPost> posts = pageable == null
+                        ? recommendRepository.findByPoMbNumAndPoDelOrderByPoNumDesc(mbNum, "N")
+                        : after == null
+                        ? recommendRepository.findByPoMbNumAndPoDelOrderByPoNumDesc(mbNum, "N", pageable)
+                        : recommendRepository.findByPoMbNumAndPoDelAndPoNumLessThanOrderByPoNumDesc(mbNum, "N", after, pageable);
+                return posts.stream().map(p -> new Row(board, p.getPoNum(), p.getPoDate(), p)).collect(Collectors.toList());
+            }
+            case REVIEW: {
+                List<ReviewPost> posts = pageable == null
+                        ? reviewRepository.findByPoMbNumAndPoDelOrderByPoNumDesc(mbNum, "N")
+                        : after == null
+                        ? reviewRepository.findByPoMbNumAndPoDelOrderByPoNumDesc(mbNum, "N", pageable)
+                        : reviewRepository.findByPoMbNumAndPoDelAndPoNumLessThanOrderByPoNumDesc(mbNum, "N", after, pageable);
+                return posts.stream().map(p -> new Row(board, p.getPoNum(), p.getPoDate(), p)).collect(Collectors.toList());
+            }
+            case FREE: {
+                List<FreePost> posts = pageable == null
+                        ? freeRepository.findByPoMbNumAndPoDelOrderByPoNumDesc(mbNum, "N")
+                        : after == null
+                        ? freeRepository.findByPoMbNumAndPoDelOrderByPoNumDesc(mbNum, "N", pageable)
+                        : freeRepository.findByPoMbNumAndPoDelAndPoNumLessThanOrderByPoNumDesc(mbNum, "N", after, pageable);
+                return posts.stream().map(p -> new Row(board, p.getPoNum(), p.getPoDate(), p)).collect(Collectors.toList());
+            }
+            default:
+                return List.of();
+        }
+    }
+
+    /**
+     * 게시판별 최신순 목록 k-way 병합 (작성 시각 기준)
+     * 글 번호는 작성 순서대로 증가하므로 게시판 안에서는 글 번호 역순 = 작성 시각 역순입니다.
+     * @param consumed 게시판별로 결과에 들어간 건수를 채워 줌
+     */
+    private static List<Row> merge(Map<BoardType, List<Row>> perBoard, int limit, Map<BoardType, Integer> consumed) {
+        // [게시판 목록, 목록 안 위치]
+        List<List<Row>> lists = new ArrayList<>(perBoard.values());
+        PriorityQueue<int[]> heap = new PriorityQueue<>(
+                (a, b) -> NEWEST_FIRST.compare(lists.get(a[0]).get(a[1]), lists.get(b[0]).get(b[1])));
+        for (int i = 0; i < lists.size(); i++) {
+            if (!lists.get(i).isEmpty()) heap.add(new int[]{i, 0});
+        }
+
+        List<Row> merged = new ArrayList<>();
+        while (!heap.isEmpty() && merged.size() < limit) {
+            int[] top = heap.poll();
+            List<Row> list = lists.get(top[0]);
+            Row row = list.get(top[1]);
+            merged.add(row);
+            consumed.merge(row.board(), 1, Integer::sum);
+            if (top[1] + 1 < list.size()) heap.add(new int[]{top[0], top[1] + 1});
+        }
+        return merged;
+    }
+
+    /* ===================== 응답 변환 ===================== */
+
+    /**
+     * 병합 순서를 유지하며 게시판별 목록 변환(닉네임/댓글 수 일괄 조회)을 한 번씩만 호출
+     */
+    private List<Map<String, Object>> toMaps(List<Row> rows) {
+        Map<BoardType, List<Object>> byBoard = new EnumMap<>(BoardType.class);
+        for (Row row : rows) {
+            byBoard.computeIfAbsent(row.board(), k -> new ArrayList<>()).add(row.entity());
+        }
+
+        Map<BoardType, Map<Integer, Map<String, Object>>> converted = new EnumMap<>(BoardType.class);
+        byBoard.forEach((board, entities) -> {
+            Map<Integer, Map<String, Object>> byNum = new HashMap<>();
+            for (Map<String, Object> map : convert(board, entities)) {
+                byNum.put(((Number) map.get("poNum")).intValue(), map);
+            }
+            converted.put(board, byNum);
+        });
+
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            Map<String, Object> map = converted.get(row.board()).get(row.poNum());
+            if (map == null) continue;
+            map.put("boardType", boardTypeOf(row.board()));
+            map.put("boardName", boardNameOf(row.board()));
+            result.add(map);
+        }
+        return result;
+    }
+
+    private List<Map<String, Object>> convert(BoardType board, List<Object> entities) {
+        switch (board) {
+            case RECOMMEND:
+                return recommendPostService.toMaps(entities.stream().map(e -> (RecommendPost) e).collect(Collectors.toList()));
+            case REVIEW:
+                return entities.stream().map(e -> reviewPostService.convertToMap((ReviewPost) e)).collect(Collectors.toList());
+            case FREE:
+                return freePostService.toMaps(entities.stream().map(e -> (FreePost) e).collect(Collectors.toList()));
+            default:
+                return List.of();
+        }
+    }
+
+    /** 프론트엔드 라우트 구분값 (기존 응답과 동일) */
+    private static String boardTypeOf(BoardType board) {
+        switch (board) {
+            case RECOMMEND: return "recommend";
+            case REVIEW: return "reviewboard";
+            case FREE: return "freeboard";
+            default: return board.name().toLowerCase();
+        }
+    }
+
+    private static String boardNameOf(BoardType board) {
+        switch (board) {
+            case RECOMMEND: return "여행 추천";
+            case REVIEW: return "여행 후기";
+            case FREE: return "자유 게시판";
+            default: return board.name();
+        }
+    }
+
+    /* ===================== 커서 ===================== */
+
+    /**
+     * "RECOMMEND:123,REVIEW:0,FREE:45" 를 URL-safe Base64 로 감싼 토큰
+     */
+    private static String encodeCursor(Map<BoardType, Integer> after) {
+        String raw = after.entrySet().stream()
+                .filter(e -> e.getValue() != null)
+                .map(e -> e.getKey().name() + ":" + e.getValue())
+                .collect(Collectors.joining(","));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Map<BoardType, Integer> decodeCursor(String cursor) {
+        Map<BoardType, Integer> after = new EnumMap<>(BoardType.class);
+        if (cursor == null || cursor.isBlank()) return after;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            for (String part : raw.split(",")) {
+                if (part.isEmpty()) continue;
+                String[] kv = part.split(":");
+                BoardType board = BoardType.fromCode(kv[0]);
+                if (board == null || !BOARDS.contains(board)) throw new IllegalArgumentException(part);
+                after.put(board, Integer.parseInt(kv[1]));
+            }
+            return after;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
+    }
+}
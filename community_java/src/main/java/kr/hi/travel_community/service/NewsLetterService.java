@@ -3,22 +3,24 @@ package kr.hi.travel_community.service;
 import kr.hi.travel_community.entity.NewsLetter;
 import kr.hi.travel_community.mapper.LikeMapper;
 import kr.hi.travel_community.repository.NewsLetterRepository;
-import kr.hi.travel_community.repository.MemberRepository;
-import kr.hi.travel_community.model.vo.MemberVO;
+import kr.hi.travel_community.utill.KeysetPage;
+import kr.hi.travel_community.cache.DetailCache;
+import kr.hi.travel_community.media.MediaIngestService;
+import kr.hi.travel_community.model.util.BoardType;
+import kr.hi.travel_community.search.BigramTokenizer;
+import kr.hi.travel_community.search.PostSearchIndex;
+import kr.hi.travel_community.search.SearchResults;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-import java.io.File;
-import java.nio.file.*;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,15 +28,23 @@ import java.util.stream.Collectors;
 public class NewsLetterService {
 
     private final NewsLetterRepository postRepository;
-    private final MemberRepository memberRepository; // 🚩 닉네임 조회를 위해 주입
+    private final AuthorLookupService authorLookupService; // 🚩 작성자 닉네임 일괄 조회
+    private final ViewCountBuffer viewCountBuffer;
+    private final ViewDedupeStore viewDedupeStore;
+    private final DetailCache detailCache;
+    private final MediaIngestService mediaIngestService;
+    private final PostSearchIndex searchIndex;
     private final LikeMapper likeMapper;
+    private final PostLikeService postLikeService;
+    private final ViewerStateService viewerStateService;
     
-    // 🚩 [유지] 외부 절대 경로 사용
-    @Value("${file.upload-dir:C:/travel_contents/uploads/pic/}")
-    private String uploadRoot;
-
     // 🚩 [유지] 프론트엔드 호출용 상대 경로
     private final String SERVER_URL = "/pic/";
+
+    private static final String DEFAULT_NICKNAME = "관리자";
+
+    /** 전문 색인으로 처리하는 검색 유형 (작성자 검색 등은 DB 조회) */
+    private static final Set<String> INDEXED_SEARCH_TYPES = Set.of("title", "content");
     
     // 뉴스레터 게시판 고유 타입
     private final String BOARD_TYPE = "NEWSLETTER";
@@ -44,9 +54,33 @@ public class NewsLetterService {
      */
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getRealAllPosts() {
-        return postRepository.findByPoDelOrderByPoNumDesc("N").stream()
-                .map(this::convertToMap)
-                .collect(Collectors.toList());
+        return toMaps(postRepository.findByPoDelOrderByPoNumDesc("N"));
+    }
+
+    /**
+     * 🚩 커서(keyset) 페이징 목록 조회: ?after=<poNum>&size=N
+     * after가 없으면 첫 페이지, 있으면 해당 글 번호보다 작은 글부터 size 건만 조회합니다.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getPostsAfter(Integer after, Integer size) {
+        int limit = KeysetPage.normalizeSize(size);
+        List<NewsLetter> rows = (after == null)
+                ? postRepository.findByPoDelOrderByPoNumDesc("N", KeysetPage.probe(limit))
+                : postRepository.findByPoDelAndPoNumLessThanOrderByPoNumDesc("N", after, KeysetPage.probe(limit));
+        return KeysetPage.of(rows, limit, NewsLetter::getPoNum, this::toMaps);
+    }
+
+    /**
+     * 🚩 작성자별 글 목록 커서 페이징: /posts/author/{mbNum}?after=&size=
+     * (po_mb_num, po_del, po_num) 인덱스로 해당 작성자 글만 읽습니다.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getPostsByAuthor(Integer mbNum, Integer after, Integer size) {
+        int limit = KeysetPage.normalizeSize(size);
+        List<NewsLetter> rows = (after == null)
+                ? postRepository.findByPoMbNumAndPoDelOrderByPoNumDesc(mbNum, "N", KeysetPage.probe(limit))
+                : postRepository.findByPoMbNumAndPoDelAndPoNumLessThanOrderByPoNumDesc(mbNum, "N", after, KeysetPage.probe(limit));
+        return KeysetPage.of(rows, limit, NewsLetter::getPoNum, this::toMaps);
     }
 
     /**
@@ -54,21 +88,41 @@ public class NewsLetterService {
      */
     @Transactional(readOnly = true)
     public List<Map<String, Object>> searchPosts(String type, String keyword) {
+        return toMaps(findSearchResult(type, keyword));
+    }
+
+    /**
+     * 🚩 검색 결과 페이지 조회: ?type=&keyword=&page=&size=
+     * 색인 검색이면 점수순 글 번호에서 해당 페이지만 잘라 조회합니다.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> searchPostsPage(String type, String keyword, Integer page, Integer size) {
+        int limit = KeysetPage.normalizeSize(size);
+        int pageNo = (page == null || page < 0) ? 0 : page;
+
+        List<Integer> hits = INDEXED_SEARCH_TYPES.contains(type) ? searchIndex.search(BoardType.NEWSLETTER, type, keyword) : null;
+        if (hits != null) {
+            return SearchResults.verifiedPage(hits, pageNo, limit, ids -> loadHits(ids, type, keyword), this::toMaps);
+        }
+
+        List<NewsLetter> all = findSearchResult(type, keyword);
+        return SearchResults.page(toMaps(SearchResults.slice(all, pageNo, limit)), all.size(), pageNo, limit);
+    }
+
+    private List<NewsLetter> findSearchResult(String type, String keyword) {
         List<NewsLetter> result;
 
         switch (type) {
             case "title":
-                result = postRepository.findByPoTitleContainingAndPoDelOrderByPoNumDesc(keyword, "N");
+                result = indexedOrLike(type, keyword, () -> postRepository.findByPoTitleContainingAndPoDelOrderByPoNumDesc(keyword, "N"));
                 break;
             case "content":
-                result = postRepository.findByPoContentContainingAndPoDelOrderByPoNumDesc(keyword, "N");
+                result = indexedOrLike(type, keyword, () -> postRepository.findByPoContentContainingAndPoDelOrderByPoNumDesc(keyword, "N"));
                 break;
             case "author":
                 try {
                     Integer mbNum = Integer.parseInt(keyword);
-                    result = postRepository.findByPoDelOrderByPoNumDesc("N").stream()
-                            .filter(p -> p.getPoMbNum().equals(mbNum))
-                            .collect(Collectors.toList());
+                    result = postRepository.findByPoMbNumAndPoDelOrderByPoNumDesc(mbNum, "N");
                 } catch (NumberFormatException e) {
                     result = new ArrayList<>();
                 }
@@ -77,32 +131,39 @@ public class NewsLetterService {
                 result = postRepository.findByPoDelOrderByPoNumDesc("N");
         }
 
-        return result.stream()
-                .map(this::convertToMap)
-                .collect(Collectors.toList());
+        return result;
     }
 
     /**
-     * 🚩 조회수 증가 (중복 방지 쿠키 적용)
+     * 🚩 제목/본문 검색: 전문 색인이 준비되어 있으면 색인으로, 아니면 기존 LIKE 검색
      */
-    @Transactional
-    public void increaseViewCount(Integer id, HttpServletRequest request, HttpServletResponse response) {
-        Cookie[] cookies = request.getCookies();
-        String cookieName = "viewed_newsletter_" + id;
+    private List<NewsLetter> indexedOrLike(String type, String keyword, Supplier<List<NewsLetter>> likeSearch) {
+        List<Integer> hits = searchIndex.search(BoardType.NEWSLETTER, type, keyword);
+        return hits != null ? loadHits(hits, type, keyword) : likeSearch.get();
+    }
 
-        if (cookies != null) {
-            for (Cookie cookie : cookies) {
-                if (cookie.getName().equals(cookieName)) return;
-            }
-        }
+    private List<NewsLetter> loadHits(List<Integer> hits, String type, String keyword) {
+        return SearchResults.inHitOrder(hits, postRepository::findAllById, NewsLetter::getPoNum,
+                p -> "N".equals(p.getPoDel()) && matchesKeyword(p, type, keyword));
+    }
 
-        if (postRepository.updateViewCount(id) > 0) {
-            Cookie newCookie = new Cookie(cookieName, "true");
-            newCookie.setPath("/");
-            newCookie.setMaxAge(60 * 60 * 24); 
-            newCookie.setHttpOnly(true);
-            response.addCookie(newCookie);
-        }
+    private boolean matchesKeyword(NewsLetter p, String type, String keyword) {
+        boolean inTitle = BigramTokenizer.containsPhrase(p.getPoTitle(), keyword);
+        if ("title".equals(type)) return inTitle;
+        boolean inContent = BigramTokenizer.containsPhrase(p.getPoContent(), keyword);
+        if ("content".equals(type)) return inContent;
+        return inTitle || inContent;
+    }
+
+    /**
+     * 🚩 조회수 증가 (ViewDedupeStore 로 중복 방지)
+     */
+    public void increaseViewCount(Integer id, HttpServletRequest request, HttpServletResponse response) {
+        // 🚩 같은 조회자의 재조회는 서버 측 저장소(TTL)로 걸러냄
+        if (!viewDedupeStore.firstView(BoardType.NEWSLETTER, id, request, response)) return;
+
+        // 🚩 DB 반영은 ViewCountBuffer 가 모아서 처리 (상세 조회가 조회수 행 잠금을 기다리지 않음)
+        viewCountBuffer.increment(BoardType.NEWSLETTER, id);
     }
 
     /**
@@ -110,43 +171,68 @@ public class NewsLetterService {
      */
     @Transactional(readOnly = true)
     public Map<String, Object> getPostDetailWithImage(Integer id, Integer mbNum) {
+        // 🚩 뉴스레터 게시판은 댓글 기능을 사용하지 않으므로 로직 제외
+        Map<String, Object> map = detailCache.getOrLoad(BoardType.NEWSLETTER, id,
+                () -> viewCountBuffer.stamped(BoardType.NEWSLETTER, id, () -> loadDetail(id)));
+        if (map == null) return null;
+
+        int views = viewCountBuffer.merged(BoardType.NEWSLETTER, id, map, "poView");
+        map.put("poView", views);
+        map.put("po_view", views);
+        viewerStateService.annotate(BoardType.NEWSLETTER, mbNum, List.of(map));
+        return map;
+    }
+
+    /**
+     * 상세 캐시에 들어갈 공통 부분 (poView 는 DB 값 그대로 두고 조회 시 미반영분을 더함)
+     */
+    private Map<String, Object> loadDetail(Integer id) {
         return postRepository.findByPoNumAndPoDel(id, "N").map(p -> {
-            Map<String, Object> map = convertToMap(p);
-            // 🚩 뉴스레터 게시판은 댓글 기능을 사용하지 않으므로 로직 제외
-            map.put("isLikedByMe", mbNum != null && mbNum > 0 && likeMapper.checkLikeStatus(id, mbNum) > 0);
+            Map<String, Object> map = toCommonMaps(List.of(p)).get(0);
+            map.put("poView", p.getPoView() != null ? p.getPoView() : 0);
             return map;
         }).orElse(null);
     }
 
     /**
      * 🚩 게시글 저장
+     * - 업로드는 트랜잭션 밖에서 임시 파일로 받고, 파일 이동/po_img 반영은 글 저장 후 MediaIngestService 작업 스레드가 처리
      */
-    @Transactional
     public void savePost(NewsLetter post, List<MultipartFile> images) throws Exception {
+        MediaIngestService.Staged staged = mediaIngestService.stage(images);
         post.setPoDate(LocalDateTime.now());
         post.setPoView(0);
         post.setPoUp(0);
         post.setPoDel("N");
         
-        handleImages(post, images);
-        postRepository.save(post);
+        try {
+            postRepository.save(post);
+        } catch (RuntimeException e) {
+            staged.discard();
+            throw e;
+        }
+        mediaIngestService.publish(BoardType.NEWSLETTER, post.getPoNum(), staged);
+        searchIndex.index(BoardType.NEWSLETTER, post.getPoNum(), post.getPoTitle(), post.getPoContent());
     }
 
     /**
      * 🚩 게시글 수정
      */
-    @Transactional
     public void updatePost(Integer id, String title, String content, List<MultipartFile> images) throws Exception {
-        NewsLetter post = postRepository.findByPoNumAndPoDel(id, "N")
-                .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
-        
-        post.setPoTitle(title);
-        post.setPoContent(content);
-        
-        if (images != null && !images.isEmpty()) {
-            handleImages(post, images);
+        MediaIngestService.Staged staged = mediaIngestService.stage(images);
+        try {
+            // 🚩 제목/본문만 UPDATE: 엔티티 전체를 save 하면 그사이 작업 스레드가 바꾼 po_img 를 이전 값으로 덮어씀
+            if (postRepository.updateTitleAndContent(id, title, content) == 0) {
+                throw new RuntimeException("게시글을 찾을 수 없습니다.");
+            }
+            // 트랜잭션 없이 UPDATE 가 바로 커밋되므로, 그 뒤에 지워야 이전 글이 다시 캐시되지 않음
+            detailCache.evict(BoardType.NEWSLETTER, id);
+        } catch (RuntimeException e) {
+            staged.discard();
+            throw e;
         }
-        postRepository.save(post);
+        mediaIngestService.publish(BoardType.NEWSLETTER, id, staged);
+        searchIndex.index(BoardType.NEWSLETTER, id, title, content);
     }
 
     /**
@@ -154,6 +240,8 @@ public class NewsLetterService {
      */
     @Transactional
     public void deletePost(Integer id) {
+        detailCache.evict(BoardType.NEWSLETTER, id);
+        searchIndex.remove(BoardType.NEWSLETTER, id);
         postRepository.findByPoNumAndPoDel(id, "N").ifPresent(p -> p.setPoDel("Y"));
     }
 
@@ -162,21 +250,11 @@ public class NewsLetterService {
      */
     @Transactional
     public String toggleLikeStatus(Integer poNum, Integer mbNum) {
-        int count = likeMapper.checkLikeStatus(poNum, mbNum);
-        NewsLetter post = postRepository.findByPoNumAndPoDel(poNum, "N")
-                .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
-
-        if (count == 0) {
-            likeMapper.insertLikeLog(poNum, mbNum);
-            post.setPoUp((post.getPoUp() == null ? 0 : post.getPoUp()) + 1);
-            postRepository.save(post);
-            return "liked";
-        } else {
-            likeMapper.deleteLikeLog(poNum, mbNum);
-            post.setPoUp(Math.max(0, (post.getPoUp() == null ? 0 : post.getPoUp()) - 1));
-            postRepository.save(post);
-            return "unliked";
-        }
+        detailCache.evict(BoardType.NEWSLETTER, poNum);
+        // 🚩 DELETE → INSERT IGNORE 토글 + 추천수 상대 반영 (PostLikeService)
+        Integer delta = postLikeService.toggle(BoardType.NEWSLETTER, poNum, mbNum);
+        if (delta == null) throw new RuntimeException("게시글을 찾을 수 없습니다.");
+        return delta >= 0 ? "liked" : "unliked";
     }
 
     /**
@@ -184,50 +262,40 @@ public class NewsLetterService {
      */
     @Transactional
     public boolean toggleBookmarkStatus(Integer poNum, Integer mbNum) {
-        int count = likeMapper.checkScrapStatus(poNum, mbNum);
+        int count = likeMapper.checkScrapStatus(BoardType.NEWSLETTER, poNum, mbNum);
         if (count == 0) {
-            likeMapper.insertScrapLog(poNum, mbNum);
+            likeMapper.insertScrapLog(BoardType.NEWSLETTER, poNum, mbNum);
             return true;
         } else {
-            likeMapper.deleteScrapLog(poNum, mbNum);
+            likeMapper.deleteScrapLog(BoardType.NEWSLETTER, poNum, mbNum);
             return false;
         }
     }
 
     /**
-     * 🚩 이미지 파일 물리 저장 로직 (기존 유지)
+     * 🚩 목록 변환 + 로그인 사용자의 추천/즐겨찾기/스크랩 여부를 페이지 단위로 한 번에 표시
      */
-    private void handleImages(NewsLetter post, List<MultipartFile> images) throws Exception {
-        if (images == null || images.isEmpty()) return;
-        
-        String cleanPath = uploadRoot.replace("\\", "/");
-        if (!cleanPath.endsWith("/")) cleanPath += "/";
-        
-        File dir = new File(cleanPath);
-        if (!dir.exists()) dir.mkdirs(); 
-        
-        List<String> savedNames = new ArrayList<>();
-        for (MultipartFile file : images) {
-            if (!file.isEmpty()) {
-                String originalFileName = file.getOriginalFilename();
-                String extension = originalFileName.substring(originalFileName.lastIndexOf("."));
-                String fileName = UUID.randomUUID().toString() + extension;
-                
-                Path targetPath = Paths.get(cleanPath).resolve(fileName);
-                Files.copy(file.getInputStream(), targetPath, StandardCopyOption.REPLACE_EXISTING);
-                savedNames.add(fileName);
-            }
-        }
-        
-        if (!savedNames.isEmpty()) {
-            post.setPoImg(String.join(",", savedNames));
-        }
+    private List<Map<String, Object>> toMaps(List<NewsLetter> posts) {
+        return viewerStateService.annotate(BoardType.NEWSLETTER, toCommonMaps(posts));
+    }
+
+    /**
+     * 목록/상세 공통 변환 (로그인 사용자 상태 제외 → 상세 캐시에도 사용)
+     */
+    private List<Map<String, Object>> toCommonMaps(List<NewsLetter> posts) {
+        Map<Integer, String> nicknames = authorLookupService.loadNicknames(
+                posts.stream().map(NewsLetter::getPoMbNum).collect(Collectors.toList()));
+        List<Map<String, Object>> maps = posts.stream()
+                .map(p -> convertToMap(p, nicknames))
+                .collect(Collectors.toList());
+        // 🚩 작성자 프로필 사진 주소 (/avatar/{회원 번호}/{사진 버전})
+        return authorLookupService.putAvatarUrls(maps, "poMbNum", "avatarUrl");
     }
 
     /**
      * 🚩 엔티티 데이터를 프론트엔드용 Map으로 변환 (닉네임 포함)
      */
-    private Map<String, Object> convertToMap(NewsLetter p) {
+    private Map<String, Object> convertToMap(NewsLetter p, Map<Integer, String> nicknames) {
         Map<String, Object> map = new HashMap<>();
         map.put("poNum", p.getPoNum());
         map.put("po_num", p.getPoNum()); 
@@ -237,34 +305,25 @@ public class NewsLetterService {
         map.put("po_content", p.getPoContent());
         map.put("poDate", p.getPoDate() != null ? p.getPoDate().toString() : "");
         map.put("po_date", p.getPoDate() != null ? p.getPoDate().toString() : "");
-        map.put("poView", p.getPoView() != null ? p.getPoView() : 0);
-        map.put("po_view", p.getPoView() != null ? p.getPoView() : 0);
+        map.put("poView", viewCountBuffer.merged(BoardType.NEWSLETTER, p.getPoNum(), p.getPoView()));
+        map.put("po_view", viewCountBuffer.merged(BoardType.NEWSLETTER, p.getPoNum(), p.getPoView()));
         map.put("poUp", p.getPoUp() != null ? p.getPoUp() : 0);
         map.put("po_up", p.getPoUp() != null ? p.getPoUp() : 0);
         map.put("poMbNum", p.getPoMbNum());
-
-        // 🚩 작성자(관리자) 닉네임 매핑
-        String nickname = "관리자";
-        try {
-            Optional<?> result = memberRepository.findById(p.getPoMbNum());
-            if (result.isPresent()) {
-                Object obj = result.get();
-                if (obj instanceof MemberVO) {
-                    nickname = ((MemberVO) obj).getMb_nickname();
-                }
-            }
-        } catch (Exception e) {}
-        map.put("mbNickname", nickname);
+        map.put("mbNickname", nicknames.getOrDefault(p.getPoMbNum(), DEFAULT_NICKNAME));
         
         if (p.getPoImg() != null && !p.getPoImg().isEmpty()) {
             String firstImg = p.getPoImg().split(",")[0].trim();
             map.put("fileUrl", SERVER_URL + firstImg);
             map.put("po_img", firstImg);
             map.put("poImg", SERVER_URL + firstImg);
+            // 🚩 목록 카드용 320px 사본 (/pic/320/파일명, WebConfig)
+            map.put("thumbUrl", SERVER_URL + "320/" + firstImg);
         } else {
             map.put("fileUrl", null);
             map.put("po_img", null);
             map.put("poImg", null);
+            map.put("thumbUrl", null);
         }
         
         return map;
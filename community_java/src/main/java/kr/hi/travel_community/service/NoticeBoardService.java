@@ -4,20 +4,19 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import kr.hi.travel_community.entity.Notice;
 import kr.hi.travel_community.mapper.LikeMapper;
-import kr.hi.travel_community.model.vo.MemberVO;
-import kr.hi.travel_community.repository.MemberRepository;
 import kr.hi.travel_community.repository.NoticeRepository;
+import kr.hi.travel_community.utill.KeysetPage;
+import kr.hi.travel_community.cache.DetailCache;
+import kr.hi.travel_community.model.util.BoardType;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -25,46 +24,75 @@ import lombok.RequiredArgsConstructor;
 public class NoticeBoardService {
 
     private final NoticeRepository postRepository;
-    private final MemberRepository memberRepository; // 🚩 닉네임 조회를 위해 추가
+    private final AuthorLookupService authorLookupService; // 🚩 작성자 닉네임 일괄 조회
+    private final ViewCountBuffer viewCountBuffer;
+    private final ViewDedupeStore viewDedupeStore;
+    private final DetailCache detailCache;
     private final LikeMapper likeMapper; 
+    private final PostLikeService postLikeService;
+    private final ViewerStateService viewerStateService;
+
+    private static final String DEFAULT_NICKNAME = "관리자";
 
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getRealAllPosts() {
-        return postRepository.findByNnDelOrderByNnNumDesc("N").stream()
-                .map(this::convertToMap).collect(Collectors.toList());
+        return toMaps(postRepository.findByNnDelOrderByNnNumDesc("N"));
     }
 
-    @Transactional
-    public void increaseViewCount(Integer id, HttpServletRequest request, HttpServletResponse response) {
-        Cookie[] cookies = request.getCookies();
-        String cookieName = "viewed_notice_" + id;
+    /**
+     * 🚩 커서(keyset) 페이징 목록 조회: ?after=<nnNum>&size=N
+     * after가 없으면 첫 페이지, 있으면 해당 글 번호보다 작은 글부터 size 건만 조회합니다.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getPostsAfter(Integer after, Integer size) {
+        int limit = KeysetPage.normalizeSize(size);
+        List<Notice> rows = (after == null)
+                ? postRepository.findByNnDelOrderByNnNumDesc("N", KeysetPage.probe(limit))
+                : postRepository.findByNnDelAndNnNumLessThanOrderByNnNumDesc("N", after, KeysetPage.probe(limit));
+        return KeysetPage.of(rows, limit, Notice::getNnNum, this::toMaps);
+    }
 
-        if (cookies != null) {
-            for (Cookie cookie : cookies) {
-                if (cookie.getName().equals(cookieName)) return;
-            }
-        }
+    /**
+     * 🚩 작성자별 글 목록 커서 페이징: /posts/author/{mbNum}?after=&size=
+     * (nn_mb_num, nn_del, nn_num) 인덱스로 해당 작성자 글만 읽습니다.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getPostsByAuthor(Integer mbNum, Integer after, Integer size) {
+        int limit = KeysetPage.normalizeSize(size);
+        List<Notice> rows = (after == null)
+                ? postRepository.findByNnMbNumAndNnDelOrderByNnNumDesc(mbNum, "N", KeysetPage.probe(limit))
+                : postRepository.findByNnMbNumAndNnDelAndNnNumLessThanOrderByNnNumDesc(mbNum, "N", after, KeysetPage.probe(limit));
+        return KeysetPage.of(rows, limit, Notice::getNnNum, this::toMaps);
+    }
 
-        if (postRepository.updateViewCount(id) > 0) {
-            Cookie newCookie = new Cookie(cookieName, "true");
-            newCookie.setPath("/");
-            newCookie.setMaxAge(60 * 60 * 24);
-            newCookie.setHttpOnly(true);
-            response.addCookie(newCookie);
-        }
+    public void increaseViewCount(Integer id, HttpServletRequest request, HttpServletResponse response) {
+        // 🚩 같은 조회자의 재조회는 서버 측 저장소(TTL)로 걸러냄
+        if (!viewDedupeStore.firstView(BoardType.NOTICE, id, request, response)) return;
+
+        // 🚩 DB 반영은 ViewCountBuffer 가 모아서 처리 (상세 조회가 조회수 행 잠금을 기다리지 않음)
+        viewCountBuffer.increment(BoardType.NOTICE, id);
     }
 
     @Transactional(readOnly = true)
     public Map<String, Object> getPostDetail(Integer id, Integer mbNum) {
+        // 🚩 공통 부분은 상세 캐시에서, 좋아요/스크랩 여부는 매번 조회
+        Map<String, Object> map = detailCache.getOrLoad(BoardType.NOTICE, id,
+                () -> viewCountBuffer.stamped(BoardType.NOTICE, id, () -> loadDetail(id)));
+        if (map == null) return null;
+
+        map.put("nnView", viewCountBuffer.merged(BoardType.NOTICE, id, map, "nnView"));
+
+        viewerStateService.annotate(BoardType.NOTICE, mbNum, List.of(map));
+        return map;
+    }
+
+    /**
+     * 상세 캐시에 들어갈 공통 부분 (nnView 는 DB 값 그대로 두고 조회 시 미반영분을 더함)
+     */
+    private Map<String, Object> loadDetail(Integer id) {
         return postRepository.findByNnNumAndNnDel(id, "N").map(p -> {
-            Map<String, Object> map = convertToMap(p);
-            
-            int likeCheck = (mbNum != null) ? likeMapper.checkLikeStatus(id, mbNum) : 0;
-            map.put("isLikedByMe", likeCheck > 0);
-
-            int scrapCheck = (mbNum != null) ? likeMapper.checkScrapStatus(id, mbNum) : 0; 
-            map.put("isScrappedByMe", scrapCheck > 0);
-            
+            Map<String, Object> map = toCommonMaps(List.of(p)).get(0);
+            map.put("nnView", p.getNnView() != null ? p.getNnView() : 0);
             return map;
         }).orElse(null);
     }
@@ -83,6 +111,7 @@ public class NoticeBoardService {
 
     @Transactional
     public void updatePost(Integer id, String title, String content) {
+        detailCache.evict(BoardType.NOTICE, id);
         Notice post = postRepository.findByNnNumAndNnDel(id, "N")
                 .orElseThrow(() -> new RuntimeException("게시글 없음"));
         post.setNnTitle(title);
@@ -92,6 +121,7 @@ public class NoticeBoardService {
 
     @Transactional
     public void deletePost(Integer id) {
+        detailCache.evict(BoardType.NOTICE, id);
         postRepository.findByNnNumAndNnDel(id, "N").ifPresent(p -> {
             p.setNnDel("Y");
             postRepository.save(p);
@@ -100,60 +130,56 @@ public class NoticeBoardService {
 
     @Transactional
     public String toggleLikeStatus(Integer nnNum, Integer mbNum) {
-        int count = likeMapper.checkLikeStatus(nnNum, mbNum);
-        Notice post = postRepository.findByNnNumAndNnDel(nnNum, "N")
-                .orElseThrow(() -> new RuntimeException("공지사항 없음"));
-
-        if (count == 0) {
-            likeMapper.insertLikeLog(nnNum, mbNum);
-            post.setNnUp((post.getNnUp() == null ? 0 : post.getNnUp()) + 1);
-            postRepository.save(post);
-            return "liked";
-        } else {
-            likeMapper.deleteLikeLog(nnNum, mbNum);
-            post.setNnUp(Math.max(0, (post.getNnUp() == null ? 0 : post.getNnUp()) - 1));
-            postRepository.save(post);
-            return "unliked";
-        }
+        detailCache.evict(BoardType.NOTICE, nnNum);
+        // 🚩 DELETE → INSERT IGNORE 토글 + 추천수 상대 반영 (PostLikeService)
+        Integer delta = postLikeService.toggle(BoardType.NOTICE, nnNum, mbNum);
+        if (delta == null) throw new RuntimeException("공지사항 없음");
+        return delta >= 0 ? "liked" : "unliked";
     }
 
     @Transactional
     public String toggleScrapStatus(Integer nnNum, Integer mbNum) {
-        int count = likeMapper.checkScrapStatus(nnNum, mbNum);
+        int count = likeMapper.checkScrapStatus(BoardType.NOTICE, nnNum, mbNum);
         
         if (count == 0) {
-            likeMapper.insertScrapLog(nnNum, mbNum);
+            likeMapper.insertScrapLog(BoardType.NOTICE, nnNum, mbNum);
             return "scrapped";
         } else {
-            likeMapper.deleteScrapLog(nnNum, mbNum);
+            likeMapper.deleteScrapLog(BoardType.NOTICE, nnNum, mbNum);
             return "unscrapped";
         }
     }
 
-    private Map<String, Object> convertToMap(Notice p) {
+    /**
+     * 🚩 목록 변환 + 로그인 사용자의 추천/즐겨찾기/스크랩 여부를 페이지 단위로 한 번에 표시
+     */
+    private List<Map<String, Object>> toMaps(List<Notice> posts) {
+        return viewerStateService.annotate(BoardType.NOTICE, toCommonMaps(posts));
+    }
+
+    /**
+     * 목록/상세 공통 변환 (로그인 사용자 상태 제외 → 상세 캐시에도 사용)
+     */
+    private List<Map<String, Object>> toCommonMaps(List<Notice> posts) {
+        Map<Integer, String> nicknames = authorLookupService.loadNicknames(
+                posts.stream().map(Notice::getNnMbNum).collect(Collectors.toList()));
+        List<Map<String, Object>> maps = posts.stream()
+                .map(p -> convertToMap(p, nicknames))
+                .collect(Collectors.toList());
+        // 🚩 작성자 프로필 사진 주소 (/avatar/{회원 번호}/{사진 버전})
+        return authorLookupService.putAvatarUrls(maps, "nnMbNum", "avatarUrl");
+    }
+
+    private Map<String, Object> convertToMap(Notice p, Map<Integer, String> nicknames) {
         Map<String, Object> map = new HashMap<>();
         map.put("nnNum", p.getNnNum());
         map.put("nnTitle", p.getNnTitle());
         map.put("nnContent", p.getNnContent());
         map.put("nnDate", p.getNnDate() != null ? p.getNnDate().toString() : "");
-        map.put("nnView", p.getNnView() != null ? p.getNnView() : 0);
+        map.put("nnView", viewCountBuffer.merged(BoardType.NOTICE, p.getNnNum(), p.getNnView()));
         map.put("nnUp", p.getNnUp() != null ? p.getNnUp() : 0);
         map.put("nnMbNum", p.getNnMbNum());
-
-        // 🚩 작성자(관리자) 닉네임 매핑 로직 (타입 에러 방어)
-        String nickname = "관리자";
-        try {
-            Optional<?> result = memberRepository.findById(p.getNnMbNum());
-            if (result.isPresent()) {
-                Object obj = result.get();
-                if (obj instanceof MemberVO) {
-                    nickname = ((MemberVO) obj).getMb_nickname();
-                }
-            }
-        } catch (Exception e) {
-            // 에러 시 기본값 "관리자" 유지
-        }
-        map.put("mbNickname", nickname);
+        map.put("mbNickname", nicknames.getOrDefault(p.getNnMbNum(), DEFAULT_NICKNAME));
 
         return map;
     }
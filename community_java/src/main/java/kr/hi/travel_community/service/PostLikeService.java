@@ -0,0 +1,197 @@
+package kr.hi.travel_community.service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PreDestroy;
+import kr.hi.travel_community.cache.DetailCache;
+import kr.hi.travel_community.mapper.LikeMapper;
+import kr.hi.travel_community.model.util.BoardType;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 🚩 게시글 추천(좋아요) 토글
+ * - likes 의 (li_mb_num, li_board, li_name, li_id) 유니크 키를 기준으로 DELETE → 없으면 INSERT IGNORE 로 토글합니다.
+ *   (먼저 조회하지 않으므로 동시에 눌러도 행이 중복되거나 추천수가 어긋나지 않음)
+ * - 추천수는 엔티티를 읽어 save() 하지 않고 UPDATE up = up + ? 로 상대 반영합니다.
+ * - like.buffer.enabled=true 이면 증감분을 글별 LongAdder 에 모아 주기적으로 한 문장씩 반영합니다. (인기 글 행 잠금 경합 완화)
+ */
+@Service
+@Slf4j
+public class PostLikeService {
+
+    /** UPDATE 한 문장에 담을 최대 글 수 */
+    private static final int FLUSH_CHUNK = 500;
+
+    private final LikeMapper likeMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final DetailCache detailCache;
+    private final boolean buffered;
+
+    private final Map<BoardType, ConcurrentHashMap<Integer, LongAdder>> pending = new EnumMap<>(BoardType.class);
+
+    public PostLikeService(LikeMapper likeMapper,
+                           JdbcTemplate jdbcTemplate,
+                           DetailCache detailCache,
+                           @Value("${like.buffer.enabled:false}") boolean buffered) {
+        this.likeMapper = likeMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.detailCache = detailCache;
+        this.buffered = buffered;
+        for (BoardType board : BoardType.values()) {
+            pending.put(board, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * 추천 토글 (호출 측 트랜잭션 안에서 실행)
+     * @return 추천수 변화량 (+1 추천, -1 취소, 0 동시 요청으로 이미 추천됨),
+     *         게시글이 없거나 삭제된 경우 null (호출 측에서 예외 처리 → 롤백)
+     */
+    public Integer toggle(BoardType board, Integer poNum, Integer mbNum) {
+        if (buffered && !exists(board, poNum)) return null;
+
+        final int delta;
+        if (likeMapper.deleteLikeLog(board, poNum, mbNum) > 0) {
+            delta = -1;
+        } else if (likeMapper.insertLikeLog(board, poNum, mbNum) > 0) {
+            delta = 1;
+        } else {
+            // 동시에 들어온 다른 요청이 방금 추가함 → 이미 추천 상태, 추천수 변화 없음
+            return 0;
+        }
+
+        if (buffered) {
+            afterCommit(() -> buffer(board, poNum, delta));
+        } else if (applyDelta(board, poNum, delta) == 0) {
+            return null;
+        }
+        return delta;
+    }
+
+    private boolean exists(BoardType board, Integer poNum) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + board.getTable()
+                        + " WHERE " + board.getPkColumn() + " = ? AND " + board.getDelColumn() + " = 'N'",
+                Integer.class, poNum);
+        return count != null && count > 0;
+    }
+
+    /**
+     * 증감분을 버퍼에 더함 (compute 안에서 더해야 flush 가 같은 글을 꺼내는 중에 끼어들지 않음)
+     */
+    private void buffer(BoardType board, Integer poNum, long delta) {
+        pending.get(board).compute(poNum, (k, adder) -> {
+            if (adder == null) adder = new LongAdder();
+            adder.add(delta);
+            return adder;
+        });
+    }
+
+    /**
+     * UPDATE board SET up = GREATEST(COALESCE(up, 0) + ?, 0) WHERE pk = ? AND del = 'N'
+     */
+    private int applyDelta(BoardType board, Integer poNum, long delta) {
+        return jdbcTemplate.update(
+                "UPDATE " + board.getTable()
+                        + " SET " + board.getUpColumn() + " = GREATEST(COALESCE(" + board.getUpColumn() + ", 0) + ?, 0)"
+                        + " WHERE " + board.getPkColumn() + " = ? AND " + board.getDelColumn() + " = 'N'",
+                delta, poNum);
+    }
+
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    /* ===================== 버퍼 반영 (like.buffer.enabled=true) ===================== */
+
+    @Scheduled(fixedDelayString = "${like.flush-ms:1000}")
+    public void flush() {
+        if (!buffered) return;
+        for (BoardType board : BoardType.values()) {
+            flush(board);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flush(BoardType board) {
+        ConcurrentHashMap<Integer, LongAdder> map = pending.get(board);
+        if (map.isEmpty()) return;
+
+        // 🚩 글별로 꺼내기와 제거를 같은 compute 안에서 처리 (buffer() 와 같은 잠금 → 꺼낸 뒤 더해져 사라지는 증감분 없음)
+        List<long[]> drained = new ArrayList<>();
+        for (Integer poNum : map.keySet()) {
+            map.computeIfPresent(poNum, (k, adder) -> {
+                long delta = adder.sum();
+                if (delta != 0) drained.add(new long[]{k, delta});
+                return null;
+            });
+        }
+
+        for (int from = 0; from < drained.size(); from += FLUSH_CHUNK) {
+            List<long[]> chunk = drained.subList(from, Math.min(from + FLUSH_CHUNK, drained.size()));
+            try {
+                updateChunk(board, chunk);
+                for (long[] row : chunk) {
+                    detailCache.evict(board, (int) row[0]);
+                }
+            } catch (Exception e) {
+                // 반영 실패 시 다음 주기에 다시 시도하도록 버퍼로 되돌림
+                log.error("추천수 반영 실패 ({}): {}", board.getTable(), e.getMessage());
+                for (long[] row : chunk) {
+                    buffer(board, (int) row[0], row[1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * UPDATE board SET up = GREATEST(COALESCE(up, 0) + CASE pk WHEN ? THEN ? ... END, 0) WHERE pk IN (...)
+     */
+    private void updateChunk(BoardType board, List<long[]> chunk) {
+        StringBuilder sql = new StringBuilder()
+                .append("UPDATE ").append(board.getTable())
+                .append(" SET ").append(board.getUpColumn())
+                .append(" = GREATEST(COALESCE(").append(board.getUpColumn()).append(", 0) + CASE ")
+                .append(board.getPkColumn());
+        List<Object> args = new ArrayList<>(chunk.size() * 3);
+
+        for (long[] row : chunk) {
+            sql.append(" WHEN ? THEN ?");
+            args.add(row[0]);
+            args.add(row[1]);
+        }
+        sql.append(" ELSE 0 END, 0) WHERE ").append(board.getPkColumn()).append(" IN (");
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+            args.add(chunk.get(i)[0]);
+        }
+        sql.append(") AND ").append(board.getDelColumn()).append(" = 'N'");
+
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+}
@@ -2,27 +2,29 @@ package kr.hi.travel_community.service;
 
 import kr.hi.travel_community.entity.RecommendPost;
 import kr.hi.travel_community.entity.ReportBox;
-import kr.hi.travel_community.mapper.LikeMapper;
 import kr.hi.travel_community.repository.RecommendRepository;
 import kr.hi.travel_community.repository.CommentRepository;
 import kr.hi.travel_community.repository.ReportRepository;
-import kr.hi.travel_community.repository.MemberRepository; 
 import kr.hi.travel_community.entity.Comment;
-import kr.hi.travel_community.entity.Member; 
+import kr.hi.travel_community.utill.KeysetPage;
+import kr.hi.travel_community.cache.DetailCache;
+import kr.hi.travel_community.media.MediaIngestService;
+import kr.hi.travel_community.model.util.BoardType;
+import kr.hi.travel_community.search.BigramTokenizer;
+import kr.hi.travel_community.search.PostSearchIndex;
+import kr.hi.travel_community.search.SearchResults;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-import java.io.File;
-import java.nio.file.*;
 import java.time.LocalDateTime;
 import java.util.*; 
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,45 +32,110 @@ import java.util.stream.Collectors;
 public class RecommendPostService {
 
     private final RecommendRepository postRepository; 
-    private final LikeMapper likeMapper; 
+    private final PostLikeService postLikeService;
+    private final ViewerStateService viewerStateService;
     private final CommentRepository commentRepository;
     private final ReportRepository reportRepository; 
-    private final MemberRepository memberRepository; 
-
-    @Value("${file.upload-dir:C:/travel_contents/uploads/pic/}")
-    private String uploadRoot;
+    private final AuthorLookupService authorLookupService;
+    private final ViewCountBuffer viewCountBuffer;
+    private final ViewDedupeStore viewDedupeStore;
+    private final DetailCache detailCache;
+    private final MediaIngestService mediaIngestService;
+    private final PostSearchIndex searchIndex;
+    private final RecommendRankingService rankingService;
 
     private final String SERVER_URL = "/pic/";
 
+    private static final String UNKNOWN_NICKNAME = "알 수 없는 사용자";
+
+    /** 전문 색인으로 처리하는 검색 유형 (작성자 검색 등은 DB 조회) */
+    private static final Set<String> INDEXED_SEARCH_TYPES = Set.of("title", "content", "title_content");
+
+    /**
+     * 🚩 인기글 top 10: 랭킹 엔진이 유지하는 상위 글 번호만 조회하여 변환
+     * 엔진이 아직 준비되지 않았으면(시작 직후, 첫 재계산 실패) DB에서 점수순 상위 10건 번호를 조회합니다.
+     */
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getAllPosts() {
-        return postRepository.findByPoDelOrderByPoNumDesc("N").stream()
-                .map(this::convertToMap)
-                .sorted((a, b) -> Integer.compare((int) b.get("score"), (int) a.get("score")))
-                .limit(10)
-                .collect(Collectors.toList());
+        List<Integer> ranked = rankingService.topPostNums(10);
+        if (ranked == null) {
+            ranked = postRepository.findTopByScore(PageRequest.of(0, 10));
+        }
+        Map<Integer, RecommendPost> byNum = postRepository.findAllById(ranked).stream()
+                .filter(p -> "N".equals(p.getPoDel()))
+                .collect(Collectors.toMap(RecommendPost::getPoNum, p -> p));
+        return toMaps(ranked.stream()
+                .map(byNum::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
     }
 
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getRealAllPosts() {
-        return postRepository.findByPoDelOrderByPoNumDesc("N").stream()
-                .map(this::convertToMap)
-                .collect(Collectors.toList());
+        return toMaps(postRepository.findByPoDelOrderByPoNumDesc("N"));
+    }
+
+    /**
+     * 🚩 커서(keyset) 페이징 목록 조회: ?after=<poNum>&size=N
+     * after가 없으면 첫 페이지, 있으면 해당 글 번호보다 작은 글부터 size 건만 조회합니다.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getPostsAfter(Integer after, Integer size) {
+        int limit = KeysetPage.normalizeSize(size);
+        List<RecommendPost> rows = (after == null)
+                ? postRepository.findByPoDelOrderByPoNumDesc("N", KeysetPage.probe(limit))
+                : postRepository.findByPoDelAndPoNumLessThanOrderByPoNumDesc("N", after, KeysetPage.probe(limit));
+        return KeysetPage.of(rows, limit, RecommendPost::getPoNum, this::toMaps);
+    }
+
+    /**
+     * 🚩 작성자별 글 목록 커서 페이징: /posts/author/{mbNum}?after=&size=
+     * (po_mb_num, po_del, po_num) 인덱스로 해당 작성자 글만 읽습니다.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getPostsByAuthor(Integer mbNum, Integer after, Integer size) {
+        int limit = KeysetPage.normalizeSize(size);
+        List<RecommendPost> rows = (after == null)
+                ? postRepository.findByPoMbNumAndPoDelOrderByPoNumDesc(mbNum, "N", KeysetPage.probe(limit))
+                : postRepository.findByPoMbNumAndPoDelAndPoNumLessThanOrderByPoNumDesc(mbNum, "N", after, KeysetPage.probe(limit));
+        return KeysetPage.of(rows, limit, RecommendPost::getPoNum, this::toMaps);
     }
 
     @Transactional(readOnly = true)
     public List<Map<String, Object>> searchPosts(String type, String keyword) {
+        return toMaps(findSearchResult(type, keyword));
+    }
+
+    /**
+     * 🚩 검색 결과 페이지 조회: ?type=&keyword=&page=&size=
+     * 색인 검색이면 점수순 글 번호에서 해당 페이지만 잘라 조회합니다.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> searchPostsPage(String type, String keyword, Integer page, Integer size) {
+        int limit = KeysetPage.normalizeSize(size);
+        int pageNo = (page == null || page < 0) ? 0 : page;
+
+        List<Integer> hits = INDEXED_SEARCH_TYPES.contains(type) ? searchIndex.search(BoardType.RECOMMEND, type, keyword) : null;
+        if (hits != null) {
+            return SearchResults.verifiedPage(hits, pageNo, limit, ids -> loadHits(ids, type, keyword), this::toMaps);
+        }
+
+        List<RecommendPost> all = findSearchResult(type, keyword);
+        return SearchResults.page(toMaps(SearchResults.slice(all, pageNo, limit)), all.size(), pageNo, limit);
+    }
+
+    private List<RecommendPost> findSearchResult(String type, String keyword) {
         List<RecommendPost> result;
 
         switch (type) {
             case "title":
-                result = postRepository.findByPoTitleContainingAndPoDelOrderByPoNumDesc(keyword, "N");
+                result = indexedOrLike(type, keyword, () -> postRepository.findByPoTitleContainingAndPoDelOrderByPoNumDesc(keyword, "N"));
                 break;
             case "content":
-                result = postRepository.findByPoContentContainingAndPoDelOrderByPoNumDesc(keyword, "N");
+                result = indexedOrLike(type, keyword, () -> postRepository.findByPoContentContainingAndPoDelOrderByPoNumDesc(keyword, "N"));
                 break;
             case "title_content":
-                result = postRepository.findByTitleOrContent(keyword, "N");
+                result = indexedOrLike(type, keyword, () -> postRepository.findByTitleOrContent(keyword, "N"));
                 break;
             case "author":
                 try {
@@ -82,70 +149,103 @@ public class RecommendPostService {
                 result = postRepository.findByPoDelOrderByPoNumDesc("N");
         }
 
-        return result.stream()
-                .map(this::convertToMap)
-                .collect(Collectors.toList());
+        return result;
     }
 
-    @Transactional
-    public void increaseViewCount(Integer id, HttpServletRequest request, HttpServletResponse response) {
-        Cookie[] cookies = request.getCookies();
-        String cookieName = "viewed_rec_" + id;
+    /**
+     * 🚩 제목/본문 검색: 전문 색인이 준비되어 있으면 색인으로, 아니면 기존 LIKE 검색
+     */
+    private List<RecommendPost> indexedOrLike(String type, String keyword, Supplier<List<RecommendPost>> likeSearch) {
+        List<Integer> hits = searchIndex.search(BoardType.RECOMMEND, type, keyword);
+        return hits != null ? loadHits(hits, type, keyword) : likeSearch.get();
+    }
 
-        if (cookies != null) {
-            for (Cookie cookie : cookies) {
-                if (cookie.getName().equals(cookieName)) {
-                    return; 
-                }
-            }
-        }
+    private List<RecommendPost> loadHits(List<Integer> hits, String type, String keyword) {
+        return SearchResults.inHitOrder(hits, postRepository::findAllById, RecommendPost::getPoNum,
+                p -> "N".equals(p.getPoDel()) && matchesKeyword(p, type, keyword));
+    }
 
-        int updatedRows = postRepository.updateViewCount(id);
-        
-        if (updatedRows > 0) {
-            Cookie newCookie = new Cookie(cookieName, "true");
-            newCookie.setPath("/");
-            newCookie.setMaxAge(60 * 60 * 24 * 365); 
-            newCookie.setHttpOnly(true);
-            response.addCookie(newCookie);
-        }
+    private boolean matchesKeyword(RecommendPost p, String type, String keyword) {
+        boolean inTitle = BigramTokenizer.containsPhrase(p.getPoTitle(), keyword);
+        if ("title".equals(type)) return inTitle;
+        boolean inContent = BigramTokenizer.containsPhrase(p.getPoContent(), keyword);
+        if ("content".equals(type)) return inContent;
+        return inTitle || inContent;
     }
 
+    public void increaseViewCount(Integer id, HttpServletRequest request, HttpServletResponse response) {
+        // 🚩 같은 조회자의 재조회는 서버 측 저장소(TTL)로 걸러냄
+        if (!viewDedupeStore.firstView(BoardType.RECOMMEND, id, request, response)) return;
+
+        // 🚩 DB 반영은 ViewCountBuffer 가 모아서 처리 (상세 조회가 조회수 행 잠금을 기다리지 않음)
+        viewCountBuffer.increment(BoardType.RECOMMEND, id);
+        rankingService.onView(id);
+    }
+
+    /**
+     * 🚩 상세 조회: 사용자와 무관한 부분은 상세 캐시에서, 사용자별 값(추천 여부, 댓글 수정 권한)은 매번 덧붙임
+     */
     @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
     public Map<String, Object> getPostDetailWithImage(Integer id, Integer mbNum) {
+        Map<String, Object> map = detailCache.getOrLoad(BoardType.RECOMMEND, id,
+                () -> viewCountBuffer.stamped(BoardType.RECOMMEND, id, () -> loadDetail(id)));
+        if (map == null) return null;
+
+        map.put("poView", viewCountBuffer.merged(BoardType.RECOMMEND, id, map, "poView"));
+
+        List<Map<String, Object>> comments = ((List<Map<String, Object>>) map.get("comments")).stream()
+                .map(c -> {
+                    Map<String, Object> cMap = new HashMap<>(c);
+                    Integer coMbNum = (Integer) c.get("coMbNum");
+                    cMap.put("canEdit", mbNum != null && (mbNum.equals(coMbNum) || mbNum == 1));
+                    return cMap;
+                }).collect(Collectors.toList());
+        map.put("comments", comments);
+
+        viewerStateService.annotate(BoardType.RECOMMEND, mbNum, List.of(map));
+        return map;
+    }
+
+    /**
+     * 상세 캐시에 들어갈 공통 부분 (poView 는 DB 값 그대로 두고 조회 시 미반영분을 더함)
+     */
+    private Map<String, Object> loadDetail(Integer id) {
         return postRepository.findByPoNumAndPoDel(id, "N").map(p -> {
-            Map<String, Object> map = convertToMap(p);
+            List<Comment> commentList = commentRepository.findByCoPoNumAndCoPoTypeAndCoDelOrderByCoDateAsc(id, "RECOMMEND", "N");
+
+            // 🚩 글 작성자 + 댓글 작성자 닉네임을 한 번에 조회
+            Set<Integer> mbNums = new HashSet<>();
+            mbNums.add(p.getPoMbNum());
+            commentList.forEach(c -> mbNums.add(c.getCoMbNum()));
+            Map<Integer, String> nicknames = authorLookupService.loadNicknames(mbNums);
+
+            Map<String, Object> map = convertToMap(p, nicknames, commentList.size());
+            map.put("poView", p.getPoView() != null ? p.getPoView() : 0);
             
-            List<Map<String, Object>> comments = commentRepository.findByCoPoNumAndCoPoTypeAndCoDelOrderByCoDateAsc(id, "RECOMMEND", "N").stream()
+            List<Map<String, Object>> comments = commentList.stream()
                 .map(c -> {
                     Map<String, Object> cMap = new HashMap<>();
                     cMap.put("coNum", c.getCoNum());
                     cMap.put("coContent", c.getCoContent());
                     cMap.put("coMbNum", c.getCoMbNum());
-                    
-                    // 🚩 [수정] getMb_nickname -> getMbNickname (엔티티 필드명과 일치)
-                    String nickname = "알 수 없는 사용자";
-                    Optional<Member> mOpt = memberRepository.findById(c.getCoMbNum());
-                    if(mOpt.isPresent()) {
-                        nickname = mOpt.get().getMbNickname(); 
-                    }
-                    cMap.put("coNickname", nickname);
-                    
+                    cMap.put("coNickname", nicknames.getOrDefault(c.getCoMbNum(), UNKNOWN_NICKNAME));
                     cMap.put("coDate", c.getCoDate());
-                    cMap.put("canEdit", mbNum != null && (c.getCoMbNum().equals(mbNum) || mbNum == 1)); 
                     return cMap;
                 }).collect(Collectors.toList());
+            authorLookupService.putAvatarUrls(comments, "coMbNum", "coAvatarUrl");
             
             map.put("comments", comments);
-
-            int likeCheck = (mbNum != null) ? likeMapper.checkLikeStatus(id, mbNum) : 0;
-            map.put("isLikedByMe", likeCheck > 0); 
             return map;
         }).orElse(null);
     }
 
-    @Transactional
+    /**
+     * 🚩 게시글 저장
+     * - 업로드는 트랜잭션 밖에서 임시 파일로 받고, 파일 이동/po_img 반영은 글 저장 후 MediaIngestService 작업 스레드가 처리
+     */
     public void savePost(RecommendPost post, List<MultipartFile> images) throws Exception {
+        MediaIngestService.Staged staged = mediaIngestService.stage(images);
         post.setPoDate(LocalDateTime.now());
         post.setPoView(0); 
         post.setPoUp(0);
@@ -153,47 +253,53 @@ public class RecommendPostService {
         if (post.getPoMbNum() == null) {
             post.setPoMbNum(1);
         }
-        handleImages(post, images);
-        postRepository.save(post);
+        try {
+            postRepository.save(post);
+        } catch (RuntimeException e) {
+            staged.discard();
+            throw e;
+        }
+        mediaIngestService.publish(BoardType.RECOMMEND, post.getPoNum(), staged);
+        searchIndex.index(BoardType.RECOMMEND, post.getPoNum(), post.getPoTitle(), post.getPoContent());
+        rankingService.onCreated(post.getPoNum(), post.getPoDate());
     }
 
-    @Transactional
     public void updatePost(Integer id, String title, String content, List<MultipartFile> images) throws Exception {
-        RecommendPost post = postRepository.findByPoNumAndPoDel(id, "N")
-                .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
-        post.setPoTitle(title);
-        post.setPoContent(content);
-        if (images != null && !images.isEmpty()) {
-            handleImages(post, images);
+        MediaIngestService.Staged staged = mediaIngestService.stage(images);
+        try {
+            // 🚩 제목/본문만 UPDATE: 엔티티 전체를 save 하면 그사이 작업 스레드가 바꾼 po_img 를 이전 값으로 덮어씀
+            if (postRepository.updateTitleAndContent(id, title, content) == 0) {
+                throw new RuntimeException("게시글을 찾을 수 없습니다.");
+            }
+            // 트랜잭션 없이 UPDATE 가 바로 커밋되므로, 그 뒤에 지워야 이전 글이 다시 캐시되지 않음
+            detailCache.evict(BoardType.RECOMMEND, id);
+        } catch (RuntimeException e) {
+            staged.discard();
+            throw e;
         }
-        postRepository.save(post);
+        mediaIngestService.publish(BoardType.RECOMMEND, id, staged);
+        searchIndex.index(BoardType.RECOMMEND, id, title, content);
     }
 
     @Transactional
     public void deletePost(Integer id) {
+        detailCache.evict(BoardType.RECOMMEND, id);
+        searchIndex.remove(BoardType.RECOMMEND, id);
         postRepository.findByPoNumAndPoDel(id, "N").ifPresent(post -> {
             post.setPoDel("Y");
             postRepository.save(post);
+            rankingService.onRemoved(id);
         });
     }
 
     @Transactional
     public String toggleLikeStatus(Integer poNum, Integer mbNum) {
-        int count = likeMapper.checkLikeStatus(poNum, mbNum);
-        RecommendPost post = postRepository.findByPoNumAndPoDel(poNum, "N")
-                .orElseThrow(() -> new RuntimeException("게시글 없음"));
-
-        if (count == 0) {
-            likeMapper.insertLikeLog(poNum, mbNum);
-            post.setPoUp((post.getPoUp() == null ? 0 : post.getPoUp()) + 1);
-            postRepository.save(post);
-            return "liked";
-        } else {
-            likeMapper.deleteLikeLog(poNum, mbNum);
-            post.setPoUp(Math.max(0, (post.getPoUp() == null ? 0 : post.getPoUp()) - 1));
-            postRepository.save(post);
-            return "unliked";
-        }
+        detailCache.evict(BoardType.RECOMMEND, poNum);
+        // 🚩 DELETE → INSERT IGNORE 토글 + 추천수 상대 반영 (PostLikeService)
+        Integer delta = postLikeService.toggle(BoardType.RECOMMEND, poNum, mbNum);
+        if (delta == null) throw new RuntimeException("게시글 없음");
+        if (delta != 0) rankingService.onLike(poNum, delta);
+        return delta >= 0 ? "liked" : "unliked";
     }
 
     @Transactional
@@ -217,58 +323,44 @@ public class RecommendPostService {
         });
     }
 
-    private void handleImages(RecommendPost post, List<MultipartFile> images) throws Exception {
-        if (images == null || images.isEmpty()) return;
-        
-        String cleanPath = uploadRoot.replace("\\", "/");
-        if (!cleanPath.endsWith("/")) cleanPath += "/";
-        
-        File dir = new File(cleanPath);
-        if (!dir.exists()) dir.mkdirs();
-        
-        List<String> savedNames = new ArrayList<>();
-        for (MultipartFile file : images) {
-            if (!file.isEmpty()) {
-                String originalFileName = file.getOriginalFilename();
-                String extension = "";
-                if (originalFileName != null && originalFileName.contains(".")) {
-                    extension = originalFileName.substring(originalFileName.lastIndexOf("."));
-                }
-                String fileName = UUID.randomUUID().toString() + extension;
-                
-                Path targetPath = Paths.get(cleanPath).resolve(fileName);
-                Files.copy(file.getInputStream(), targetPath, StandardCopyOption.REPLACE_EXISTING);
-                savedNames.add(fileName);
-            }
-        }
-        if (!savedNames.isEmpty()) {
-            post.setPoImg(String.join(",", savedNames));
-        }
+    /**
+     * 🚩 목록 변환 + 로그인 사용자의 추천/즐겨찾기/스크랩 여부를 페이지 단위로 한 번에 표시
+     */
+    List<Map<String, Object>> toMaps(List<RecommendPost> posts) {
+        return viewerStateService.annotate(BoardType.RECOMMEND, toCommonMaps(posts));
     }
 
-    private Map<String, Object> convertToMap(RecommendPost p) {
+    /**
+     * 🚩 목록 변환: 페이지 안의 작성자 번호를 모아 닉네임을 한 번에 조회한 뒤 Map 으로 변환
+     */
+    private List<Map<String, Object>> toCommonMaps(List<RecommendPost> posts) {
+        Map<Integer, String> nicknames = authorLookupService.loadNicknames(
+                posts.stream().map(RecommendPost::getPoMbNum).collect(Collectors.toList()));
+        Map<Integer, Long> commentCounts = commentRepository.countActiveByPostNums(
+                posts.stream().map(RecommendPost::getPoNum).collect(Collectors.toList()), "RECOMMEND");
+        List<Map<String, Object>> maps = posts.stream()
+                .map(p -> convertToMap(p, nicknames, commentCounts.getOrDefault(p.getPoNum(), 0L)))
+                .collect(Collectors.toList());
+        // 🚩 작성자 프로필 사진 주소 (/avatar/{회원 번호}/{사진 버전})
+        return authorLookupService.putAvatarUrls(maps, "poMbNum", "avatarUrl");
+    }
+
+    private Map<String, Object> convertToMap(RecommendPost p, Map<Integer, String> nicknames, long commentCount) {
         Map<String, Object> map = new HashMap<>();
         map.put("postId", p.getPoNum());
         map.put("poNum", p.getPoNum());
         map.put("poTitle", p.getPoTitle());
         map.put("poContent", p.getPoContent());
         map.put("poDate", p.getPoDate() != null ? p.getPoDate().toString() : "");
-        map.put("poView", p.getPoView() != null ? p.getPoView() : 0);
+        map.put("poView", viewCountBuffer.merged(BoardType.RECOMMEND, p.getPoNum(), p.getPoView()));
         map.put("poUp", p.getPoUp() != null ? p.getPoUp() : 0);
         map.put("poMbNum", p.getPoMbNum());
 
-        // 🚩 [수정] getMb_nickname -> getMbNickname (엔티티 필드명과 일치)
-        String mbNickname = "알 수 없는 사용자";
-        Optional<Member> mOpt = memberRepository.findById(p.getPoMbNum());
-        if(mOpt.isPresent()) {
-            mbNickname = mOpt.get().getMbNickname();
-        }
-        map.put("mbNickname", mbNickname);
+        map.put("mbNickname", nicknames.getOrDefault(p.getPoMbNum(), UNKNOWN_NICKNAME));
 
-        long commentCount = commentRepository.countByCoPoNumAndCoPoTypeAndCoDel(p.getPoNum(), "RECOMMEND", "N");
         map.put("commentCount", commentCount);
 
-        int views = p.getPoView() != null ? p.getPoView() : 0;
+        int views = viewCountBuffer.merged(BoardType.RECOMMEND, p.getPoNum(), p.getPoView());
         int likes = p.getPoUp() != null ? p.getPoUp() : 0;
         int score = views + (likes * 2) + ((int) commentCount * 3);
         map.put("score", score);
@@ -277,9 +369,12 @@ public class RecommendPostService {
             String firstImg = p.getPoImg().split(",")[0].trim();
             map.put("fileUrl", SERVER_URL + firstImg);
             map.put("poImg", SERVER_URL + firstImg); 
+            // 🚩 목록 카드용 320px 사본 (/pic/320/파일명, WebConfig)
+            map.put("thumbUrl", SERVER_URL + "320/" + firstImg);
         } else {
             map.put("fileUrl", null);
             map.put("poImg", null);
+            map.put("thumbUrl", null);
         }
         return map;
     }
@@ -0,0 +1,353 @@
+package kr.hi.travel_community.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import kr.hi.travel_community.model.util.BoardType;
+import kr.hi.travel_community.repository.RecommendRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 🚩 추천 게시판 인기글(top-K) 랭킹 엔진
+ * - 점수 = 조회수 + 추천수*2 + 댓글수*3 (기존 getAllPosts 와 동일)
+ * - 글별 점수는 메모리에 유지하고, 상위 후보(candidates 건)만 점수순 정렬 집합으로 관리합니다.
+ * - 후보 순서는 변경 후 불변 목록으로 만들어 volatile 참조 하나로 공개하므로, 읽는 쪽은 재구성 중인 집합을 보지 않습니다.
+ * - 조회/추천/댓글 이벤트가 들어올 때마다 해당 글의 점수만 갱신하므로 요청마다 테이블을 훑지 않습니다.
+ * - 주기적으로 DB 집계와 재동기화(reconcile)하여 다른 경로로 바뀐 값이나 누락된 이벤트를 바로잡습니다.
+ * - ranking.recommend.half-life-hours 를 지정하면 작성 시각 기준으로 점수가 반감되어 오래된 글이 밀려납니다.
+ */
+@Service
+@Slf4j
+public class RecommendRankingService {
+
+    private final RecommendRepository postRepository;
+    private final ViewCountBuffer viewCountBuffer;
+
+    /** 상위 후보 유지 개수 (노출 개수보다 넉넉히 두어 점수가 내려간 글로 인한 오차를 흡수) */
+    private final int candidateLimit;
+
+    /** 점수 반감기(시간). 0 이하면 시간 감쇠 없음 */
+    private final double halfLifeHours;
+
+    /** 글 번호 → 현재 점수 구성값 */
+    private final Map<Integer, PostScore> scores = new HashMap<>();
+
+    /** 첫 재계산을 기다리는 최대 시간(ms). 넘기면 호출 측이 DB 조회로 대체 */
+    private final long loadWaitMs;
+
+    /** 점수 내림차순(동점이면 최신 글 우선) 상위 후보 (lock 보유 중에만 접근) */
+    private TreeSet<RankKey> top = new TreeSet<>();
+
+    /** 상위 후보에 들어가 있는 글의 현재 키 (lock 보유 중에만 접근) */
+    private Map<Integer, RankKey> topKeys = new HashMap<>();
+
+    /** 🚩 읽기용으로 공개된 후보 글 번호 (점수순, 불변 목록을 통째로 교체) */
+    private volatile List<Integer> ranked = List.of();
+
+    private volatile boolean loaded = false;
+
+    /** 첫 재계산 시도(성공/실패)가 끝나면 열림 */
+    private final CountDownLatch firstLoad = new CountDownLatch(1);
+
+    /** reconcile 진행 중에 들어온 이벤트 (스냅샷 교체 후 다시 적용, 진행 중이 아니면 null) */
+    private List<ScoreEvent> replayLog;
+
+    public RecommendRankingService(RecommendRepository postRepository,
+                                   ViewCountBuffer viewCountBuffer,
+                                   @Value("${ranking.recommend.candidates:50}") int candidateLimit,
+                                   @Value("${ranking.recommend.half-life-hours:0}") double halfLifeHours,
+                                   @Value("${ranking.recommend.load-wait-ms:2000}") long loadWaitMs) {
+        this.postRepository = postRepository;
+        this.viewCountBuffer = viewCountBuffer;
+        this.candidateLimit = Math.max(candidateLimit, 1);
+        this.halfLifeHours = halfLifeHours;
+        this.loadWaitMs = Math.max(loadWaitMs, 0);
+    }
+
+    /**
+     * 상위 limit 개 글 번호 (점수순). 공개된 목록의 앞부분만 읽으므로 O(limit)
+     * 재계산은 요청 스레드에서 하지 않습니다. 시작 직후에는 첫 재계산을 잠시 기다리고,
+     * 그래도 준비되지 않았으면(진행 중이거나 실패) null 을 돌려 호출 측이 DB 조회로 대체하게 합니다.
+     */
+    public List<Integer> topPostNums(int limit) {
+        if (!loaded) {
+            try {
+                firstLoad.await(loadWaitMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!loaded) return null;
+        }
+
+        List<Integer> snapshot = ranked;
+        return snapshot.subList(0, Math.min(limit, snapshot.size()));
+    }
+
+    /* ===================== 이벤트 ===================== */
+
+    public void onCreated(Integer poNum, LocalDateTime poDate) {
+        if (poNum == null) return;
+        synchronized (this) {
+            record(new ScoreEvent(poNum, 0, 0, 0, poDate, false));
+            scores.put(poNum, new PostScore(0, 0, 0, poDate));
+            reposition(poNum);
+        }
+    }
+
+    public void onView(Integer poNum) {
+        apply(poNum, 1, 0, 0);
+    }
+
+    public void onLike(Integer poNum, int delta) {
+        apply(poNum, 0, delta, 0);
+    }
+
+    public void onComment(Integer poNum, int delta) {
+        apply(poNum, 0, 0, delta);
+    }
+
+    public void onRemoved(Integer poNum) {
+        if (poNum == null) return;
+        synchronized (this) {
+            record(new ScoreEvent(poNum, 0, 0, 0, null, true));
+            scores.remove(poNum);
+            RankKey old = topKeys.remove(poNum);
+            if (old != null) {
+                top.remove(old);
+                publish();
+            }
+        }
+    }
+
+    private void apply(Integer poNum, int views, int likes, int comments) {
+        if (poNum == null) return;
+        synchronized (this) {
+            record(new ScoreEvent(poNum, views, likes, comments, null, false));
+            PostScore s = scores.get(poNum);
+            // 아직 모르는 글(다른 경로로 생성 등)은 다음 reconcile 때 반영
+            if (s == null) return;
+            s.views += views;
+            s.likes = Math.max(0, s.likes + likes);
+            s.comments = Math.max(0, s.comments + comments);
+            reposition(poNum);
+        }
+    }
+
+    /**
+     * 현재 후보 순서를 불변 목록으로 만들어 한 번에 교체 (호출자가 lock 보유, 후보가 많지 않아 복사 비용이 작음)
+     */
+    private void publish() {
+        List<Integer> nums = new ArrayList<>(top.size());
+        for (RankKey key : top) {
+            nums.add(key.poNum);
+        }
+        ranked = List.copyOf(nums);
+    }
+
+    /**
+     * 글 하나의 키를 다시 계산해 후보 집합 안에서 위치를 갱신하고 공개 목록을 교체 (호출자가 lock 보유)
+     */
+    private void reposition(Integer poNum) {
+        if (updateCandidates(poNum)) publish();
+    }
+
+    /**
+     * 후보 집합 갱신. 후보 순서가 바뀌었으면 true
+     */
+    private boolean updateCandidates(Integer poNum) {
+        RankKey key = new RankKey(rankValue(scores.get(poNum)), poNum);
+
+        RankKey old = topKeys.remove(poNum);
+        if (old != null) {
+            top.remove(old);
+            if (key.compareTo(old) > 0 && !top.isEmpty() && key.compareTo(top.last()) > 0
+                    && scores.size() > top.size() + 1) {
+                // 후보 맨 끝 아래로 내려감 → 후보 밖에 더 높은 글이 있을 수 있으므로 후보 밖 최고 글로 채움 (이 글 포함)
+                RankKey best = bestOutside();
+                top.add(best);
+                topKeys.put(best.poNum, best);
+                return true;
+            }
+        } else if (top.size() >= candidateLimit && key.compareTo(top.last()) > 0) {
+            // 후보 밖의 글이 마지막 후보보다 낮으면 변화 없음
+            return false;
+        }
+
+        top.add(key);
+        topKeys.put(poNum, key);
+
+        while (top.size() > candidateLimit) {
+            RankKey evicted = top.pollLast();
+            topKeys.remove(evicted.poNum);
+        }
+        return true;
+    }
+
+    /**
+     * 후보 집합 밖의 최고 점수 글 (강등 시에만 호출, O(전체 글 수))
+     */
+    private RankKey bestOutside() {
+        RankKey best = null;
+        for (Map.Entry<Integer, PostScore> e : scores.entrySet()) {
+            if (topKeys.containsKey(e.getKey())) continue;
+            RankKey key = new RankKey(rankValue(e.getValue()), e.getKey());
+            if (best == null || key.compareTo(best) < 0) best = key;
+        }
+        return best;
+    }
+
+    private void record(ScoreEvent event) {
+        if (replayLog != null) replayLog.add(event);
+    }
+
+    /* ===================== DB 재동기화 ===================== */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            reconcile();
+        } finally {
+            firstLoad.countDown();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ranking.recommend.reconcile-ms:300000}",
+               initialDelayString = "${ranking.recommend.reconcile-ms:300000}")
+    public void reconcile() {
+        synchronized (this) {
+            if (replayLog != null) return; // 다른 재계산 진행 중
+            replayLog = new ArrayList<>();
+        }
+
+        List<Object[]> rows;
+        try {
+            rows = postRepository.findRankingSnapshot();
+        } catch (Exception e) {
+            log.error("추천 랭킹 재계산 실패: {}", e.getMessage());
+            synchronized (this) {
+                replayLog = null;
+            }
+            return;
+        }
+
+        // 여기까지 기록된 조회 이벤트는 ViewCountBuffer.increment 가 먼저 일어났으므로 아래 pending() 에 이미 포함
+        int viewMark;
+        synchronized (this) {
+            viewMark = replayLog.size();
+        }
+
+        Map<Integer, PostScore> fresh = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            Integer poNum = (Integer) row[0];
+            // DB 에 아직 반영되지 않은 조회수 증가분도 포함
+            int views = toInt(row[1]) + (int) viewCountBuffer.pending(BoardType.RECOMMEND, poNum);
+            fresh.put(poNum, new PostScore(views, toInt(row[2]), toInt(row[4]), (LocalDateTime) row[3]));
+        }
+
+        synchronized (this) {
+            scores.clear();
+            scores.putAll(fresh);
+            // 🚩 스냅샷을 읽는 동안 들어온 이벤트를 다시 적용 (교체로 사라지지 않도록)
+            for (int i = 0; i < replayLog.size(); i++) {
+                replay(replayLog.get(i), i >= viewMark);
+            }
+            replayLog = null;
+
+            // 🚩 새 후보 집합은 따로 만든 뒤 참조만 교체 (읽는 쪽은 publish 된 목록만 봄)
+            TreeSet<RankKey> newTop = new TreeSet<>();
+            for (Map.Entry<Integer, PostScore> e : scores.entrySet()) {
+                newTop.add(new RankKey(rankValue(e.getValue()), e.getKey()));
+                if (newTop.size() > candidateLimit) newTop.pollLast();
+            }
+            Map<Integer, RankKey> newKeys = new HashMap<>(newTop.size() * 2);
+            for (RankKey key : newTop) {
+                newKeys.put(key.poNum, key);
+            }
+            top = newTop;
+            topKeys = newKeys;
+            publish();
+            loaded = true;
+        }
+        log.debug("추천 랭킹 재계산: 전체 {}건, 후보 {}건", fresh.size(), top.size());
+    }
+
+    /**
+     * 재계산 중 기록된 이벤트 하나를 새 점수에 적용 (호출자가 lock 보유)
+     * 추천/댓글은 스냅샷 쿼리와 커밋 순서에 따라 이미 포함됐을 수 있어 다음 재계산까지 1 정도 더해질 수 있습니다.
+     */
+    private void replay(ScoreEvent e, boolean includeViews) {
+        if (e.removed()) {
+            scores.remove(e.poNum());
+            return;
+        }
+        if (e.poDate() != null) {
+            scores.putIfAbsent(e.poNum(), new PostScore(0, 0, 0, e.poDate()));
+            return;
+        }
+        PostScore s = scores.get(e.poNum());
+        if (s == null) return;
+        if (includeViews) s.views += e.views();
+        s.likes = Math.max(0, s.likes + e.likes());
+        s.comments = Math.max(0, s.comments + e.comments());
+    }
+
+    /* ===================== 점수 계산 ===================== */
+
+    /**
+     * 정렬용 값. 감쇠가 없으면 원 점수 그대로,
+     * 감쇠가 있으면 log2(점수+1) + 작성시각/반감기 (forward decay) 로 계산합니다.
+     * 작성 시각만으로 보정하므로 시간이 흘러도 저장된 키를 다시 계산할 필요가 없습니다.
+     */
+    private double rankValue(PostScore s) {
+        int raw = s.views + s.likes * 2 + s.comments * 3;
+        if (halfLifeHours <= 0) return raw;
+
+        double createdHours = s.poDate != null
+                ? s.poDate.toEpochSecond(ZoneOffset.UTC) / 3600.0
+                : 0;
+        return Math.log(raw + 1) / Math.log(2) + createdHours / halfLifeHours;
+    }
+
+    private static int toInt(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+
+    private static class PostScore {
+        int views;
+        int likes;
+        int comments;
+        final LocalDateTime poDate;
+
+        PostScore(int views, int likes, int comments, LocalDateTime poDate) {
+            this.views = views;
+            this.likes = likes;
+            this.comments = comments;
+            this.poDate = poDate;
+        }
+    }
+
+    /** reconcile 중 기록하는 점수 이벤트 (poDate 가 있으면 새 글, removed 면 삭제) */
+    private record ScoreEvent(int poNum, int views, int likes, int comments, LocalDateTime poDate, boolean removed) {}
+
+    /** 점수 내림차순, 동점이면 글 번호 내림차순 */
+    private record RankKey(double value, int poNum) implements Comparable<RankKey> {
+        @Override
+        public int compareTo(RankKey o) {
+            int c = Double.compare(o.value, value);
+            return c != 0 ? c : Integer.compare(o.poNum, poNum);
+        }
+    }
+}
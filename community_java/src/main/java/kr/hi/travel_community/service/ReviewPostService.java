@@ -2,6 +2,7 @@ package kr.hi.travel_community.service;
 
 import kr.hi.travel_community.entity.ReviewPost;
 import kr.hi.travel_community.repository.ReviewRepository;
+import kr.hi.travel_community.utill.KeysetPage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,9 +25,7 @@ public class ReviewPostService {
             case "author":
                 try {
                     Integer mbNum = Integer.parseInt(keyword);
-                    result = postRepository.findByPoDelOrderByPoNumDesc("N").stream()
-                            .filter(p -> p.getPoMbNum() != null && p.getPoMbNum().equals(mbNum))
-                            .collect(Collectors.toList());
+                    result = postRepository.findByPoMbNumAndPoDelOrderByPoNumDesc(mbNum, "N");
                 } catch (NumberFormatException e) {
                     result = new ArrayList<>();
                 }
@@ -38,7 +37,20 @@ public class ReviewPostService {
         return result.stream().map(this::convertToMap).collect(Collectors.toList());
     }
 
-    private Map<String, Object> convertToMap(ReviewPost p) {
+    /**
+     * 🚩 작성자별 글 목록 커서 페이징 (po_mb_num, po_del, po_num 인덱스 사용)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getPostsByAuthor(Integer mbNum, Integer after, Integer size) {
+        int limit = KeysetPage.normalizeSize(size);
+        List<ReviewPost> rows = (after == null)
+                ? postRepository.findByPoMbNumAndPoDelOrderByPoNumDesc(mbNum, "N", KeysetPage.probe(limit))
+                : postRepository.findByPoMbNumAndPoDelAndPoNumLessThanOrderByPoNumDesc(mbNum, "N", after, KeysetPage.probe(limit));
+        return KeysetPage.of(rows, limit, ReviewPost::getPoNum,
+                page -> page.stream().map(this::convertToMap).collect(Collectors.toList()));
+    }
+
+    Map<String, Object> convertToMap(ReviewPost p) {
         Map<String, Object> map = new HashMap<>();
         map.put("poNum", p.getPoNum());
         map.put("poTitle", p.getPoTitle());
@@ -51,9 +63,12 @@ public class ReviewPostService {
             String firstImg = p.getPoImg().split(",")[0].trim();
             map.put("fileUrl", SERVER_URL + firstImg);
             map.put("poImg", SERVER_URL + firstImg);
+            // 🚩 목록 카드용 320px 사본 (/pic/320/파일명, WebConfig)
+            map.put("thumbUrl", SERVER_URL + "320/" + firstImg);
         } else {
             map.put("fileUrl", null);
             map.put("poImg", null);
+            map.put("thumbUrl", null);
         }
         return map;
     }
@@ -0,0 +1,224 @@
+package kr.hi.travel_community.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import kr.hi.travel_community.model.util.BoardType;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 🚩 조회수 write-behind 버퍼
+ * - 상세 조회 시 DB UPDATE 대신 게시판/글 번호별 LongAdder 에 누적만 합니다. (행 잠금 대기 없음)
+ * - 주기적으로(그리고 종료 시) 게시판마다 UPDATE ... CASE 한 문장으로 모아서 반영합니다.
+ * - 아직 반영되지 않은 증가분은 pending() 으로 조회해 화면의 조회수에 더해 줍니다.
+ * - 반영해도 상세 캐시는 지우지 않습니다. 캐시에 담을 때의 반영 누적치(stamped)를 함께 두고,
+ *   읽을 때 그 뒤로 반영된 만큼을 더해 줍니다. (많이 읽히는 글일수록 캐시에서 밀려나던 문제 방지)
+ * - 반영 누적치는 실제로 UPDATE 된(존재하는) 글만 기록하고, 상세 캐시 TTL 보다 오래 반영이 없던 글은 정리합니다.
+ */
+@Service
+@Slf4j
+public class ViewCountBuffer {
+
+    /** UPDATE 한 문장에 담을 최대 글 수 */
+    private static final int FLUSH_CHUNK = 500;
+
+    /** 상세 캐시 Map 에 넣어 두는 반영 누적치 키 (응답에서는 제거) */
+    private static final String FLUSHED_STAMP = "_viewFlushed";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** 반영 누적치 보관 시간 (상세 캐시 TTL, 그보다 오래된 캐시 항목은 없으므로 기록도 필요 없음) */
+    private final long flushedRetainMillis;
+
+    private final Map<BoardType, ConcurrentHashMap<Integer, LongAdder>> counters = new EnumMap<>(BoardType.class);
+    /** 이 프로세스가 글별로 DB 에 반영한 조회수 누적치 */
+    private final Map<BoardType, ConcurrentHashMap<Integer, Flushed>> flushed = new EnumMap<>(BoardType.class);
+
+    /** 반영 누적치 항목이 새로 만들어질 때마다 증가 (정리 후 다시 생긴 항목과 구분) */
+    private final AtomicLong generations = new AtomicLong();
+
+    public ViewCountBuffer(JdbcTemplate jdbcTemplate,
+                           @Value("${cache.detail.ttl-seconds:60}") long detailTtlSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushedRetainMillis = detailTtlSeconds * 1000;
+        for (BoardType board : BoardType.values()) {
+            counters.put(board, new ConcurrentHashMap<>());
+            flushed.put(board, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * 조회수 1 증가 (메모리 누적)
+     */
+    public void increment(BoardType board, Integer poNum) {
+        if (poNum == null) return;
+        // compute 안에서 더함 → flush 가 반영을 끝낸 글의 카운터를 지우는 것과 겹쳐도 증가분이 사라지지 않음
+        counters.get(board).compute(poNum, (k, adder) -> {
+            if (adder == null) adder = new LongAdder();
+            adder.increment();
+            return adder;
+        });
+    }
+
+    /**
+     * DB 에 아직 반영되지 않은 조회수 증가분
+     */
+    public long pending(BoardType board, Integer poNum) {
+        if (poNum == null) return 0;
+        LongAdder adder = counters.get(board).get(poNum);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    /**
+     * DB 조회수 + 미반영 증가분
+     */
+    public int merged(BoardType board, Integer poNum, Integer dbValue) {
+        return (dbValue != null ? dbValue : 0) + (int) pending(board, poNum);
+    }
+
+    /**
+     * 🚩 상세 캐시 loader 감싸기: DB 를 읽기 전의 반영 누적치를 결과 Map 에 기록
+     */
+    public Map<String, Object> stamped(BoardType board, Integer poNum, Supplier<Map<String, Object>> loader) {
+        Flushed current = flushed.get(board).get(poNum);
+        FlushStamp stamp = current != null
+                ? new FlushStamp(current.generation(), current.total())
+                : new FlushStamp(0, 0);
+        Map<String, Object> detail = loader.get();
+        if (detail != null) detail.put(FLUSHED_STAMP, stamp);
+        return detail;
+    }
+
+    /**
+     * 🚩 상세 캐시에서 꺼낸 Map 의 조회수 = 캐시 당시 DB 값 + 그 뒤 반영분 + 미반영 증가분 (기록 키는 제거)
+     * 캐시 당시와 항목 세대가 다르면(그 뒤 새로 생김) 항목의 누적치 전체가 캐시 이후 반영분입니다.
+     */
+    public int merged(BoardType board, Integer poNum, Map<String, Object> detail, String viewKey) {
+        Object stamp = detail.remove(FLUSHED_STAMP);
+        long since = 0;
+        if (stamp instanceof FlushStamp s) {
+            Flushed current = flushed.get(board).get(poNum);
+            if (current != null) {
+                since = current.generation() == s.generation() ? current.total() - s.total() : current.total();
+            }
+        }
+        return merged(board, poNum, (Integer) detail.get(viewKey)) + (int) since;
+    }
+
+    @Scheduled(fixedDelayString = "${viewcount.flush-ms:5000}")
+    public void flush() {
+        long expireBefore = System.currentTimeMillis() - flushedRetainMillis;
+        for (BoardType board : BoardType.values()) {
+            flush(board);
+            flushed.get(board).values().removeIf(f -> f.at() < expireBefore);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("조회수 버퍼 종료 전 반영");
+        flush();
+    }
+
+    private synchronized void flush(BoardType board) {
+        ConcurrentHashMap<Integer, LongAdder> map = counters.get(board);
+        if (map.isEmpty()) return;
+
+        // 🚩 카운터는 그대로 두고 현재 값만 읽음 → DB 에 반영되기 전까지 pending() 이 계속 포함
+        List<long[]> drained = new ArrayList<>();
+        map.forEach((poNum, adder) -> {
+            long delta = adder.sum();
+            if (delta > 0) drained.add(new long[]{poNum, delta});
+        });
+
+        for (int from = 0; from < drained.size(); from += FLUSH_CHUNK) {
+            List<long[]> chunk = drained.subList(from, Math.min(from + FLUSH_CHUNK, drained.size()));
+            Set<Integer> updated;
+            try {
+                updated = updateChunk(board, chunk);
+            } catch (Exception e) {
+                // 반영 실패 시 카운터에 그대로 남아 있으므로 다음 주기에 다시 시도
+                log.error("조회수 반영 실패 ({}): {}", board.getTable(), e.getMessage());
+                continue;
+            }
+            long now = System.currentTimeMillis();
+            for (long[] row : chunk) {
+                // 반영 누적치를 먼저 올리고(캐시된 상세가 바로 더해 감), 반영한 만큼만 카운터에서 뺌
+                // 없는 글/삭제된 글은 누적치를 남기지 않고 카운터만 비움
+                // 그사이 새 조회가 없어 0 이 된 카운터만 제거 (increment 와 같은 잠금)
+                if (updated.contains((int) row[0])) {
+                    flushed.get(board).compute((int) row[0], (k, f) -> f == null
+                            ? new Flushed(generations.incrementAndGet(), row[1], now)
+                            : new Flushed(f.generation(), f.total() + row[1], now));
+                }
+                map.computeIfPresent((int) row[0], (k, adder) -> {
+                    adder.add(-row[1]);
+                    return adder.sum() == 0 ? null : adder;
+                });
+            }
+        }
+    }
+
+    /**
+     * UPDATE board SET view = COALESCE(view, 0) + CASE pk WHEN ? THEN ? ... END WHERE pk IN (...)
+     * 먼저 삭제되지 않은 글 번호만 골라 그 글들만 UPDATE 하고, 반영된 글 번호를 돌려줍니다.
+     */
+    private Set<Integer> updateChunk(BoardType board, List<long[]> chunk) {
+        String in = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+        List<Object> ids = new ArrayList<>(chunk.size());
+        for (long[] row : chunk) ids.add(row[0]);
+        Set<Integer> live = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT " + board.getPkColumn() + " FROM " + board.getTable()
+                        + " WHERE " + board.getPkColumn() + " IN (" + in + ") AND " + board.getDelColumn() + " = 'N'",
+                Integer.class, ids.toArray()));
+        if (live.isEmpty()) return live;
+
+        List<long[]> rows = new ArrayList<>(live.size());
+        for (long[] row : chunk) {
+            if (live.contains((int) row[0])) rows.add(row);
+        }
+
+        StringBuilder sql = new StringBuilder()
+                .append("UPDATE ").append(board.getTable())
+                .append(" SET ").append(board.getViewColumn())
+                .append(" = COALESCE(").append(board.getViewColumn()).append(", 0) + CASE ")
+                .append(board.getPkColumn());
+        List<Object> args = new ArrayList<>(rows.size() * 3);
+
+        for (long[] row : rows) {
+            sql.append(" WHEN ? THEN ?");
+            args.add(row[0]);
+            args.add(row[1]);
+        }
+        sql.append(" ELSE 0 END WHERE ").append(board.getPkColumn()).append(" IN (");
+        for (int i = 0; i < rows.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+            args.add(rows.get(i)[0]);
+        }
+        sql.append(") AND ").append(board.getDelColumn()).append(" = 'N'");
+
+        jdbcTemplate.update(sql.toString(), args.toArray());
+        return live;
+    }
+
+    /** 글 하나의 반영 누적치 (generation: 항목 세대, at: 마지막 반영 시각) */
+    private record Flushed(long generation, long total, long at) {}
+
+    /** 상세 캐시에 넣어 두는 캐시 당시의 반영 누적치 */
+    private record FlushStamp(long generation, long total) {}
+}
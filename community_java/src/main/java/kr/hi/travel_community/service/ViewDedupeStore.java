@@ -0,0 +1,119 @@
+package kr.hi.travel_community.service;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kr.hi.travel_community.model.util.BoardType;
+import kr.hi.travel_community.model.util.CustomUser;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 🚩 조회수 중복 방지 저장소 (서버 측)
+ * - 글마다 viewed_xxx_<id> 쿠키를 내려주던 방식 대신 (조회자, 게시판, 글 번호) 키를 TTL 과 함께 메모리에 보관합니다.
+ * - 조회자는 로그인 회원이면 회원 번호, 비로그인이면 vid 쿠키 하나로 구분합니다.
+ * - 예전 viewed_ 쿠키가 남아 있으면 만료시켜 요청 헤더를 줄입니다.
+ */
+@Service
+@Slf4j
+public class ViewDedupeStore {
+
+    public static final String VIEWER_COOKIE = "vid";
+    private static final String LEGACY_COOKIE_PREFIX = "viewed_";
+
+    /** 키 → 만료 시각(ms) */
+    private final ConcurrentHashMap<String, Long> seen = new ConcurrentHashMap<>();
+
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    public ViewDedupeStore(@Value("${viewcount.dedupe-ttl-hours:24}") long ttlHours,
+                           @Value("${viewcount.dedupe-max-entries:1000000}") int maxEntries) {
+        this.ttlMillis = ttlHours * 60 * 60 * 1000;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * TTL 안에 같은 조회자가 같은 글을 본 적이 없으면 기록하고 true (조회수 증가 대상)
+     */
+    public boolean firstView(BoardType board, Integer poNum, HttpServletRequest request, HttpServletResponse response) {
+        if (poNum == null) return false;
+
+        String key = resolveViewer(request, response) + ":" + board.ordinal() + ":" + poNum;
+        long now = System.currentTimeMillis();
+        boolean[] fresh = {false};
+
+        seen.compute(key, (k, expiresAt) -> {
+            if (expiresAt != null && expiresAt > now) return expiresAt;
+            fresh[0] = true;
+            return now + ttlMillis;
+        });
+
+        if (fresh[0] && seen.size() > maxEntries) purgeExpired();
+        return fresh[0];
+    }
+
+    @Scheduled(fixedDelayString = "${viewcount.dedupe-purge-ms:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        seen.values().removeIf(expiresAt -> expiresAt <= now);
+
+        // 만료 정리 후에도 상한을 넘으면 전체 초기화 (조회수가 한 번 더 오를 수 있는 정도의 영향)
+        if (seen.size() > maxEntries) {
+            log.warn("조회 중복 방지 저장소 상한 초과 ({}건) - 초기화", seen.size());
+            seen.clear();
+        }
+    }
+
+    /**
+     * 조회자 식별: 로그인 회원은 "m<회원번호>", 비로그인은 "a<vid 쿠키>" (없으면 새로 발급)
+     */
+    private String resolveViewer(HttpServletRequest request, HttpServletResponse response) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String viewer = null;
+        if (auth != null && auth.getPrincipal() instanceof CustomUser) {
+            CustomUser user = (CustomUser) auth.getPrincipal();
+            if (user.getMember() != null && user.getMember().getMb_num() > 0) {
+                viewer = "m" + user.getMember().getMb_num();
+            }
+        }
+
+        String vid = null;
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (VIEWER_COOKIE.equals(cookie.getName())) {
+                    vid = cookie.getValue();
+                } else if (cookie.getName().startsWith(LEGACY_COOKIE_PREFIX)) {
+                    expireCookie(cookie.getName(), response);
+                }
+            }
+        }
+        if (viewer != null) return viewer;
+
+        if (vid == null || vid.isEmpty()) {
+            vid = UUID.randomUUID().toString().replace("-", "");
+            Cookie newCookie = new Cookie(VIEWER_COOKIE, vid);
+            newCookie.setPath("/");
+            newCookie.setMaxAge(60 * 60 * 24 * 365);
+            newCookie.setHttpOnly(true);
+            response.addCookie(newCookie);
+        }
+        return "a" + vid;
+    }
+
+    private void expireCookie(String name, HttpServletResponse response) {
+        Cookie expired = new Cookie(name, "");
+        expired.setPath("/");
+        expired.setMaxAge(0);
+        response.addCookie(expired);
+    }
+}
@@ -0,0 +1,110 @@
+package kr.hi.travel_community.service;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import kr.hi.travel_community.mapper.LikeMapper;
+import kr.hi.travel_community.model.util.BoardType;
+import kr.hi.travel_community.model.util.CustomUser;
+import kr.hi.travel_community.model.vo.MemberVO;
+import kr.hi.travel_community.repository.BookMarkRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 🚩 로그인 사용자 기준 글 상태 표시 (isLikedByMe / isBookmarkedByMe / isScrappedByMe)
+ * - 목록 한 페이지의 글 번호를 모아 추천/즐겨찾기/스크랩 여부를 종류별로 IN 쿼리 한 번씩 조회합니다. (글마다 조회하지 않음)
+ * - 즐겨찾기(bookmark 테이블)는 추천/후기/자유 게시판, 스크랩(likes 'scrap')은 이벤트/뉴스레터/FAQ/공지에만 표시합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ViewerStateService {
+
+    public static final String LIKED = "isLikedByMe";
+    public static final String BOOKMARKED = "isBookmarkedByMe";
+    public static final String SCRAPPED = "isScrappedByMe";
+
+    private final LikeMapper likeMapper;
+    private final BookMarkRepository bookMarkRepository;
+
+    /**
+     * 현재 로그인 사용자 기준으로 목록에 표시
+     */
+    public List<Map<String, Object>> annotate(BoardType board, List<Map<String, Object>> posts) {
+        return annotate(board, currentMbNum(), posts);
+    }
+
+    /**
+     * mbNum 기준으로 목록에 표시 (비로그인이면 모두 false)
+     */
+    public List<Map<String, Object>> annotate(BoardType board, Integer mbNum, List<Map<String, Object>> posts) {
+        if (posts == null || posts.isEmpty()) return posts;
+
+        String idKey = board == BoardType.NOTICE ? "nnNum" : "poNum";
+        List<Integer> ids = posts.stream()
+                .map(p -> p.get(idKey))
+                .filter(Objects::nonNull)
+                .map(id -> ((Number) id).intValue())
+                .distinct()
+                .collect(Collectors.toList());
+
+        boolean viewer = mbNum != null && mbNum > 0 && !ids.isEmpty();
+        Set<Integer> liked = viewer
+                ? new HashSet<>(likeMapper.findLikedPostNums(board, mbNum, ids))
+                : Collections.emptySet();
+
+        List<String> bookmarkTypes = bookmarkTypes(board);
+        Set<Integer> bookmarked = viewer && !bookmarkTypes.isEmpty()
+                ? new HashSet<>(bookMarkRepository.findBookmarkedPostNums(mbNum, bookmarkTypes, ids))
+                : Collections.emptySet();
+
+        boolean scrapBoard = hasScrap(board);
+        Set<Integer> scrapped = viewer && scrapBoard
+                ? new HashSet<>(likeMapper.findScrappedPostNums(board, mbNum, ids))
+                : Collections.emptySet();
+
+        for (Map<String, Object> post : posts) {
+            Object id = post.get(idKey);
+            Integer poNum = id != null ? ((Number) id).intValue() : null;
+            post.put(LIKED, liked.contains(poNum));
+            if (!bookmarkTypes.isEmpty()) post.put(BOOKMARKED, bookmarked.contains(poNum));
+            if (scrapBoard) post.put(SCRAPPED, scrapped.contains(poNum));
+        }
+        return posts;
+    }
+
+    /**
+     * SecurityContext 의 로그인 회원 번호 (비로그인이면 null)
+     */
+    public static Integer currentMbNum() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof CustomUser)) return null;
+        MemberVO member = ((CustomUser) auth.getPrincipal()).getMember();
+        return member != null ? member.getMb_num() : null;
+    }
+
+    /**
+     * 게시판별 bookmark.bm_po_type 값 (자유게시판은 상세 화면 토글이 FREE, 마이페이지가 freeboard 로 저장)
+     */
+    private static List<String> bookmarkTypes(BoardType board) {
+        switch (board) {
+            case RECOMMEND: return List.of("recommend");
+            case REVIEW: return List.of("reviewboard");
+            case FREE: return List.of("FREE", "freeboard");
+            default: return List.of();
+        }
+    }
+
+    private static boolean hasScrap(BoardType board) {
+        return board == BoardType.EVENT || board == BoardType.NEWSLETTER
+                || board == BoardType.FAQ || board == BoardType.NOTICE;
+    }
+}
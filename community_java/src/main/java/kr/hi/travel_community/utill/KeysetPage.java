@@ -0,0 +1,63 @@
+package kr.hi.travel_community.utill;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * 🚩 커서(keyset) 기반 목록 페이징 공통 유틸
+ * - ?after=<마지막 글 번호>&size=N 형태로 요청하면 글 번호(PK) 역순으로 다음 N건만 조회합니다.
+ * - OFFSET을 쓰지 않으므로 게시글이 아무리 많아도 한 페이지 조회 비용이 일정합니다.
+ */
+public final class KeysetPage {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private KeysetPage() {}
+
+    /**
+     * 요청 size 보정 (없거나 0 이하면 기본값, 최대값 제한)
+     */
+    public static int normalizeSize(Integer size) {
+        if (size == null || size <= 0) return DEFAULT_SIZE;
+        return Math.min(size, MAX_SIZE);
+    }
+
+    /**
+     * 다음 페이지 존재 여부 확인을 위해 size + 1 건을 조회하는 Pageable
+     */
+    public static Pageable probe(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+
+    /**
+     * size + 1 건으로 조회한 엔티티 목록을 잘라서 응답 형태로 변환
+     * - 잘라낸 size 건만 mapper로 변환하므로 여분 1건은 Map 변환 비용이 들지 않습니다.
+     * @param rows     size + 1 건까지 조회된 엔티티 목록
+     * @param cursorOf 다음 커서로 사용할 값 (예: 글 번호)
+     * @param mapper   엔티티 목록 → 응답용 Map 목록 변환
+     */
+    public static <T> Map<String, Object> of(List<T> rows, int size,
+                                             Function<T, ?> cursorOf,
+                                             Function<List<T>, List<Map<String, Object>>> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<T> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+        Object nextCursor = null;
+        if (hasNext && !pageRows.isEmpty()) {
+            nextCursor = cursorOf.apply(pageRows.get(pageRows.size() - 1));
+        }
+
+        Map<String, Object> page = new HashMap<>();
+        page.put("posts", mapper.apply(pageRows));
+        page.put("size", size);
+        page.put("hasNext", hasNext);
+        page.put("nextCursor", nextCursor);
+        return page;
+    }
+}
@@ -0,0 +1,125 @@
+package kr.hi.travel_community.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import kr.hi.travel_community.entity.RecommendPost;
+import kr.hi.travel_community.model.util.BoardType;
+import kr.hi.travel_community.repository.RecommendRepository;
+
+/**
+ * 🚩 추천 토글 동시성 검증 (like.buffer.enabled=true 로 버퍼 반영 경로까지 포함)
+ * - 회원 400명이 동시에 1~4번씩, 합계 1000번 토글
+ * - 끝난 뒤 po_up == likes 행 수, 회원별 추천 상태 == 토글 횟수의 홀짝
+ */
+@SpringBootTest(properties = {"like.buffer.enabled=true", "like.flush-ms=50"})
+class PostLikeConcurrencyTests {
+
+	private static final int MEMBERS = 400;
+	private static final int TOGGLES = 1000;
+
+	@Autowired
+	private RecommendPostService recommendPostService;
+
+	@Autowired
+	private PostLikeService postLikeService;
+
+	@Autowired
+	private RecommendRepository postRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final List<Integer> mbNums = new ArrayList<>();
+	private Integer poNum;
+
+	@BeforeEach
+	void setUp() {
+		String prefix = "lk" + UUID.randomUUID().toString().substring(0, 8);
+		for (int i = 0; i < MEMBERS; i++) {
+			String uid = prefix + "_" + i;
+			jdbcTemplate.update(
+					"INSERT INTO member (mb_uid, mb_nickname, mb_pw, mb_email, mb_agree, mb_rol, mb_score) " +
+					"VALUES (?, ?, 'x', ?, 'Y', 'USER', 0)",
+					uid, uid, uid + "@test.local");
+			mbNums.add(jdbcTemplate.queryForObject("SELECT mb_num FROM member WHERE mb_uid = ?", Integer.class, uid));
+		}
+
+		RecommendPost post = new RecommendPost();
+		post.setPoTitle("like concurrency");
+		post.setPoContent("like concurrency");
+		post.setPoMbNum(mbNums.get(0));
+		poNum = postRepository.save(post).getPoNum();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (poNum != null) {
+			jdbcTemplate.update("DELETE FROM likes WHERE li_board = ? AND li_id = ?", BoardType.RECOMMEND.name(), poNum);
+			jdbcTemplate.update("DELETE FROM recommend_post WHERE po_num = ?", poNum);
+		}
+		for (Integer mbNum : mbNums) {
+			jdbcTemplate.update("DELETE FROM member WHERE mb_num = ?", mbNum);
+		}
+	}
+
+	@Test
+	void parallelTogglesKeepExactCounts() throws Exception {
+		// 회원 i 는 1 + (i % 4) 번 토글 → 400명 합계 1000번
+		int[] toggles = new int[MEMBERS];
+		int total = 0;
+		for (int i = 0; i < MEMBERS; i++) {
+			toggles[i] = 1 + (i % 4);
+			total += toggles[i];
+		}
+		assertEquals(TOGGLES, total);
+
+		// 회원마다 가상 스레드 하나 (같은 회원의 토글은 순서대로, 회원끼리는 동시에)
+		List<Future<?>> futures = new ArrayList<>();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < MEMBERS; i++) {
+				int mbNum = mbNums.get(i);
+				int count = toggles[i];
+				futures.add(executor.submit(() -> {
+					for (int t = 0; t < count; t++) {
+						recommendPostService.toggleLikeStatus(poNum, mbNum);
+					}
+					return null;
+				}));
+			}
+			for (Future<?> f : futures) f.get();
+		}
+		postLikeService.flush();
+
+		Integer likeRows = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM likes WHERE li_board = ? AND li_name = 'post' AND li_id = ?",
+				Integer.class, BoardType.RECOMMEND.name(), poNum);
+		Integer poUp = jdbcTemplate.queryForObject(
+				"SELECT po_up FROM recommend_post WHERE po_num = ?", Integer.class, poNum);
+		assertEquals(likeRows, poUp);
+
+		int expectedLiked = 0;
+		for (int i = 0; i < MEMBERS; i++) {
+			boolean shouldLike = toggles[i] % 2 == 1;
+			if (shouldLike) expectedLiked++;
+			Integer liked = jdbcTemplate.queryForObject(
+					"SELECT COUNT(*) FROM likes WHERE li_mb_num = ? AND li_board = ? AND li_name = 'post' AND li_id = ?",
+					Integer.class, mbNums.get(i), BoardType.RECOMMEND.name(), poNum);
+			assertEquals(shouldLike ? 1 : 0, liked, "회원 " + mbNums.get(i) + " 추천 상태");
+		}
+		assertEquals(expectedLiked, likeRows);
+	}
+}
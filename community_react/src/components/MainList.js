@@ -198,7 +198,7 @@ function MainList({ photos = [], setPhotos, activeMenu, setActiveMenu, menuItems
                 const virtualNum = filteredItems.length - ((currentPage - 1) * itemsPerPage + idx);
                 const postId = photo.poNum || photo.po_num || photo.postId;
                 const displayTitle = photo.poTitle || photo.po_title || photo.title;
-                const displayImg = photo.fileUrl || (photo.poImg ? `${SERVER_URL}/pic/${photo.poImg.split(',')[0]}` : FALLBACK_IMAGE);
+                const displayImg = photo.thumbUrl || photo.fileUrl || (photo.poImg ? `${SERVER_URL}/pic/${photo.poImg.split(',')[0]}` : FALLBACK_IMAGE);
 
                 return (
                   <div key={postId || idx} className="photo-card" onClick={() => goToDetail(postId)} style={{ position: 'relative' }}>
@@ -18,7 +18,8 @@ function ProfileImage({ user, className, alt = "프로필" }) {
     }
     let cancelled = false;
     api
-      .get("/auth/profile-photo", { responseType: "blob" })
+      // 버전을 URL 에 포함 → 같은 버전은 브라우저 캐시(immutable)에서 바로 사용
+      .get("/auth/profile-photo", { params: { v: photoVer }, responseType: "blob" })
       .then((res) => {
         if (cancelled) return;
         const blob = res.data;
@@ -19,6 +19,8 @@ const EventBoardList = ({ posts = [] }) => {
 
     const getImageUrl = (post) => {
         if (!post) return fallbackImage;
+        // 목록 카드는 서버가 만든 320px 사본 사용 (원본은 상세 화면에서만)
+        if (post.thumbUrl) return `${SERVER_URL}${post.thumbUrl}`;
         const { po_img, poImg, fileUrl, fileName, po_content, poContent } = post;
         const targetUrl = po_img || poImg || fileUrl || fileName;
 
@@ -166,6 +166,8 @@ const RecommendMain = ({ posts: initialPosts = [] }) => {
     const getImageUrl = (post) => {
         const defaultImg = "https://placehold.co/600x400?text=No+Image";
         if (!post) return defaultImg;
+        // 목록 카드는 서버가 만든 320px 사본 사용 (원본은 상세 화면에서만)
+        if (post.thumbUrl) return `${SERVER_URL}${post.thumbUrl}`;
         const { poImg, po_img, fileName, fileUrl, image, poContent, po_content } = post;
         const targetUrl = poImg || po_img || fileName || fileUrl || image;
         if (targetUrl && String(targetUrl) !== "null" && String(targetUrl).trim() !== "") {
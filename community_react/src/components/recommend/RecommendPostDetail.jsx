@@ -10,6 +10,7 @@ import './RecommendPostDetail.css';
 // 🚩 [수정] App.js와 동일하게 배포 서버 및 포트 8080 설정 유지
 const API_BASE_URL = "http://localhost:8080";
 const SERVER_URL = API_BASE_URL;
+const DEFAULT_PROFILE = process.env.PUBLIC_URL + "/profile-default.png";
 
 const RecommendPostDetail = () => {
     const { id } = useParams();
@@ -269,6 +270,14 @@ const RecommendPostDetail = () => {
                     <div className="comment-unit" style={{ marginLeft: isReply ? (depth * 20) + 'px' : '0', padding: '15px 20px', borderBottom: '1px solid #f0f0f0', backgroundColor: isReply ? '#f9fafb' : 'transparent', borderLeft: isReply ? '3px solid #ddd' : 'none' }}>
                         <div className="comment-header">
                             <div style={{ display: 'flex', alignItems: 'center', gap: '8px' }}>
+                                {/* 🚩 버전이 들어간 공개 주소 → 같은 작성자 사진은 브라우저 캐시에서 바로 사용 */}
+                                <img
+                                    src={comment.coAvatarUrl ? `${SERVER_URL}${comment.coAvatarUrl}` : DEFAULT_PROFILE}
+                                    alt=""
+                                    loading="lazy"
+                                    style={{ width: '24px', height: '24px', borderRadius: '50%', objectFit: 'cover' }}
+                                    onError={(e) => { e.target.src = DEFAULT_PROFILE; }}
+                                />
                                 <strong style={{ fontSize: '14px' }}>{authorDisplayName}</strong>
                                 <span style={{ fontSize: '12px', color: '#aaa' }}>{new Date(comment.coDate).toLocaleString()}</span>
                                 <button onClick={() => handleCommentLike(comment.coNum)} style={{ background: 'none', border: '1px solid #eee', borderRadius: '4px', fontSize: '11px', cursor: 'pointer', padding: '2px 6px', color: '#555' }}>👍 {comment.coLike || 0}</button>
@@ -139,6 +139,8 @@ const RecommendPostList = () => {
     };
 
     const getImageUrl = (post) => {
+        // 목록 카드는 서버가 만든 320px 사본 사용 (원본은 상세 화면에서만)
+        if (post.thumbUrl) return `${API_BASE_URL}${post.thumbUrl}`;
         const imgData = post.fileUrl || post.poImg || post.po_img; 
         if (!imgData || imgData === "null" || imgData === "" || String(imgData).includes("undefined")) {
             return "https://placehold.co/150x100?text=No+Image";